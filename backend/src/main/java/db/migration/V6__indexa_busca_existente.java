@@ -0,0 +1,27 @@
+package db.migration;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.portodigital.residencia.oabpe.domain.busca.CampoBusca;
+import org.portodigital.residencia.oabpe.domain.busca.TrigramaBuscaService;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+// Carga única da busca por trecho para os registros gravados antes dela: preenche as colunas *_busca
+// e gera os trigramas. Roda na conexão e na transação da migração
+@Slf4j
+public class V6__indexa_busca_existente extends BaseJavaMigration {
+
+    @Override
+    public void migrate(Context context) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new SingleConnectionDataSource(context.getConnection(), true));
+        TrigramaBuscaService trigramaBuscaService = new TrigramaBuscaService(jdbcTemplate);
+
+        for (CampoBusca campo : CampoBusca.values()) {
+            int normalizados = trigramaBuscaService.normalizarPendentes(campo);
+            int indexados = trigramaBuscaService.indexarPendentes(campo);
+            log.info("Busca {}: {} registros normalizados, {} valores indexados", campo, normalizados, indexados);
+        }
+    }
+}
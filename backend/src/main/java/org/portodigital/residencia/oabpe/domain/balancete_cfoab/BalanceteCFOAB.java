@@ -23,7 +23,7 @@ public class BalanceteCFOAB {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @ManyToOne(optional = false)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "Id_demonstrativo", referencedColumnName = "id")
     private Demonstrativo demonstrativo;
 
@@ -48,7 +48,11 @@ public class BalanceteCFOAB {
     @Column(name = "Eficiencia")
     private Long eficiencia;
 
-    @ManyToOne(optional = false)
+    // hash dos campos importados, usado para pular linhas inalteradas na sincronização
+    @Column(name = "HashLinha", length = 64)
+    private String hashLinha;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "Id_usuario", referencedColumnName = "id")
     private User user;
 
@@ -0,0 +1,37 @@
+package org.portodigital.residencia.oabpe.domain.balancete_cfoab;
+
+import org.portodigital.residencia.oabpe.domain.balancete_cfoab.dto.BalanceteCFOABRequestDTO;
+import org.portodigital.residencia.oabpe.domain.balancete_cfoab.dto.BalanceteCFOABResponseDTO;
+import org.springframework.stereotype.Component;
+
+@Component
+public class BalanceteCFOABMapper {
+
+    public BalanceteCFOABResponseDTO toResponse(BalanceteCFOAB entity) {
+        BalanceteCFOABResponseDTO dto = new BalanceteCFOABResponseDTO();
+        dto.setId(entity.getId());
+        if (entity.getDemonstrativo() != null) {
+            dto.setDemonstrativoId(entity.getDemonstrativo().getId());
+            dto.setNomeDemonstrativo(entity.getDemonstrativo().getNome());
+        }
+        dto.setReferencia(entity.getReferencia());
+        dto.setAno(entity.getAno());
+        dto.setPeriodicidade(entity.getPeriodicidade());
+        dto.setDtPrevEntr(entity.getDtPrevEntr());
+        dto.setDtEntr(entity.getDtEntr());
+        dto.setEficiencia(entity.getEficiencia());
+        dto.setStatus(Boolean.TRUE.equals(entity.getStatus()));
+        return dto;
+    }
+
+    // o demonstrativo chega por nome e é resolvido pelo service
+    public BalanceteCFOAB toEntity(BalanceteCFOABRequestDTO request) {
+        BalanceteCFOAB entity = new BalanceteCFOAB();
+        entity.setReferencia(request.getReferencia());
+        entity.setAno(request.getAno());
+        entity.setPeriodicidade(request.getPeriodicidade());
+        entity.setDtPrevEntr(request.getDtPrevEntr());
+        entity.setDtEntr(request.getDtEntr());
+        return entity;
+    }
+}
@@ -1,28 +1,36 @@
 package org.portodigital.residencia.oabpe.domain.balancete_cfoab;
 
 import org.portodigital.residencia.oabpe.domain.balancete_cfoab.dto.BalanceteCFOABFilteredRequest;
+import org.portodigital.residencia.oabpe.domain.busca.CampoBusca;
+import org.portodigital.residencia.oabpe.domain.commons.FilterSpecification;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
 
-public interface BalanceteCFOABRepository extends JpaRepository<BalanceteCFOAB, Long> {
+import java.util.Optional;
+
+public interface BalanceteCFOABRepository extends JpaRepository<BalanceteCFOAB, Long>, JpaSpecificationExecutor<BalanceteCFOAB> {
+
+    @Override
+    @EntityGraph(attributePaths = "demonstrativo")
+    Optional<BalanceteCFOAB> findById(Long id);
 
     @Query("SELECT b FROM BalanceteCFOAB b WHERE b.status = true")
     Page<BalanceteCFOAB> findAllActive(Pageable pageable);
 
-    @Query("""
-    SELECT b
-    FROM BalanceteCFOAB b
-    LEFT JOIN FETCH b.demonstrativo d
-    WHERE b.status = true
-    AND (:#{#filter.demonstrativo} IS NULL OR LOWER(d.nome) LIKE LOWER(CONCAT('%', :#{#filter.demonstrativo}, '%')))
-    AND (:#{#filter.referencia} IS NULL OR LOWER(b.referencia) LIKE LOWER(CONCAT('%', :#{#filter.referencia}, '%')))
-    AND (:#{#filter.ano} IS NULL OR LOWER(b.ano) LIKE LOWER(CONCAT('%', :#{#filter.ano}, '%')))
-    AND (:#{#filter.periodicidade} IS NULL OR LOWER(b.periodicidade) LIKE LOWER(CONCAT('%', :#{#filter.periodicidade}, '%')))
-    AND (:#{#filter.dtPrevEntr} IS NULL OR b.dtPrevEntr = :#{#filter.dtPrevEntr})
-    AND (:#{#filter.dtEntr} IS NULL OR b.dtEntr = :#{#filter.dtEntr})
-    """)
-    Page<BalanceteCFOAB> findAllActiveByFilter(@Param("filter")BalanceteCFOABFilteredRequest filter, Pageable pageable);
+    static Specification<BalanceteCFOAB> byFilter(BalanceteCFOABFilteredRequest filter) {
+        return FilterSpecification.of(BalanceteCFOAB.class)
+                .ativos()
+                .search("demonstrativo.nomeBusca", CampoBusca.DEMONSTRATIVO_NOME, filter.getDemonstrativo())
+                .contains("referencia", filter.getReferencia())
+                .contains("ano", filter.getAno())
+                .contains("periodicidade", filter.getPeriodicidade())
+                .equal("dtPrevEntr", filter.getDtPrevEntr())
+                .equal("dtEntr", filter.getDtEntr())
+                .build();
+    }
 }
@@ -1,55 +1,157 @@
 package org.portodigital.residencia.oabpe.domain.balancete_cfoab;
 
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
+import lombok.extern.slf4j.Slf4j;
 import org.portodigital.residencia.oabpe.domain.balancete_cfoab.dto.BalanceteCFOABFilteredRequest;
 import org.portodigital.residencia.oabpe.domain.balancete_cfoab.dto.BalanceteCFOABRequestDTO;
 import org.portodigital.residencia.oabpe.domain.balancete_cfoab.dto.BalanceteCFOABResponseDTO;
 import org.portodigital.residencia.oabpe.domain.commons.AbstractFileImportService;
+import org.portodigital.residencia.oabpe.domain.commons.Contagem;
+import org.portodigital.residencia.oabpe.domain.commons.ImportProgress;
+import org.portodigital.residencia.oabpe.domain.commons.ChunkedBatchWriter;
+import org.portodigital.residencia.oabpe.domain.commons.ContentHash;
 import org.portodigital.residencia.oabpe.domain.demonstrativo.Demonstrativo;
 import org.portodigital.residencia.oabpe.domain.demonstrativo.DemonstrativoRepository;
 import org.portodigital.residencia.oabpe.domain.identidade.model.User;
+import org.portodigital.residencia.oabpe.domain.identidade.service.UserReferenceCache;
+import org.portodigital.residencia.oabpe.domain.import_job.ArquivoImportadoService;
+import org.portodigital.residencia.oabpe.domain.commons.ExportFormat;
+import org.portodigital.residencia.oabpe.domain.commons.StreamingExporter;
+import org.portodigital.residencia.oabpe.domain.commons.ProjectionQuery;
 import org.portodigital.residencia.oabpe.exception.EntityNotFoundException;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Arrays;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class BalanceteCFOABService extends AbstractFileImportService<BalanceteCFOABRequestDTO> {
 
+    private static final List<String> EXPORT_COLUMNS = List.of(
+            "ID", "Demonstrativo", "Referência", "Ano", "Periodicidade", "Previsão de Entrega", "Data de Entrega", "Eficiência");
+
+    private static final String MODULO = "balancete-cfoab";
+
+    private static final String INSERT_SQL = """
+            INSERT INTO balancetecfoab
+                (id_demonstrativo, referencia, ano, periodicidade, dt_prev_entr, dt_entrega, status, eficiencia,
+                 id_usuario, hash_linha, dat_criacao_registro, dat_alteracao_registro)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    // chave natural: demonstrativo + referência + ano + periodicidade; linhas com o mesmo hash_linha não são reescritas
+    private static final String UPSERT_SQL = """
+            MERGE balancetecfoab WITH (HOLDLOCK) AS t
+            USING (VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?))
+                AS s (id_demonstrativo, referencia, ano, periodicidade, dt_prev_entr, dt_entrega, eficiencia,
+                      id_usuario, hash_linha, agora)
+            ON t.id_demonstrativo = s.id_demonstrativo AND t.referencia = s.referencia AND t.ano = s.ano
+                AND t.periodicidade = s.periodicidade AND t.status = 1
+            WHEN MATCHED AND (t.hash_linha IS NULL OR t.hash_linha <> s.hash_linha) THEN
+                UPDATE SET dt_prev_entr = s.dt_prev_entr, dt_entrega = s.dt_entrega, eficiencia = s.eficiencia,
+                           id_usuario = s.id_usuario, hash_linha = s.hash_linha, dat_alteracao_registro = s.agora
+            WHEN NOT MATCHED THEN
+                INSERT (id_demonstrativo, referencia, ano, periodicidade, dt_prev_entr, dt_entrega, status, eficiencia,
+                        id_usuario, hash_linha, dat_criacao_registro, dat_alteracao_registro)
+                VALUES (s.id_demonstrativo, s.referencia, s.ano, s.periodicidade, s.dt_prev_entr, s.dt_entrega, 1,
+                        s.eficiencia, s.id_usuario, s.hash_linha, s.agora, s.agora);
+            """;
+
     private final BalanceteImportProcessor processor;
+    private final ChunkedBatchWriter batchWriter;
+    private final ArquivoImportadoService arquivoImportadoService;
     private final BalanceteCFOABRepository balanceteCFOABRepository;
+    private final StreamingExporter exporter;
+    private final ProjectionQuery projections;
     private final DemonstrativoRepository demonstrativoRepository;
-    private final ModelMapper mapper;
+    private final BalanceteCFOABMapper mapper;
+    private final UserReferenceCache userReferenceCache;
+
+    @Transactional
+    public void importarArquivo(MultipartFile file, User user, ImportProgress progress) throws IOException {
+        try (ChunkedBatchWriter.Chunk<BalanceteCFOAB> chunk = batchWriter.open(INSERT_SQL, BalanceteCFOAB.class, this::insertParameters)) {
+            importFile(file, user, processor, chunk, progress);
+        }
+    }
 
+    public void validarArquivo(MultipartFile file, User user, ImportProgress progress) throws IOException {
+        validateFile(file, user, processor, progress);
+    }
+
+    // Reimportação idempotente: arquivos já sincronizados são ignorados e as linhas são mescladas pela chave natural
     @Transactional
-    public void importarArquivo(MultipartFile file, User user) throws IOException {
-        List<Object> entidades = importFile(file, user, processor);
-        balanceteCFOABRepository.saveAll(entidades.stream().map(e -> (BalanceteCFOAB) e).toList());
+    public void sincronizarArquivo(MultipartFile file, User user, ImportProgress progress) throws IOException {
+        String hashArquivo = ContentHash.of(file);
+        if (arquivoImportadoService.jaImportado(MODULO, hashArquivo)) {
+            log.info("Arquivo {} já sincronizado em {}, nada a importar", file.getOriginalFilename(), MODULO);
+            return;
+        }
+
+        try (ChunkedBatchWriter.Chunk<BalanceteCFOAB> chunk = batchWriter.open(UPSERT_SQL, BalanceteCFOAB.class, this::upsertParameters)) {
+            importFile(file, user, processor, chunk, progress);
+        }
+        arquivoImportadoService.registrar(MODULO, hashArquivo, file, user);
+    }
+
+    private Object[] insertParameters(BalanceteCFOAB b) {
+        LocalDateTime agora = LocalDateTime.now();
+        return new Object[]{
+                b.getDemonstrativo().getId(), b.getReferencia(), b.getAno(), b.getPeriodicidade(),
+                b.getDtPrevEntr(), b.getDtEntr(), b.getStatus(), b.getEficiencia(), b.getUser().getId(), hashLinha(b),
+                agora, agora
+        };
+    }
+
+    private Object[] upsertParameters(BalanceteCFOAB b) {
+        return new Object[]{
+                b.getDemonstrativo().getId(), b.getReferencia(), b.getAno(), b.getPeriodicidade(),
+                b.getDtPrevEntr(), b.getDtEntr(), b.getEficiencia(), b.getUser().getId(), hashLinha(b),
+                LocalDateTime.now()
+        };
+    }
+
+    private String hashLinha(BalanceteCFOAB b) {
+        return ContentHash.of(b.getDtPrevEntr(), b.getDtEntr());
+    }
+
+    public Slice<BalanceteCFOABResponseDTO> getAllFiltered(BalanceteCFOABFilteredRequest filter, Pageable pageable, Contagem contagem) {
+        return projections.slice(BalanceteCFOAB.class, BalanceteCFOABResponseDTO.class,
+                BalanceteCFOABRepository.byFilter(filter), pageable, contagem, filter, BalanceteCFOABService::colunasResposta);
+    }
+
+    // na ordem do construtor de BalanceteCFOABResponseDTO
+    private static List<Selection<?>> colunasResposta(Root<BalanceteCFOAB> b, CriteriaBuilder cb) {
+        Join<BalanceteCFOAB, ?> demonstrativo = b.join("demonstrativo");
+        return List.of(b.get("id"), demonstrativo.get("id"), demonstrativo.get("nome"), b.get("referencia"), b.get("ano"),
+                b.get("periodicidade"), b.get("dtPrevEntr"), b.get("dtEntr"), b.get("eficiencia"), b.get("status"));
     }
 
-    public Page<BalanceteCFOABResponseDTO> getAllFiltered(BalanceteCFOABFilteredRequest filter, Pageable pageable) {
-        return balanceteCFOABRepository.findAllActiveByFilter(filter, pageable)
-                .map(balancete -> {
-                    BalanceteCFOABResponseDTO dto = mapper.map(balancete, BalanceteCFOABResponseDTO.class);
-                    dto.setDemonstrativoId(balancete.getDemonstrativo().getId());
-                    dto.setNomeDemonstrativo(balancete.getDemonstrativo().getNome());
-                    return dto;
-                });
+    public StreamingResponseBody export(BalanceteCFOABFilteredRequest filter, ExportFormat formato) {
+        return exporter.export(formato, EXPORT_COLUMNS,
+                () -> exporter.stream(BalanceteCFOAB.class, BalanceteCFOABRepository.byFilter(filter), "demonstrativo"),
+                b -> Arrays.asList(b.getId(), b.getDemonstrativo().getNome(), b.getReferencia(), b.getAno(), b.getPeriodicidade(),
+                        b.getDtPrevEntr(), b.getDtEntr(), b.getEficiencia()));
     }
 
     public BalanceteCFOABResponseDTO getById(Long id) {
         return balanceteCFOABRepository.findById(id)
-                .map(balancete -> mapper.map(balancete, BalanceteCFOABResponseDTO.class))
+                .map(mapper::toResponse)
                 .orElseThrow(() -> new EntityNotFoundException("Balancete não encontrado."));
     }
 
@@ -62,14 +164,13 @@ public class BalanceteCFOABService extends AbstractFileImportService<BalanceteCF
         Demonstrativo demonstrativo = demonstrativoRepository.findByNomeAtivo(request.getDemonstrativoNome())
                 .orElseThrow(() -> new jakarta.persistence.EntityNotFoundException("Demonstrativo não encontrado com nome: " + request.getDemonstrativoNome()));
 
-        User user = (User) authentication.getPrincipal();
-        BalanceteCFOAB balancete = mapper.map(request, BalanceteCFOAB.class);
+        User user = userReferenceCache.of(authentication);
+        BalanceteCFOAB balancete = mapper.toEntity(request);
         balancete.setUser(user);
         balancete.setDemonstrativo(demonstrativo);
         balancete.setEficiencia(balancete.getEficiencia());
         BalanceteCFOAB savedBalancete = balanceteCFOABRepository.save(balancete);
-        BalanceteCFOABResponseDTO dto = mapper.map(savedBalancete, BalanceteCFOABResponseDTO.class);
-        return dto;
+        return mapper.toResponse(savedBalancete);
     }
 
     public void delete(Long id) {
@@ -84,9 +185,11 @@ public class BalanceteCFOABService extends AbstractFileImportService<BalanceteCF
                 .orElseThrow(() -> new EntityNotFoundException("Balancete não encontrado com id: " + id));
 
         applyUpdates(request, existing);
+        // alteração manual: a próxima sincronização deve reavaliar a linha
+        existing.setHashLinha(null);
 
         BalanceteCFOAB updated = balanceteCFOABRepository.save(existing);
-        return mapper.map(updated, BalanceteCFOABResponseDTO.class);
+        return mapper.toResponse(updated);
     }
 
     private void applyUpdates(BalanceteCFOABRequestDTO request, BalanceteCFOAB existing) {
@@ -5,24 +5,26 @@ import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import org.portodigital.residencia.oabpe.domain.balancete_cfoab.dto.BalanceteCFOABRequestDTO;
+import org.portodigital.residencia.oabpe.domain.commons.DimensionCache;
 import org.portodigital.residencia.oabpe.domain.commons.ImportProcessor;
+import org.portodigital.residencia.oabpe.domain.commons.ImportRow;
 import org.portodigital.residencia.oabpe.domain.demonstrativo.Demonstrativo;
-import org.portodigital.residencia.oabpe.domain.demonstrativo.DemonstrativoRepository;
 import org.portodigital.residencia.oabpe.domain.identidade.model.User;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 
 @Component
 @RequiredArgsConstructor
 public class    BalanceteImportProcessor implements ImportProcessor<BalanceteCFOABRequestDTO> {
 
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("d/M/yyyy");
+
     private final Validator validator;
-    private final DemonstrativoRepository demonstrativoRepository;
 
     @Override
     public String[] getRequiredHeaders() {
@@ -30,18 +32,27 @@ public class    BalanceteImportProcessor implements ImportProcessor<BalanceteCFO
     }
 
     @Override
-    public BalanceteCFOABRequestDTO parse(Map<String, String> rowData) {
-        BalanceteCFOABRequestDTO dto = new BalanceteCFOABRequestDTO();
-        dto.setDemonstrativoNome(rowData.get("Demonstrativo").trim());
-        dto.setReferencia(rowData.get("Referencia"));
-        dto.setAno(rowData.get("Ano"));
-        dto.setPeriodicidade(rowData.get("Periodicidade"));
-        dto.setDtPrevEntr(LocalDate.parse(rowData.get("PrevisaoEntrega"), DateTimeFormatter.ofPattern("d/M/yyyy")));
-        dto.setDtEntr(Optional.ofNullable(rowData.get("DataEntrega"))
-                .filter(s -> !s.isBlank())
-                .map(d -> LocalDate.parse(d, DateTimeFormatter.ofPattern("d/M/yyyy")))
-                .orElse(null));
-        return dto;
+    public Function<ImportRow, BalanceteCFOABRequestDTO> parser(ImportRow header) {
+        ImportRow.Column demonstrativo = header.column("Demonstrativo");
+        ImportRow.Column referencia = header.column("Referencia");
+        ImportRow.Column ano = header.column("Ano");
+        ImportRow.Column periodicidade = header.column("Periodicidade");
+        ImportRow.Column previsaoEntrega = header.column("PrevisaoEntrega");
+        ImportRow.Column dataEntrega = header.column("DataEntrega");
+
+        return row -> {
+            BalanceteCFOABRequestDTO dto = new BalanceteCFOABRequestDTO();
+            dto.setDemonstrativoNome(row.get(demonstrativo, String::trim));
+            dto.setReferencia(row.get(referencia));
+            dto.setAno(row.get(ano));
+            dto.setPeriodicidade(row.get(periodicidade));
+            dto.setDtPrevEntr(row.get(previsaoEntrega, v -> LocalDate.parse(v, DATE_FORMATTER)));
+            dto.setDtEntr(row.get(dataEntrega, v -> Optional.ofNullable(v)
+                    .filter(s -> !s.isBlank())
+                    .map(d -> LocalDate.parse(d, DATE_FORMATTER))
+                    .orElse(null)));
+            return dto;
+        };
     }
 
     @Override
@@ -57,9 +68,9 @@ public class    BalanceteImportProcessor implements ImportProcessor<BalanceteCFO
     }
 
     @Override
-    public Object convertToEntity(BalanceteCFOABRequestDTO dto, User user) {
+    public Object convertToEntity(BalanceteCFOABRequestDTO dto, User user, DimensionCache dimensions) {
 
-        Demonstrativo demonstrativo = demonstrativoRepository.findByNomeAtivo(dto.getDemonstrativoNome())
+        Demonstrativo demonstrativo = dimensions.findDemonstrativo(dto.getDemonstrativoNome())
                 .orElseThrow(() -> new EntityNotFoundException("Demonstrativo não encontrado com nome: " + dto.getDemonstrativoNome()));
 
         BalanceteCFOAB entity = new BalanceteCFOAB();
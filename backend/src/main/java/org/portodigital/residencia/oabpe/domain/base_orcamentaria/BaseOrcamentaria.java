@@ -8,19 +8,29 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.portodigital.residencia.oabpe.domain.busca.CampoBusca;
+import org.portodigital.residencia.oabpe.domain.busca.Pesquisavel;
+import org.portodigital.residencia.oabpe.domain.busca.TextoBusca;
+import org.portodigital.residencia.oabpe.domain.busca.TrigramaBuscaListener;
 import org.portodigital.residencia.oabpe.domain.identidade.model.User;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
 
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "BaseOrcamentaria")
-public class BaseOrcamentaria {
+@EntityListeners(TrigramaBuscaListener.class)
+@Table(name = "BaseOrcamentaria", indexes = {
+        @Index(name = "ix_base_orcamentaria_lancto_busca", columnList = "LanctoBusca"),
+        @Index(name = "ix_base_orcamentaria_tipo_busca", columnList = "TipoBusca")
+})
+public class BaseOrcamentaria implements Pesquisavel {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -43,6 +53,12 @@ public class BaseOrcamentaria {
     @Column(name = "Tipo", length = 50, nullable = false)
     private String tipo;
 
+    @Column(name = "LanctoBusca", length = 50)
+    private String lanctoBusca;
+
+    @Column(name = "TipoBusca", length = 50)
+    private String tipoBusca;
+
     @Column(name = "Status", length = 1)
     private boolean status = true;
 
@@ -56,7 +72,22 @@ public class BaseOrcamentaria {
     @UpdateTimestamp
     private LocalDateTime dataAlteracaoRegistro;
 
-    @ManyToOne(optional = false)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "Id_usuario", referencedColumnName = "id")
     private User user;
+
+    @PrePersist
+    @PreUpdate
+    void normalizarBusca() {
+        lanctoBusca = TextoBusca.normalizar(lancto);
+        tipoBusca = TextoBusca.normalizar(tipo);
+    }
+
+    @Override
+    public Map<CampoBusca, String> camposBusca() {
+        Map<CampoBusca, String> campos = new EnumMap<>(CampoBusca.class);
+        campos.put(CampoBusca.BASE_ORCAMENTARIA_LANCTO, lanctoBusca);
+        campos.put(CampoBusca.BASE_ORCAMENTARIA_TIPO, tipoBusca);
+        return campos;
+    }
 }
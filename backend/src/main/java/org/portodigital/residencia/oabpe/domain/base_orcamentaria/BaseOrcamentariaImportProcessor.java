@@ -5,20 +5,23 @@ import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import org.portodigital.residencia.oabpe.domain.base_orcamentaria.dto.BaseOrcamentariaRequestDTO;
+import org.portodigital.residencia.oabpe.domain.commons.DimensionCache;
 import org.portodigital.residencia.oabpe.domain.commons.ImportProcessor;
+import org.portodigital.residencia.oabpe.domain.commons.ImportRow;
 import org.portodigital.residencia.oabpe.domain.identidade.model.User;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
 
 import static com.fasterxml.jackson.core.io.doubleparser.JavaBigDecimalParser.parseBigDecimal;
 
 @Component
 @RequiredArgsConstructor
 public class BaseOrcamentariaImportProcessor implements ImportProcessor<BaseOrcamentariaRequestDTO> {
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("M/d/yyyy");
     private final Validator validator;
     private final BaseOrcamentariaRepository baseOrcamentariaRepository;
 
@@ -28,13 +31,20 @@ public class BaseOrcamentariaImportProcessor implements ImportProcessor<BaseOrca
     }
 
     @Override
-    public BaseOrcamentariaRequestDTO parse(Map<String, String> rowData){
-        BaseOrcamentariaRequestDTO dto = new BaseOrcamentariaRequestDTO();
-        dto.setLancto(rowData.get("Lançamento"));
-        dto.setDtLancto(LocalDate.parse(rowData.get("Data Lançamento"), DateTimeFormatter.ofPattern("M/d/yyyy")));
-        dto.setValor(parseBigDecimal(rowData.get("Valor")));
-        dto.setAno(rowData.get("Ano"));
-        return dto;
+    public Function<ImportRow, BaseOrcamentariaRequestDTO> parser(ImportRow header){
+        ImportRow.Column lancto = header.column("Lançamento");
+        ImportRow.Column dtLancto = header.column("Data Lançamento");
+        ImportRow.Column valor = header.column("Valor");
+        ImportRow.Column ano = header.column("Ano");
+
+        return row -> {
+            BaseOrcamentariaRequestDTO dto = new BaseOrcamentariaRequestDTO();
+            dto.setLancto(row.get(lancto));
+            dto.setDtLancto(row.get(dtLancto, v -> LocalDate.parse(v, DATE_FORMATTER)));
+            dto.setValor(row.get(valor, v -> parseBigDecimal(v)));
+            dto.setAno(row.get(ano));
+            return dto;
+        };
     }
 
     @Override
@@ -50,7 +60,7 @@ public class BaseOrcamentariaImportProcessor implements ImportProcessor<BaseOrca
     }
 
     @Override
-    public Object convertToEntity(BaseOrcamentariaRequestDTO dto, User user){
+    public Object convertToEntity(BaseOrcamentariaRequestDTO dto, User user, DimensionCache dimensions) {
 
         BaseOrcamentaria entity = new BaseOrcamentaria();
         entity.setLancto(dto.getLancto());
@@ -0,0 +1,37 @@
+package org.portodigital.residencia.oabpe.domain.base_orcamentaria;
+
+import org.portodigital.residencia.oabpe.domain.base_orcamentaria.dto.BaseOrcamentariaRequestDTO;
+import org.portodigital.residencia.oabpe.domain.base_orcamentaria.dto.BaseOrcamentariaResponseDTO;
+import org.springframework.stereotype.Component;
+
+@Component
+public class BaseOrcamentariaMapper {
+
+    public BaseOrcamentariaResponseDTO toResponse(BaseOrcamentaria entity) {
+        BaseOrcamentariaResponseDTO dto = new BaseOrcamentariaResponseDTO();
+        dto.setId(entity.getId());
+        dto.setLancto(entity.getLancto());
+        dto.setValor(entity.getValor());
+        dto.setDtDocto(entity.getDtDocto());
+        dto.setDtLancto(entity.getDtLancto());
+        dto.setAno(entity.getAno());
+        dto.setTipo(entity.getTipo());
+        dto.setStatus(String.valueOf(entity.isStatus()));
+        return dto;
+    }
+
+    public BaseOrcamentaria toEntity(BaseOrcamentariaRequestDTO request) {
+        BaseOrcamentaria entity = new BaseOrcamentaria();
+        update(request, entity);
+        return entity;
+    }
+
+    public void update(BaseOrcamentariaRequestDTO request, BaseOrcamentaria entity) {
+        entity.setLancto(request.getLancto());
+        entity.setValor(request.getValor());
+        entity.setDtDocto(request.getDtDocto());
+        entity.setDtLancto(request.getDtLancto());
+        entity.setAno(request.getAno());
+        entity.setTipo(request.getTipo());
+    }
+}
@@ -1,27 +1,39 @@
 package org.portodigital.residencia.oabpe.domain.base_orcamentaria;
 
 import org.portodigital.residencia.oabpe.domain.base_orcamentaria.dto.BaseOrcamentariaFilteredRequest;
+import org.portodigital.residencia.oabpe.domain.busca.CampoBusca;
+import org.portodigital.residencia.oabpe.domain.commons.FilterSpecification;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
 
-public interface BaseOrcamentariaRepository extends JpaRepository<BaseOrcamentaria, Long> {
+import java.time.LocalDate;
+
+public interface BaseOrcamentariaRepository extends JpaRepository<BaseOrcamentaria, Long>, JpaSpecificationExecutor<BaseOrcamentaria> {
 
     @Query("SELECT b FROM BaseOrcamentaria b WHERE b.status = true")
     Page<BaseOrcamentaria> findAllActive(Pageable pageable);
 
-    @Query("""
-        SELECT b
-        FROM BaseOrcamentaria b
-        WHERE  (:#{#filter.lancto} IS NULL OR LOWER(b.lancto) LIKE LOWER(CONCAT('%', :#{#filter.lancto}, '%')))
-          AND (:#{#filter.valor} IS NULL OR b.valor = :#{#filter.valor})
-          AND (:#{#filter.dtDocto} IS NULL OR b.dtDocto = :#{#filter.dtDocto})
-          AND (:#{#filter.dtLancto} IS NULL OR b.dtLancto = :#{#filter.dtLancto})
-          AND (:#{#filter.ano} IS NULL OR b.ano = :#{#filter.ano})
-          AND (:#{#filter.tipo} IS NULL OR LOWER(b.tipo) LIKE LOWER(CONCAT('%', :#{#filter.tipo}, '%')))
-          AND b.status = true
-    """)
-    Page<BaseOrcamentaria> findAllActiveByFilter(@Param("filter") BaseOrcamentariaFilteredRequest filter, Pageable pageable);
+    static Specification<BaseOrcamentaria> byFilter(BaseOrcamentariaFilteredRequest filter) {
+        return FilterSpecification.of(BaseOrcamentaria.class)
+                .search("lanctoBusca", CampoBusca.BASE_ORCAMENTARIA_LANCTO, filter.getLancto())
+                .equal("valor", filter.getValor())
+                .equal("dtDocto", filter.getDtDocto())
+                .equal("dtLancto", filter.getDtLancto())
+                .equal("ano", filter.getAno())
+                .search("tipoBusca", CampoBusca.BASE_ORCAMENTARIA_TIPO, filter.getTipo())
+                .ativos()
+                .build();
+    }
+
+    // listagem por cursor: ordem (dtLancto, id) decrescente, sem OFFSET nem COUNT
+    Sort CURSOR_SORT = Sort.by(Sort.Direction.DESC, "dtLancto", "id");
+
+    static Specification<BaseOrcamentaria> byFilterBefore(BaseOrcamentariaFilteredRequest filter, LocalDate dtLancto, Long id) {
+        return byFilter(filter).and(FilterSpecification.of(BaseOrcamentaria.class).before("dtLancto", dtLancto, id).build());
+    }
 }
@@ -1,46 +1,118 @@
 package org.portodigital.residencia.oabpe.domain.base_orcamentaria;
 
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.portodigital.residencia.oabpe.domain.base_orcamentaria.dto.BaseOrcamentariaFilteredRequest;
 import org.portodigital.residencia.oabpe.domain.base_orcamentaria.dto.BaseOrcamentariaRequestDTO;
 import org.portodigital.residencia.oabpe.domain.base_orcamentaria.dto.BaseOrcamentariaResponseDTO;
+import org.portodigital.residencia.oabpe.domain.busca.CampoBusca;
+import org.portodigital.residencia.oabpe.domain.busca.TextoBusca;
+import org.portodigital.residencia.oabpe.domain.busca.TrigramaBuscaService;
 import org.portodigital.residencia.oabpe.domain.commons.AbstractFileImportService;
+import org.portodigital.residencia.oabpe.domain.commons.Contagem;
+import org.portodigital.residencia.oabpe.domain.commons.ImportProgress;
+import org.portodigital.residencia.oabpe.domain.commons.ChunkedBatchWriter;
 import org.portodigital.residencia.oabpe.domain.identidade.model.User;
+import org.portodigital.residencia.oabpe.domain.identidade.service.UserReferenceCache;
+import org.portodigital.residencia.oabpe.domain.commons.ExportFormat;
+import org.portodigital.residencia.oabpe.domain.commons.StreamingExporter;
+import org.portodigital.residencia.oabpe.domain.commons.CursorPage;
+import org.portodigital.residencia.oabpe.domain.commons.KeysetCursor;
+import org.portodigital.residencia.oabpe.domain.commons.ProjectionQuery;
 import org.portodigital.residencia.oabpe.exception.EntityNotFoundException;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Arrays;
 
 @Service
 @RequiredArgsConstructor
 public class BaseOrcamentariaService extends AbstractFileImportService<BaseOrcamentariaRequestDTO> {
 
+    private static final List<String> EXPORT_COLUMNS = List.of(
+            "ID", "Lançamento", "Valor", "Data Documento", "Data Lançamento", "Ano", "Tipo");
+
+    private static final String INSERT_SQL = """
+            INSERT INTO base_orcamentaria
+                (lancto, valor, dt_docto, dt_lancto, ano, tipo, lancto_busca, tipo_busca, status, id_usuario,
+                 dat_criacao_registro, dat_alteracao_registro)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
     private final BaseOrcamentariaRepository baseOrcamentariaRepository;
+    private final StreamingExporter exporter;
+    private final ProjectionQuery projections;
     private final BaseOrcamentariaImportProcessor processor;
-    private final ModelMapper mapper;
+    private final ChunkedBatchWriter batchWriter;
+    private final TrigramaBuscaService trigramaBuscaService;
+    private final BaseOrcamentariaMapper mapper;
+    private final UserReferenceCache userReferenceCache;
 
     @Transactional
-    public void importarArquivo(MultipartFile file, User user) throws IOException {
-        List<Object> entidades = importFile(file, user, processor);
-        baseOrcamentariaRepository.saveAll(entidades.stream().map(e -> (BaseOrcamentaria) e).toList());
+    public void importarArquivo(MultipartFile file, User user, ImportProgress progress) throws IOException {
+        try (ChunkedBatchWriter.Chunk<BaseOrcamentaria> chunk = batchWriter.open(INSERT_SQL, BaseOrcamentaria.class, this::insertParameters)) {
+            importFile(file, user, processor, chunk, progress);
+        }
+        trigramaBuscaService.indexarPendentes(CampoBusca.BASE_ORCAMENTARIA_LANCTO);
+        trigramaBuscaService.indexarPendentes(CampoBusca.BASE_ORCAMENTARIA_TIPO);
+    }
+
+    public void validarArquivo(MultipartFile file, User user, ImportProgress progress) throws IOException {
+        validateFile(file, user, processor, progress);
+    }
+
+    private Object[] insertParameters(BaseOrcamentaria b) {
+        LocalDateTime agora = LocalDateTime.now();
+        return new Object[]{
+                b.getLancto(), b.getValor(), b.getDtDocto(), b.getDtLancto(), b.getAno(), b.getTipo(),
+                TextoBusca.normalizar(b.getLancto()), TextoBusca.normalizar(b.getTipo()),
+                b.isStatus(), b.getUser().getId(), agora, agora
+        };
+    }
+
+    public Slice<BaseOrcamentariaResponseDTO> getAllFiltered(BaseOrcamentariaFilteredRequest filter, Pageable pageable, Contagem contagem) {
+        return projections.slice(BaseOrcamentaria.class, BaseOrcamentariaResponseDTO.class,
+                BaseOrcamentariaRepository.byFilter(filter), pageable, contagem, filter, BaseOrcamentariaService::colunasResposta);
+    }
+
+    public CursorPage<BaseOrcamentariaResponseDTO> getAllByCursor(BaseOrcamentariaFilteredRequest filter, String cursor, int size, boolean total) {
+        KeysetCursor posicao = KeysetCursor.decode(cursor);
+        Pageable request = CursorPage.request(size);
+        List<BaseOrcamentariaResponseDTO> rows = projections.list(BaseOrcamentaria.class, BaseOrcamentariaResponseDTO.class,
+                BaseOrcamentariaRepository.byFilterBefore(filter, posicao != null ? posicao.chaveAsDate() : null, posicao != null ? posicao.id() : null),
+                BaseOrcamentariaRepository.CURSOR_SORT, request.getPageSize(), BaseOrcamentariaService::colunasResposta);
+
+        return CursorPage.of(rows, request, b -> new KeysetCursor(b.getDtLancto().toString(), b.getId()),
+                total ? () -> baseOrcamentariaRepository.count(BaseOrcamentariaRepository.byFilter(filter)) : null);
+    }
+
+    // na ordem do construtor de BaseOrcamentariaResponseDTO; status vai como texto, como no BaseOrcamentariaMapper
+    private static List<Selection<?>> colunasResposta(Root<BaseOrcamentaria> b, CriteriaBuilder cb) {
+        return List.of(b.get("id"), cb.nullLiteral(Long.class), b.get("lancto"), b.get("valor"), b.get("dtDocto"),
+                b.get("dtLancto"), b.get("ano"), b.get("tipo"),
+                cb.<String>selectCase().when(cb.isTrue(b.get("status")), "true").otherwise("false"));
     }
 
-    public Page<BaseOrcamentariaResponseDTO> getAllFiltered(BaseOrcamentariaFilteredRequest filter, Pageable pageable) {
-        return baseOrcamentariaRepository.findAllActiveByFilter(filter, pageable)
-                .map(baseOrcamentaria -> mapper.map(baseOrcamentaria, BaseOrcamentariaResponseDTO.class));
+    public StreamingResponseBody export(BaseOrcamentariaFilteredRequest filter, ExportFormat formato) {
+        return exporter.export(formato, EXPORT_COLUMNS,
+                () -> exporter.stream(BaseOrcamentaria.class, BaseOrcamentariaRepository.byFilter(filter)),
+                b -> Arrays.asList(b.getId(), b.getLancto(), b.getValor(), b.getDtDocto(), b.getDtLancto(), b.getAno(), b.getTipo()));
     }
 
     public BaseOrcamentariaResponseDTO getById(Long id) {
         return baseOrcamentariaRepository.findById(id)
-                .map(baseOrcamentaria -> mapper.map(baseOrcamentaria, BaseOrcamentariaResponseDTO.class))
+                .map(mapper::toResponse)
                 .orElseThrow(() -> new EntityNotFoundException("Base Orçamentaria não encontrado."));
     }
 
@@ -49,15 +121,15 @@ public class BaseOrcamentariaService extends AbstractFileImportService<BaseOrcam
         if (authentication == null || authentication.getPrincipal() == null) {
             throw new SecurityException("Acesso não autorizado");
         }
-        User user = (User) authentication.getPrincipal();
+        User user = userReferenceCache.of(authentication);
 
-        BaseOrcamentaria baseOrcamentaria = mapper.map(request, BaseOrcamentaria.class);
+        BaseOrcamentaria baseOrcamentaria = mapper.toEntity(request);
 
         baseOrcamentaria.setUser(user);
         baseOrcamentaria.setStatus(true);
 
         BaseOrcamentaria savedBaseOrcamentaria = baseOrcamentariaRepository.save(baseOrcamentaria);
-        return mapper.map(savedBaseOrcamentaria, BaseOrcamentariaResponseDTO.class);
+        return mapper.toResponse(savedBaseOrcamentaria);
     }
 
     public void delete(Long id) {
@@ -68,7 +140,7 @@ public class BaseOrcamentariaService extends AbstractFileImportService<BaseOrcam
         if (authentication == null || authentication.getPrincipal() == null) {
             throw new SecurityException("Acesso não autorizado");
         }
-        User user = (User) authentication.getPrincipal();
+        User user = userReferenceCache.of(authentication);
         existingBase.setUser(user);
 
         baseOrcamentariaRepository.save(existingBase);
@@ -78,15 +150,15 @@ public class BaseOrcamentariaService extends AbstractFileImportService<BaseOrcam
         BaseOrcamentaria existing = baseOrcamentariaRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Base Orçamentária não encontrada com ID: " + id));
 
-        mapper.map(request, existing);
+        mapper.update(request, existing);
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication == null || authentication.getPrincipal() == null) {
             throw new SecurityException("Acesso não autorizado");
         }
-        User user = (User) authentication.getPrincipal();
+        User user = userReferenceCache.of(authentication);
         existing.setUser(user);
 
         BaseOrcamentaria updated = baseOrcamentariaRepository.save(existing);
-        return mapper.map(updated, BaseOrcamentariaResponseDTO.class);
+        return mapper.toResponse(updated);
     }
 }
@@ -0,0 +1,22 @@
+package org.portodigital.residencia.oabpe.domain.busca;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+// Colunas com busca por trecho de texto: a coluna original, sua cópia normalizada e a tabela onde ficam
+@Getter
+@RequiredArgsConstructor
+public enum CampoBusca {
+
+    PRESTACAO_CONTAS_OBSERVACAO("prestacao_contas_subseccional", "observacao", "observacao_busca"),
+    PRESTACAO_CONTAS_PROTOCOLO("prestacao_contas_subseccional", "protocolosgd", "protocolo_busca"),
+    BASE_ORCAMENTARIA_LANCTO("base_orcamentaria", "lancto", "lancto_busca"),
+    BASE_ORCAMENTARIA_TIPO("base_orcamentaria", "tipo", "tipo_busca"),
+    DEMONSTRATIVO_NOME("demonstrativos", "nome", "nome_busca"),
+    SUBSECCIONAL_NOME("subseccional", "sub_seccional", "sub_seccional_busca"),
+    TIPO_DESCONTO_NOME("tipo_desconto", "nome", "nome_busca");
+
+    private final String tabela;
+    private final String coluna;
+    private final String colunaBusca;
+}
@@ -0,0 +1,10 @@
+package org.portodigital.residencia.oabpe.domain.busca;
+
+import java.util.Map;
+
+// Entidades com colunas *_busca, mantidas pela própria entidade em @PrePersist/@PreUpdate.
+// O TrigramaBuscaListener usa os valores normalizados para manter o índice de trigramas
+public interface Pesquisavel {
+
+    Map<CampoBusca, String> camposBusca();
+}
@@ -0,0 +1,36 @@
+package org.portodigital.residencia.oabpe.domain.busca;
+
+import java.text.Normalizer;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+// Forma normalizada dos textos pesquisáveis: minúsculas, sem acentos e com espaços simples.
+// É o que fica nas colunas *_busca e o que se compara com o termo digitado
+public final class TextoBusca {
+
+    public static final int TAMANHO_TRIGRAMA = 3;
+
+    private static final Pattern ACENTOS = Pattern.compile("\\p{M}+");
+    private static final Pattern ESPACOS = Pattern.compile("\\s+");
+
+    private TextoBusca() {
+    }
+
+    public static String normalizar(String texto) {
+        if (texto == null) return null;
+        String semAcentos = ACENTOS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return ESPACOS.matcher(semAcentos.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    // Trigramas distintos de um texto já normalizado; vazio para textos com menos de três caracteres
+    public static Set<String> trigramas(String normalizado) {
+        Set<String> trigramas = new LinkedHashSet<>();
+        if (normalizado == null) return trigramas;
+        for (int i = 0; i + TAMANHO_TRIGRAMA <= normalizado.length(); i++) {
+            trigramas.add(normalizado.substring(i, i + TAMANHO_TRIGRAMA));
+        }
+        return trigramas;
+    }
+}
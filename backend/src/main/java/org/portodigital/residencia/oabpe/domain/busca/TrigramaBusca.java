@@ -0,0 +1,34 @@
+package org.portodigital.residencia.oabpe.domain.busca;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// Índice de trigramas por valor normalizado: uma busca por trecho procura primeiro os valores que contêm
+// todos os trigramas do termo e só então confere o LIKE nas linhas desses valores
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "TrigramaBusca", indexes = {
+        @Index(name = "ix_trigrama_busca_trigrama", columnList = "Campo, Trigrama, Valor"),
+        // um trigrama por valor; também atende à consulta dos valores já indexados (Campo, Valor)
+        @Index(name = "uk_trigrama_busca", columnList = "Campo, Valor, Trigrama", unique = true)
+})
+public class TrigramaBusca {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "Campo", length = 40, nullable = false)
+    private CampoBusca campo;
+
+    @Column(name = "Valor", length = 255, nullable = false)
+    private String valor;
+
+    @Column(name = "Trigrama", length = 3, nullable = false)
+    private String trigrama;
+}
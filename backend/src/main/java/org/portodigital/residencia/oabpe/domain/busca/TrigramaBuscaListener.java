@@ -0,0 +1,21 @@
+package org.portodigital.residencia.oabpe.domain.busca;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class TrigramaBuscaListener {
+
+    private final TrigramaBuscaService trigramaBuscaService;
+
+    @PostPersist
+    @PostUpdate
+    public void registrar(Object entity) {
+        if (entity instanceof Pesquisavel pesquisavel) {
+            trigramaBuscaService.registrar(pesquisavel.camposBusca());
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package org.portodigital.residencia.oabpe.domain.busca;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+public class TrigramaBuscaService {
+
+    private static final int LOTE = 1000;
+
+    // Só insere o trigrama que ainda não existe; UPDLOCK/HOLDLOCK segura a faixa da chave até o fim da transação,
+    // então duas gravações concorrentes do mesmo valor não violam uk_trigrama_busca
+    private static final String INSERT_SQL = """
+            INSERT INTO trigrama_busca (campo, valor, trigrama)
+            SELECT ?, ?, ?
+            WHERE NOT EXISTS (SELECT 1 FROM trigrama_busca WITH (UPDLOCK, HOLDLOCK)
+                              WHERE campo = ? AND valor = ? AND trigrama = ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Registros gravados pelo JPA, um por vez: um lote de INSERTs condicionais por valor, sem consulta prévia
+    public void registrar(Map<CampoBusca, String> valores) {
+        valores.forEach((campo, valor) -> {
+            if (valor == null || valor.length() < TextoBusca.TAMANHO_TRIGRAMA) return;
+            inserir(campo, List.of(valor));
+        });
+    }
+
+    // Registros gravados em lote via JDBC: indexa os valores da coluna *_busca que ainda não têm trigramas
+    public int indexarPendentes(CampoBusca campo) {
+        String sql = """
+                SELECT DISTINCT TOP (%d) t.%s
+                FROM %s t
+                WHERE LEN(t.%s) >= %d
+                  AND NOT EXISTS (SELECT 1 FROM trigrama_busca g WHERE g.campo = ? AND g.valor = t.%s)
+                """.formatted(LOTE, campo.getColunaBusca(), campo.getTabela(), campo.getColunaBusca(),
+                TextoBusca.TAMANHO_TRIGRAMA, campo.getColunaBusca());
+
+        int total = 0;
+        List<String> valores;
+        while (!(valores = jdbcTemplate.queryForList(sql, String.class, campo.name())).isEmpty()) {
+            inserir(campo, valores);
+            total += valores.size();
+        }
+        return total;
+    }
+
+    // Registros anteriores à busca indexada ficam com a coluna *_busca nula; usado pela migração V6
+    public int normalizarPendentes(CampoBusca campo) {
+        String select = "SELECT TOP (%d) id, %s FROM %s WHERE %s IS NULL AND %s IS NOT NULL"
+                .formatted(LOTE, campo.getColuna(), campo.getTabela(), campo.getColunaBusca(), campo.getColuna());
+        String update = "UPDATE %s SET %s = ? WHERE id = ?".formatted(campo.getTabela(), campo.getColunaBusca());
+
+        int total = 0;
+        List<Object[]> linhas;
+        while (!(linhas = jdbcTemplate.query(select,
+                (rs, rowNum) -> new Object[]{TextoBusca.normalizar(rs.getString(2)), rs.getLong(1)})).isEmpty()) {
+            jdbcTemplate.batchUpdate(update, linhas);
+            total += linhas.size();
+        }
+        return total;
+    }
+
+    private void inserir(CampoBusca campo, List<String> valores) {
+        List<Object[]> linhas = new ArrayList<>();
+        for (String valor : valores) {
+            for (String trigrama : TextoBusca.trigramas(valor)) {
+                linhas.add(new Object[]{campo.name(), valor, trigrama, campo.name(), valor, trigrama});
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, linhas);
+    }
+}
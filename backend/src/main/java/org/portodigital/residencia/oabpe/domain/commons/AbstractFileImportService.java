@@ -3,13 +3,13 @@ package org.portodigital.residencia.oabpe.domain.commons;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
 import org.apache.commons.io.FilenameUtils;
-import org.apache.poi.ss.usermodel.Cell;
-import org.apache.poi.ss.usermodel.DateUtil;
-import org.apache.poi.ss.usermodel.Row;
-import org.apache.poi.xssf.usermodel.XSSFSheet;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.portodigital.residencia.oabpe.domain.identidade.model.User;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -18,6 +18,10 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 @Slf4j
 @Service
@@ -25,113 +29,166 @@ public abstract class AbstractFileImportService<T> {
 
     private final DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("d/M/yyyy");
 
-    public List<Object> importFile(MultipartFile file, User user, ImportProcessor<T> processor) throws IOException {
+    @Autowired
+    private DimensionCacheFactory dimensionCacheFactory;
+
+    @Autowired
+    @Qualifier("importRowExecutor")
+    private ThreadPoolTaskExecutor importRowExecutor;
+
+    @Value("${import.parallel.enabled:false}")
+    private boolean parallel;
+
+    @Value("${import.parallel.window:1000}")
+    private int window;
+
+    public List<Object> importFile(MultipartFile file, User user, ImportProcessor<T> processor, ImportProgress progress) throws IOException {
+        List<Object> result = new ArrayList<>();
+        importFile(file, user, processor, result::add, progress);
+        return result;
+    }
+
+    public void importFile(MultipartFile file, User user, ImportProcessor<T> processor, Consumer<Object> consumer,
+                           ImportProgress progress) throws IOException {
         String extension = FilenameUtils.getExtension(file.getOriginalFilename()).toLowerCase();
+        DimensionCache dimensions = dimensionCacheFactory.create();
+        if (parallel) {
+            dimensions.preload();
+        }
+        ImportRun<T> run = new ImportRun<>(processor, user, consumer, progress, dimensions,
+                parallel ? new ArrayDeque<>(window) : null);
 
         try (InputStream inputStream = file.getInputStream()) {
-            return switch (extension) {
-                case "csv" -> parseCSV(inputStream, processor, user);
-                case "xlsx" -> parseXLSX(inputStream, processor, user);
+            switch (extension) {
+                case "csv" -> parseCSV(inputStream, run);
+                case "xlsx" -> parseXLSX(inputStream, run);
                 default -> throw new IllegalArgumentException("Formato não suportado: " + extension);
-            };
+            }
+            drain(run, 0);
+        } finally {
+            if (run.pending() != null) {
+                run.pending().forEach(future -> future.cancel(true));
+            }
         }
     }
 
-    private List<Object> parseCSV(InputStream inputStream, ImportProcessor<T> processor, User user) throws IOException {
+    // Executa cabeçalho, parse, validação e resolução das referências sem gravar nada
+    public void validateFile(MultipartFile file, User user, ImportProcessor<T> processor, ImportProgress progress) throws IOException {
+        importFile(file, user, processor, entity -> {}, progress);
+    }
+
+    private void parseCSV(InputStream inputStream, ImportRun<T> run) throws IOException {
         CSVFormat format = CSVFormat.DEFAULT.builder().setHeader().setSkipHeaderRecord(true).setTrim(true).build();
 
         try (CSVParser parser = new CSVParser(new InputStreamReader(inputStream), format)) {
-            validateHeaders(parser.getHeaderMap().keySet(), processor.getRequiredHeaders());
-
-            return parser.stream()
-                    .map(record -> {
-                        try {
-                            Map<String, String> rowMap = record.toMap();
-                            T dto = processor.parse(rowMap);
-                            processor.validate(dto);
-                            return processor.convertToEntity(dto, user);
-                        } catch (Exception e) {
-                            logError(record.getRecordNumber(), e);
-                            return null;
-                        }
-                    })
-                    .filter(Objects::nonNull)
-                    .toList();
+            validateHeaders(parser.getHeaderMap().keySet(), run.processor().getRequiredHeaders());
+            ImportRow row = new ImportRow(parser.getHeaderMap());
+            Function<ImportRow, T> rowParser = run.processor().parser(row);
+
+            for (CSVRecord record : parser) {
+                row.fill(record);
+                processRow(record.getRecordNumber(), row, rowParser, run);
+            }
         }
     }
 
-    private List<Object> parseXLSX(InputStream inputStream, ImportProcessor<T> processor, User user) {
-        List<Object> result = new ArrayList<>();
-        try (XSSFWorkbook workbook = new XSSFWorkbook(inputStream)) {
-            XSSFSheet sheet = workbook.getSheetAt(0);
-            Row headerRow = sheet.getRow(0);
-            Map<String, Integer> headers = getHeaders(headerRow);
-
-            validateHeaders(headers.keySet(), processor.getRequiredHeaders());
-
-            Iterator<Row> rowIterator = sheet.iterator();
-            rowIterator.next();
-
-            int rowIndex = 1;
-            while (rowIterator.hasNext()) {
-                Row row = rowIterator.next();
-                if (row == null || isRowEmpty(row)) continue;
-
-                try {
-                    Map<String, String> rowData = getRowData(row, headers);
-                    T dto = processor.parse(rowData);
-                    processor.validate(dto);
-                    result.add(processor.convertToEntity(dto, user));
-                } catch (Exception e) {
-                    logError(rowIndex + 1, e);
-                }
-                rowIndex++;
+    private void parseXLSX(InputStream inputStream, ImportRun<T> run) throws IOException {
+        ImportRow[] row = new ImportRow[1];
+        @SuppressWarnings("unchecked")
+        Function<ImportRow, T>[] rowParser = new Function[1];
+
+        new XlsxStreamingReader(dateFormatter).read(inputStream, (rowNum, cells) -> {
+            if (rowNum == 0) {
+                Map<String, Integer> headers = getHeaders(cells);
+                validateHeaders(headers.keySet(), run.processor().getRequiredHeaders());
+                row[0] = new ImportRow(headers);
+                rowParser[0] = run.processor().parser(row[0]);
+                return;
             }
-        } catch (IOException e) {
-            throw new RuntimeException("Erro ao processar XLSX", e);
+            if (isRowEmpty(cells)) return;
+
+            row[0].fill(cells);
+            processRow(rowNum + 1, row[0], rowParser[0], run);
+        });
+    }
+
+    private void processRow(long line, ImportRow row, Function<ImportRow, T> rowParser, ImportRun<T> run) {
+        if (run.pending() == null) {
+            writeRow(convertRow(line, row, rowParser, run), run);
+            return;
         }
 
-        return result;
+        // parse e validação rodam no pool; a escrita continua nesta thread, na ordem original das linhas.
+        // A linha vai para outra thread, então aqui o buffer é copiado (um array por linha)
+        ImportRow snapshot = row.copy();
+        run.pending().add(importRowExecutor.submit(() -> convertRow(line, snapshot, rowParser, run)));
+        drain(run, window);
     }
 
-    private boolean isRowEmpty(Row row) {
-        for (Cell cell : row) {
-            if (cell != null && !cell.toString().trim().isEmpty()) {
+    private RowResult convertRow(long line, ImportRow row, Function<ImportRow, T> rowParser, ImportRun<T> run) {
+        T dto;
+        try {
+            dto = rowParser.apply(row);
+        } catch (ImportRow.CellException e) {
+            // falhas de conversão apontam a coluna que estava sendo lida
+            return new RowResult(line, null, (Exception) e.getCause(), e.column(), row);
+        } catch (Exception e) {
+            return new RowResult(line, null, e, null, row);
+        }
+        try {
+            run.processor().validate(dto);
+            return new RowResult(line, run.processor().convertToEntity(dto, run.user(), run.dimensions()), null, null, null);
+        } catch (Exception e) {
+            return new RowResult(line, null, e, null, row);
+        }
+    }
+
+    private void writeRow(RowResult result, ImportRun<T> run) {
+        if (result.error() != null) {
+            logError(result.line(), result.error());
+            run.progress().registrarErro(result.line(), result.column(), errorMessage(result.error()), result.row());
+            return;
+        }
+        run.consumer().accept(result.entity());
+        run.progress().registrarSucesso();
+    }
+
+    private void drain(ImportRun<T> run, int limit) {
+        if (run.pending() == null) return;
+
+        while (run.pending().size() > limit) {
+            try {
+                writeRow(run.pending().peek().get(), run);
+                run.pending().poll();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Importação interrompida", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Erro ao processar linha", e.getCause());
+            }
+        }
+    }
+
+    private boolean isRowEmpty(List<String> cells) {
+        for (String cell : cells) {
+            if (cell != null && !cell.isEmpty()) {
                 return false;
             }
         }
         return true;
     }
 
-    private Map<String, Integer> getHeaders(Row headerRow) {
+    private Map<String, Integer> getHeaders(List<String> headerCells) {
         Map<String, Integer> headers = new HashMap<>();
-        for (Cell cell : headerRow) {
-            headers.put(cell.getStringCellValue().trim(), cell.getColumnIndex());
+        for (int i = 0; i < headerCells.size(); i++) {
+            String header = headerCells.get(i);
+            if (header != null) {
+                headers.put(header, i);
+            }
         }
         return headers;
     }
 
-    private Map<String, String> getRowData(Row row, Map<String, Integer> headers) {
-        Map<String, String> rowData = new HashMap<>();
-        headers.forEach((key, index) -> {
-            Cell cell = row.getCell(index);
-            if (cell != null) {
-                switch (cell.getCellType()) {
-                    case STRING -> rowData.put(key, cell.getStringCellValue().trim());
-                    case NUMERIC -> {
-                        if (DateUtil.isCellDateFormatted(cell)) {
-                            rowData.put(key, cell.getLocalDateTimeCellValue().toLocalDate().format(dateFormatter));
-                        } else {
-                            rowData.put(key, String.valueOf((int) cell.getNumericCellValue()));
-                        }
-                    }
-                    default -> rowData.put(key, "");
-                }
-            }
-        });
-        return rowData;
-    }
-
     private void validateHeaders(Set<String> actual, String[] required) {
         for (String header : required) {
             if (!actual.contains(header)) {
@@ -143,4 +200,16 @@ public abstract class AbstractFileImportService<T> {
     private void logError(long line, Exception e) {
         log.error("Erro na linha {}: {}", line, e.getMessage());
     }
+
+    private String errorMessage(Exception e) {
+        return e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+    }
+
+    private record ImportRun<T>(ImportProcessor<T> processor, User user, Consumer<Object> consumer,
+                                ImportProgress progress, DimensionCache dimensions,
+                                Deque<Future<RowResult>> pending) {
+    }
+
+    private record RowResult(long line, Object entity, Exception error, String column, ImportRow row) {
+    }
 }
\ No newline at end of file
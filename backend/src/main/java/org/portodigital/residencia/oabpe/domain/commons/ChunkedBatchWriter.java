@@ -0,0 +1,70 @@
+package org.portodigital.residencia.oabpe.domain.commons;
+
+import jakarta.persistence.EntityManager;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+@Component
+@RequiredArgsConstructor
+public class ChunkedBatchWriter {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+
+    @Value("${import.batch-size:1000}")
+    private int batchSize;
+
+    public <E> Chunk<E> open(String insertSql, Class<E> type, Function<E, Object[]> parameters) {
+        return new Chunk<>(insertSql, type, parameters);
+    }
+
+    public class Chunk<E> implements Consumer<Object>, AutoCloseable {
+
+        private final String insertSql;
+        private final Class<E> type;
+        private final Function<E, Object[]> parameters;
+        private final List<Object[]> buffer;
+
+        @Getter
+        private long rowsWritten;
+
+        private Chunk(String insertSql, Class<E> type, Function<E, Object[]> parameters) {
+            this.insertSql = insertSql;
+            this.type = type;
+            this.parameters = parameters;
+            this.buffer = new ArrayList<>(batchSize);
+        }
+
+        @Override
+        public void accept(Object entity) {
+            buffer.add(parameters.apply(type.cast(entity)));
+            if (buffer.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        public void flush() {
+            if (buffer.isEmpty()) return;
+
+            // garante que alterações pendentes do JPA sejam enviadas antes do lote JDBC
+            entityManager.flush();
+            jdbcTemplate.batchUpdate(insertSql, buffer);
+            rowsWritten += buffer.size();
+            buffer.clear();
+            entityManager.clear();
+        }
+
+        @Override
+        public void close() {
+            flush();
+        }
+    }
+}
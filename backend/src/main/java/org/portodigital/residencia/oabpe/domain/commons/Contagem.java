@@ -0,0 +1,26 @@
+package org.portodigital.residencia.oabpe.domain.commons;
+
+// Como o total de registros de uma listagem paginada é obtido
+public enum Contagem {
+    // COUNT sobre o filtro a cada página
+    EXATA("exata"),
+    // sem COUNT: a resposta só informa se existe próxima página
+    NENHUMA("nenhuma"),
+    // COUNT reaproveitado por alguns instantes para o mesmo filtro; pode não refletir gravações recentes
+    ESTIMADA("estimada");
+
+    private final String valor;
+
+    Contagem(String valor) {
+        this.valor = valor;
+    }
+
+    public static Contagem of(String contagem) {
+        for (Contagem modo : values()) {
+            if (modo.valor.equalsIgnoreCase(contagem)) {
+                return modo;
+            }
+        }
+        throw new IllegalArgumentException("Contagem não suportada: " + contagem);
+    }
+}
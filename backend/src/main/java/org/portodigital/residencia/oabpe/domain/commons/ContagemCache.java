@@ -0,0 +1,30 @@
+package org.portodigital.residencia.oabpe.domain.commons;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
+
+// Totais das listagens com Contagem.ESTIMADA, por entidade e filtro. O paginador da tela pede o total
+// a cada troca de página com o mesmo filtro, e só a primeira delas executa o COUNT
+@Component
+public class ContagemCache {
+
+    private final Cache<List<Object>, Long> totais;
+
+    public ContagemCache(@Value("${listagem.contagem.ttl:PT1M}") Duration ttl,
+                         @Value("${listagem.contagem.max-entries:1000}") long maxEntries) {
+        this.totais = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxEntries)
+                .build();
+    }
+
+    public long get(Class<?> entityType, Object filtro, Supplier<Long> count) {
+        return totais.get(List.of(entityType, filtro), chave -> count.get());
+    }
+}
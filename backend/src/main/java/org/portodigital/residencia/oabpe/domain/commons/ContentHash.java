@@ -0,0 +1,57 @@
+package org.portodigital.residencia.oabpe.domain.commons;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+// SHA-256 em hexadecimal, usado para reconhecer arquivos e linhas já importados
+public final class ContentHash {
+
+    private static final byte SEPARADOR = 0x1F;
+    private static final byte NULO = 0x00;
+
+    private ContentHash() {
+    }
+
+    public static String of(MultipartFile file) throws IOException {
+        MessageDigest digest = sha256();
+        try (InputStream inputStream = file.getInputStream()) {
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    public static String of(Object... values) {
+        MessageDigest digest = sha256();
+        for (Object value : values) {
+            if (value == null) {
+                digest.update(NULO);
+            } else if (value instanceof BigDecimal decimal) {
+                // 10.0 e 10.00 devem gerar o mesmo hash
+                digest.update(decimal.stripTrailingZeros().toPlainString().getBytes(StandardCharsets.UTF_8));
+            } else {
+                digest.update(value.toString().getBytes(StandardCharsets.UTF_8));
+            }
+            digest.update(SEPARADOR);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package org.portodigital.residencia.oabpe.domain.commons;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+// Página de uma listagem por cursor (keyset). O total só é calculado quando o cliente pede
+@Getter
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    private static final int TAMANHO_MAXIMO = 500;
+
+    private final List<T> content;
+    private final String nextCursor;
+    private final boolean hasNext;
+    private final Long totalElements;
+
+    // Busca uma linha a mais que o tamanho pedido para saber se existe próxima página sem COUNT
+    public static Pageable request(int size) {
+        return PageRequest.ofSize(Math.max(1, Math.min(size, TAMANHO_MAXIMO)) + 1);
+    }
+
+    public static <E> CursorPage<E> of(List<E> rows, Pageable request, Function<E, KeysetCursor> cursorOf, Supplier<Long> total) {
+        int size = request.getPageSize() - 1;
+        boolean hasNext = rows.size() > size;
+        List<E> content = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? cursorOf.apply(content.get(content.size() - 1)).encode() : null;
+        return new CursorPage<>(content, nextCursor, hasNext, total != null ? total.get() : null);
+    }
+
+    public <R> CursorPage<R> map(Function<T, R> converter) {
+        return new CursorPage<>(content.stream().map(converter).toList(), nextCursor, hasNext, totalElements);
+    }
+}
@@ -0,0 +1,115 @@
+package org.portodigital.residencia.oabpe.domain.commons;
+
+import lombok.extern.slf4j.Slf4j;
+import org.portodigital.residencia.oabpe.domain.demonstrativo.Demonstrativo;
+import org.portodigital.residencia.oabpe.domain.instituicao.Instituicao;
+import org.portodigital.residencia.oabpe.domain.prestacao_contas_subseccional.subseccional.Subseccional;
+import org.portodigital.residencia.oabpe.domain.prestacao_contas_subseccional.tipo_desconto.TipoDesconto;
+
+import java.text.Normalizer;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+// Tabelas de referência ativas carregadas uma única vez por importação, sob demanda ou de uma vez via preload()
+@Slf4j
+public class DimensionCache {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final Lookup<Instituicao> instituicoes;
+    private final Lookup<Demonstrativo> demonstrativos;
+    private final Lookup<Subseccional> subseccionais;
+    private final Lookup<TipoDesconto> tiposDesconto;
+
+    DimensionCache(Supplier<List<Instituicao>> instituicoes,
+                   Supplier<List<Demonstrativo>> demonstrativos,
+                   Supplier<List<Subseccional>> subseccionais,
+                   Supplier<List<TipoDesconto>> tiposDesconto) {
+        this.instituicoes = new Lookup<>("Instituicao", instituicoes, Instituicao::getNome);
+        this.demonstrativos = new Lookup<>("Demonstrativo", demonstrativos, Demonstrativo::getNome);
+        this.subseccionais = new Lookup<>("Subseccional", subseccionais, Subseccional::getSubSeccional);
+        this.tiposDesconto = new Lookup<>("TipoDesconto", tiposDesconto, TipoDesconto::getNome);
+    }
+
+    // Carrega todas as tabelas na thread atual. Usado antes de distribuir as linhas no pool, para que as
+    // consultas rodem na thread da importação e não nas threads das linhas, fora da transação
+    public void preload() {
+        instituicoes.index();
+        demonstrativos.index();
+        subseccionais.index();
+        tiposDesconto.index();
+    }
+
+    public Optional<Instituicao> findInstituicao(String nome) {
+        return instituicoes.find(nome);
+    }
+
+    public Optional<Demonstrativo> findDemonstrativo(String nome) {
+        return demonstrativos.find(nome);
+    }
+
+    public Optional<Subseccional> findSubseccional(String nome) {
+        return subseccionais.find(nome);
+    }
+
+    public Optional<TipoDesconto> findTipoDesconto(String nome) {
+        return tiposDesconto.find(nome);
+    }
+
+    public static String normalize(String nome) {
+        if (nome == null) return null;
+        String semAcento = DIACRITICS.matcher(Normalizer.normalize(nome, Normalizer.Form.NFD)).replaceAll("");
+        return WHITESPACE.matcher(semAcento.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    private static class Lookup<E> {
+
+        private final String tabela;
+        private final Supplier<List<E>> loader;
+        private final Function<E, String> nameOf;
+        private volatile Map<String, E> index;
+
+        private Lookup(String tabela, Supplier<List<E>> loader, Function<E, String> nameOf) {
+            this.tabela = tabela;
+            this.loader = loader;
+            this.nameOf = nameOf;
+        }
+
+        Optional<E> find(String nome) {
+            if (nome == null || nome.isBlank()) return Optional.empty();
+            return Optional.ofNullable(index().get(normalize(nome)));
+        }
+
+        private Map<String, E> index() {
+            Map<String, E> current = index;
+            if (current == null) {
+                synchronized (this) {
+                    current = index;
+                    if (current == null) {
+                        current = load();
+                        index = current;
+                    }
+                }
+            }
+            return current;
+        }
+
+        private Map<String, E> load() {
+            Map<String, E> loaded = new HashMap<>();
+            for (E entity : loader.get()) {
+                E previous = loaded.putIfAbsent(normalize(nameOf.apply(entity)), entity);
+                if (previous != null) {
+                    log.warn("{} ativo duplicado após normalização: {}", tabela, nameOf.apply(entity));
+                }
+            }
+            return loaded;
+        }
+    }
+}
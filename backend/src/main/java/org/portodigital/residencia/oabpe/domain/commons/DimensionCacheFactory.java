@@ -0,0 +1,26 @@
+package org.portodigital.residencia.oabpe.domain.commons;
+
+import lombok.RequiredArgsConstructor;
+import org.portodigital.residencia.oabpe.domain.demonstrativo.DemonstrativoRepository;
+import org.portodigital.residencia.oabpe.domain.instituicao.InstituicaoRepository;
+import org.portodigital.residencia.oabpe.domain.prestacao_contas_subseccional.subseccional.SubseccionalRepository;
+import org.portodigital.residencia.oabpe.domain.prestacao_contas_subseccional.tipo_desconto.TipoDescontoRepository;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class DimensionCacheFactory {
+
+    private final InstituicaoRepository instituicaoRepository;
+    private final DemonstrativoRepository demonstrativoRepository;
+    private final SubseccionalRepository subseccionalRepository;
+    private final TipoDescontoRepository tipoDescontoRepository;
+
+    public DimensionCache create() {
+        return new DimensionCache(
+                instituicaoRepository::findAllAtivos,
+                demonstrativoRepository::findAllAtivos,
+                subseccionalRepository::findAllAtivos,
+                tipoDescontoRepository::findAllAtivos);
+    }
+}
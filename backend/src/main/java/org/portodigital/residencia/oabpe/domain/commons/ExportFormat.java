@@ -0,0 +1,33 @@
+package org.portodigital.residencia.oabpe.domain.commons;
+
+import org.springframework.http.MediaType;
+
+public enum ExportFormat {
+    CSV("csv", new MediaType("text", "csv")),
+    XLSX("xlsx", MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"));
+
+    private final String extensao;
+    private final MediaType mediaType;
+
+    ExportFormat(String extensao, MediaType mediaType) {
+        this.extensao = extensao;
+        this.mediaType = mediaType;
+    }
+
+    public static ExportFormat of(String formato) {
+        for (ExportFormat format : values()) {
+            if (format.extensao.equalsIgnoreCase(formato)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Formato não suportado: " + formato);
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public String contentDisposition(String nomeArquivo) {
+        return "attachment; filename=\"" + nomeArquivo + "." + extensao + "\"";
+    }
+}
@@ -0,0 +1,105 @@
+package org.portodigital.residencia.oabpe.domain.commons;
+
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.portodigital.residencia.oabpe.domain.busca.CampoBusca;
+import org.portodigital.residencia.oabpe.domain.busca.TextoBusca;
+import org.portodigital.residencia.oabpe.domain.busca.TrigramaBusca;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+// Monta o filtro das listagens apenas com os campos informados. Cada combinação de campos gera um SQL próprio,
+// com plano de execução que aproveita os índices, em vez de um único "campo IS NULL OR ..." para todas
+public final class FilterSpecification<T> {
+
+    private final List<Specification<T>> predicados = new ArrayList<>();
+
+    private FilterSpecification() {
+    }
+
+    public static <T> FilterSpecification<T> of(Class<T> type) {
+        return new FilterSpecification<>();
+    }
+
+    public FilterSpecification<T> equal(String atributo, Object valor) {
+        if (vazio(valor)) return this;
+        predicados.add((root, query, cb) -> cb.equal(path(root, atributo), valor));
+        return this;
+    }
+
+    // status = 1 como literal, e não como parâmetro, para que o SQL Server possa usar os índices filtrados por ativos
+    public FilterSpecification<T> ativos() {
+        predicados.add((root, query, cb) -> cb.isTrue(root.get("status")));
+        return this;
+    }
+
+    // LIKE '%valor%' sem diferenciar maiúsculas de minúsculas
+    public FilterSpecification<T> contains(String atributo, String valor) {
+        if (vazio(valor)) return this;
+        String padrao = "%" + escape(valor.toLowerCase()) + "%";
+        predicados.add((root, query, cb) -> cb.like(cb.lower(path(root, atributo)), padrao, '\\'));
+        return this;
+    }
+
+    // Busca por trecho na coluna normalizada (*_busca). Com três caracteres ou mais, os valores candidatos saem
+    // do índice de trigramas e o LIKE só confere as linhas desses valores
+    public FilterSpecification<T> search(String atributoBusca, CampoBusca campo, String termo) {
+        String normalizado = TextoBusca.normalizar(termo);
+        if (vazio(normalizado)) return this;
+
+        String padrao = "%" + escape(normalizado) + "%";
+        Set<String> trigramas = TextoBusca.trigramas(normalizado);
+        predicados.add((root, query, cb) -> {
+            Path<String> coluna = path(root, atributoBusca);
+            Predicate like = cb.like(coluna, padrao, '\\');
+            if (trigramas.isEmpty()) return like;
+
+            Subquery<String> candidatos = query.subquery(String.class);
+            Root<TrigramaBusca> trigrama = candidatos.from(TrigramaBusca.class);
+            candidatos.select(trigrama.get("valor"))
+                    .where(cb.equal(trigrama.get("campo"), campo), trigrama.get("trigrama").in(trigramas))
+                    .groupBy(trigrama.get("valor"))
+                    .having(cb.equal(cb.countDistinct(trigrama.get("trigrama")), (long) trigramas.size()));
+            return cb.and(coluna.in(candidatos), like);
+        });
+        return this;
+    }
+
+    // Posição de uma listagem por cursor em ordem decrescente de (atributo, id)
+    public <Y extends Comparable<? super Y>> FilterSpecification<T> before(String atributo, Y valor, Long id) {
+        if (valor == null || id == null) return this;
+        predicados.add((root, query, cb) -> {
+            Path<Y> chave = path(root, atributo);
+            Path<Long> rootId = root.get("id");
+            return cb.or(cb.lessThan(chave, valor), cb.and(cb.equal(chave, valor), cb.lessThan(rootId, id)));
+        });
+        return this;
+    }
+
+    public Specification<T> build() {
+        return Specification.allOf(predicados);
+    }
+
+    private static <Y> Path<Y> path(Root<?> root, String atributo) {
+        Path<?> path = root;
+        for (String parte : atributo.split("\\.")) {
+            path = path.get(parte);
+        }
+        @SuppressWarnings("unchecked")
+        Path<Y> typed = (Path<Y>) path;
+        return typed;
+    }
+
+    private static boolean vazio(Object valor) {
+        return valor == null || (valor instanceof String texto && texto.isBlank());
+    }
+
+    private static String escape(String valor) {
+        return valor.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,143 @@
+package org.portodigital.residencia.oabpe.domain.commons;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVPrinter;
+import org.apache.commons.csv.CSVRecord;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+// Linhas rejeitadas de uma importação, com as colunas originais seguidas de linha, coluna e mensagem do erro.
+// Até LIMITE_EM_MEMORIA linhas ficam em memória; acima disso o relatório passa a ser gravado em arquivo temporário
+@Slf4j
+public class ImportErrorReport {
+
+    private static final int LIMITE_EM_MEMORIA = 1000;
+    private static final List<String> COLUNAS_ERRO = List.of("Linha", "Coluna", "Erro");
+
+    private List<String> cabecalho;
+    private final List<List<String>> linhas = new ArrayList<>();
+    private Path arquivo;
+    private CSVPrinter printer;
+
+    public synchronized void registrar(long linha, String coluna, String mensagem, ImportRow row) {
+        if (cabecalho == null) {
+            cabecalho = new ArrayList<>(row != null ? row.headers() : List.of());
+            cabecalho.addAll(COLUNAS_ERRO);
+        }
+
+        List<String> valores = new ArrayList<>(cabecalho.size());
+        for (int i = 0; i < cabecalho.size() - COLUNAS_ERRO.size(); i++) {
+            valores.add(row != null ? row.get(i) : null);
+        }
+        valores.add(String.valueOf(linha));
+        valores.add(coluna);
+        valores.add(mensagem);
+
+        try {
+            if (printer == null && linhas.size() < LIMITE_EM_MEMORIA) {
+                linhas.add(valores);
+                return;
+            }
+            if (printer == null) {
+                spill();
+            }
+            printer.printRecord(valores);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao gravar relatório de erros", e);
+        }
+    }
+
+    public synchronized boolean isEmpty() {
+        return cabecalho == null;
+    }
+
+    // Primeiros erros registrados, sem as colunas originais
+    public synchronized List<Erro> primeiros(int limite) {
+        List<Erro> erros = new ArrayList<>();
+        for (List<String> valores : linhas) {
+            if (erros.size() >= limite) break;
+            int n = valores.size();
+            erros.add(new Erro(Long.parseLong(valores.get(n - 3)), valores.get(n - 2), valores.get(n - 1)));
+        }
+        return erros;
+    }
+
+    public synchronized void writeCsv(OutputStream outputStream) throws IOException {
+        CSVPrinter csv = new CSVPrinter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), CSVFormat.DEFAULT);
+        forEach(values -> {
+            try {
+                csv.printRecord(values);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        csv.flush();
+    }
+
+    public synchronized void writeXlsx(OutputStream outputStream) throws IOException {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(100);
+        try {
+            Sheet sheet = workbook.createSheet("Erros");
+            int[] rowNum = {0};
+            forEach(values -> {
+                Row row = sheet.createRow(rowNum[0]++);
+                for (int i = 0; i < values.size(); i++) {
+                    row.createCell(i).setCellValue(values.get(i));
+                }
+            });
+            workbook.write(outputStream);
+        } finally {
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+
+    public synchronized void descartar() {
+        linhas.clear();
+        try {
+            if (printer != null) {
+                printer.close();
+            }
+            if (arquivo != null) {
+                Files.deleteIfExists(arquivo);
+            }
+        } catch (IOException e) {
+            log.warn("Não foi possível remover o relatório de erros {}", arquivo);
+        }
+    }
+
+    private void forEach(Consumer<List<String>> action) throws IOException {
+        if (cabecalho == null) return;
+
+        action.accept(cabecalho);
+        linhas.forEach(action);
+        if (printer == null) return;
+
+        printer.flush();
+        try (CSVParser parser = CSVParser.parse(arquivo, StandardCharsets.UTF_8, CSVFormat.DEFAULT)) {
+            for (CSVRecord record : parser) {
+                action.accept(record.toList());
+            }
+        }
+    }
+
+    public record Erro(long linha, String coluna, String mensagem) {
+    }
+
+    private void spill() throws IOException {
+        arquivo = Files.createTempFile("import-erros-", ".csv");
+        printer = new CSVPrinter(Files.newBufferedWriter(arquivo, StandardCharsets.UTF_8), CSVFormat.DEFAULT);
+        log.info("Relatório de erros excedeu {} linhas, gravando em {}", LIMITE_EM_MEMORIA, arquivo);
+    }
+}
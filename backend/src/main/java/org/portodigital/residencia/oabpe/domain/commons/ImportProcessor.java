@@ -3,10 +3,17 @@ package org.portodigital.residencia.oabpe.domain.commons;
 import org.portodigital.residencia.oabpe.domain.identidade.model.User;
 
 import java.util.Map;
+import java.util.function.Function;
 
 public interface ImportProcessor<T> {
     String[] getRequiredHeaders();
-    T parse(Map<String, String> rowData);
+    // Resolve as colunas uma vez por arquivo, a partir do cabeçalho; a função devolvida lê cada linha só por posição
+    Function<ImportRow, T> parser(ImportRow header);
     void validate(T dto);
-    Object convertToEntity(T dto, User user);
-}
\ No newline at end of file
+    Object convertToEntity(T dto, User user, DimensionCache dimensions);
+
+    default T parse(Map<String, String> rowData) {
+        ImportRow row = ImportRow.of(rowData);
+        return parser(row).apply(row);
+    }
+}
@@ -0,0 +1,32 @@
+package org.portodigital.residencia.oabpe.domain.commons;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+public class ImportProgress {
+
+    private final AtomicLong linhasProcessadas = new AtomicLong();
+    private final AtomicLong linhasComErro = new AtomicLong();
+    private final ImportErrorReport erros = new ImportErrorReport();
+
+    public void registrarSucesso() {
+        linhasProcessadas.incrementAndGet();
+    }
+
+    public void registrarErro(long linha, String coluna, String mensagem, ImportRow row) {
+        erros.registrar(linha, coluna, mensagem, row);
+        linhasProcessadas.incrementAndGet();
+        linhasComErro.incrementAndGet();
+    }
+
+    public long getLinhasProcessadas() {
+        return linhasProcessadas.get();
+    }
+
+    public long getLinhasComErro() {
+        return linhasComErro.get();
+    }
+
+    public ImportErrorReport getErros() {
+        return erros;
+    }
+}
@@ -0,0 +1,112 @@
+package org.portodigital.residencia.oabpe.domain.commons;
+
+import org.apache.commons.csv.CSVRecord;
+
+import java.util.*;
+import java.util.function.Function;
+
+// Visão indexada de uma linha: as posições das colunas são resolvidas uma vez por arquivo (column) e o
+// buffer de células é reaproveitado entre as linhas lidas pela mesma thread
+public final class ImportRow {
+
+    private final Map<String, Integer> columns;
+    private final String[] cells;
+
+    public ImportRow(Map<String, Integer> columns) {
+        this(columns, new String[width(columns)]);
+    }
+
+    private ImportRow(Map<String, Integer> columns, String[] cells) {
+        this.columns = columns;
+        this.cells = cells;
+    }
+
+    public static ImportRow of(Map<String, String> rowData) {
+        Map<String, Integer> columns = new HashMap<>();
+        ImportRow row = new ImportRow(columns, new String[rowData.size()]);
+        int index = 0;
+        for (Map.Entry<String, String> entry : rowData.entrySet()) {
+            columns.put(entry.getKey(), index);
+            row.cells[index++] = entry.getValue();
+        }
+        return row;
+    }
+
+    public int indexOf(String header) {
+        Integer index = columns.get(header);
+        return index == null ? -1 : index;
+    }
+
+    public String get(int index) {
+        return index >= 0 && index < cells.length ? cells[index] : null;
+    }
+
+    public Column column(String header) {
+        return new Column(header, indexOf(header));
+    }
+
+    public String get(Column column) {
+        return get(column.index());
+    }
+
+    // Converte a célula; uma falha de conversão sai como CellException apontando a coluna
+    public <V> V get(Column column, Function<String, V> conversion) {
+        try {
+            return conversion.apply(get(column.index()));
+        } catch (RuntimeException e) {
+            throw new CellException(column.header(), e);
+        }
+    }
+
+    public List<String> headers() {
+        List<String> headers = new ArrayList<>(Collections.nCopies(cells.length, (String) null));
+        columns.forEach((header, index) -> {
+            if (index < headers.size()) {
+                headers.set(index, header);
+            }
+        });
+        return headers;
+    }
+
+    void fill(List<String> values) {
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = i < values.size() ? values.get(i) : null;
+        }
+    }
+
+    void fill(CSVRecord record) {
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = i < record.size() ? record.get(i) : null;
+        }
+    }
+
+    // Cópia independente do buffer, para linhas entregues a outra thread
+    ImportRow copy() {
+        return new ImportRow(columns, cells.clone());
+    }
+
+    public record Column(String header, int index) {
+    }
+
+    public static final class CellException extends RuntimeException {
+
+        private final String column;
+
+        CellException(String column, RuntimeException cause) {
+            super(cause.getMessage(), cause);
+            this.column = column;
+        }
+
+        public String column() {
+            return column;
+        }
+    }
+
+    private static int width(Map<String, Integer> columns) {
+        int width = 0;
+        for (int index : columns.values()) {
+            width = Math.max(width, index + 1);
+        }
+        return width;
+    }
+}
@@ -0,0 +1,37 @@
+package org.portodigital.residencia.oabpe.domain.commons;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+// Posição de uma listagem por cursor: valor da coluna de ordenação e id da última linha entregue.
+// Vai ao cliente como texto opaco em base64
+public record KeysetCursor(String chave, Long id) {
+
+    private static final String SEPARADOR = "|";
+
+    public String encode() {
+        String valor = chave + SEPARADOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) return null;
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separador = valor.lastIndexOf(SEPARADOR);
+            return new KeysetCursor(valor.substring(0, separador), Long.parseLong(valor.substring(separador + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+    }
+
+    public LocalDate chaveAsDate() {
+        try {
+            return LocalDate.parse(chave);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+    }
+}
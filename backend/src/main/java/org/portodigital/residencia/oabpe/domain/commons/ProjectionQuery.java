@@ -0,0 +1,102 @@
+package org.portodigital.residencia.oabpe.domain.commons;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.*;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Leitura das listagens direto no DTO de resposta: o SELECT traz só as colunas do construtor do DTO,
+// sem carregar as entidades (e suas associações) nem passar pelos mappers de cada módulo
+@Component
+@RequiredArgsConstructor
+public class ProjectionQuery {
+
+    private final EntityManager entityManager;
+    private final ContagemCache contagens;
+
+    public <E, D> Page<D> page(Class<E> entityType, Class<D> dtoType, Specification<E> specification,
+                               Pageable pageable, Columns<E> columns) {
+        TypedQuery<D> query = query(entityType, dtoType, specification, pageable.getSort(), columns);
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        return PageableExecutionUtils.getPage(query.getResultList(), pageable, () -> count(entityType, specification));
+    }
+
+    // Listagem paginada com o total obtido conforme a Contagem pedida pelo cliente. Em NENHUMA busca
+    // uma linha a mais que o tamanho da página para saber se existe a próxima, sem COUNT
+    public <E, D> Slice<D> slice(Class<E> entityType, Class<D> dtoType, Specification<E> specification,
+                                 Pageable pageable, Contagem contagem, Object filtro, Columns<E> columns) {
+        if (contagem == Contagem.EXATA || pageable.isUnpaged()) {
+            return page(entityType, dtoType, specification, pageable, columns);
+        }
+
+        TypedQuery<D> query = query(entityType, dtoType, specification, pageable.getSort(), columns);
+        query.setFirstResult((int) pageable.getOffset());
+
+        if (contagem == Contagem.NENHUMA) {
+            List<D> rows = query.setMaxResults(pageable.getPageSize() + 1).getResultList();
+            boolean hasNext = rows.size() > pageable.getPageSize();
+            return new SliceImpl<>(hasNext ? rows.subList(0, pageable.getPageSize()) : rows, pageable, hasNext);
+        }
+
+        List<D> rows = query.setMaxResults(pageable.getPageSize()).getResultList();
+        return PageableExecutionUtils.getPage(rows, pageable,
+                () -> contagens.get(entityType, filtro, () -> count(entityType, specification)));
+    }
+
+    public <E, D> List<D> list(Class<E> entityType, Class<D> dtoType, Specification<E> specification,
+                               Sort sort, int limit, Columns<E> columns) {
+        return query(entityType, dtoType, specification, sort, columns)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private <E, D> TypedQuery<D> query(Class<E> entityType, Class<D> dtoType, Specification<E> specification,
+                                       Sort sort, Columns<E> columns) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<D> query = cb.createQuery(dtoType);
+        Root<E> root = query.from(entityType);
+        query.select(cb.construct(dtoType, columns.select(root, cb).toArray(new Selection<?>[0])));
+
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        }
+        return entityManager.createQuery(query);
+    }
+
+    private <E> long count(Class<E> entityType, Specification<E> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<E> root = query.from(entityType);
+        query.select(cb.count(root));
+
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    // Expressões na ordem dos parâmetros do construtor do DTO
+    @FunctionalInterface
+    public interface Columns<E> {
+        List<Selection<?>> select(Root<E> root, CriteriaBuilder cb);
+    }
+}
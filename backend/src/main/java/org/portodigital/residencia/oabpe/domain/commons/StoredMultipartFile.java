@@ -0,0 +1,63 @@
+package org.portodigital.residencia.oabpe.domain.commons;
+
+import lombok.Getter;
+import org.apache.commons.io.FilenameUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+// Cópia em disco de um upload, para que o arquivo sobreviva ao fim da requisição HTTP
+@Getter
+public class StoredMultipartFile implements MultipartFile {
+
+    private final String name;
+    private final String originalFilename;
+    private final String contentType;
+    private final Path path;
+    private final long size;
+
+    private StoredMultipartFile(MultipartFile source, Path path) {
+        this.name = source.getName();
+        this.originalFilename = source.getOriginalFilename();
+        this.contentType = source.getContentType();
+        this.path = path;
+        this.size = source.getSize();
+    }
+
+    public static StoredMultipartFile copyOf(MultipartFile source) throws IOException {
+        Path path = Files.createTempFile("upload-", "." + FilenameUtils.getExtension(source.getOriginalFilename()));
+        try (InputStream inputStream = source.getInputStream()) {
+            Files.copy(inputStream, path, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return new StoredMultipartFile(source, path);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public byte[] getBytes() throws IOException {
+        return Files.readAllBytes(path);
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return Files.newInputStream(path);
+    }
+
+    @Override
+    public void transferTo(File dest) throws IOException {
+        Files.copy(path, dest.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    public void delete() throws IOException {
+        Files.deleteIfExists(path);
+    }
+}
@@ -0,0 +1,154 @@
+package org.portodigital.residencia.oabpe.domain.commons;
+
+import jakarta.persistence.EntityGraph;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+// Escreve o resultado de uma consulta em CSV ou XLSX direto na resposta, linha a linha,
+// sem materializar a lista nem manter as entidades já escritas no contexto de persistência
+@Component
+@RequiredArgsConstructor
+public class StreamingExporter {
+
+    private static final int JANELA_XLSX = 100;
+    private static final int FETCH_SIZE = 500;
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    private final EntityManager entityManager;
+    private final PlatformTransactionManager transactionManager;
+
+    public <E> StreamingResponseBody export(ExportFormat formato, List<String> colunas,
+                                            Supplier<Stream<E>> consulta, Function<E, List<Object>> linha) {
+        return outputStream -> {
+            // o corpo é escrito depois que o controller retorna, então a transação de leitura é aberta aqui
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            transaction.setReadOnly(true);
+            transaction.executeWithoutResult(status -> {
+                try (Stream<E> resultado = consulta.get()) {
+                    Iterator<List<Object>> linhas = resultado
+                            .map(entity -> {
+                                List<Object> valores = linha.apply(entity);
+                                entityManager.detach(entity);
+                                return valores;
+                            })
+                            .iterator();
+                    switch (formato) {
+                        case CSV -> writeCsv(colunas, linhas, outputStream);
+                        case XLSX -> writeXlsx(colunas, linhas, outputStream);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Erro ao exportar dados", e);
+                }
+            });
+        };
+    }
+
+    // Consulta da exportação: cursor somente leitura com fetch size fixo, e as associações lidas pela
+    // função de linha carregadas no mesmo SELECT pelo grafo de carga
+    public <E> Stream<E> stream(Class<E> entityType, Specification<E> specification, String... associacoes) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<E> query = cb.createQuery(entityType);
+        Root<E> root = query.from(entityType);
+        query.select(root);
+
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+
+        TypedQuery<E> typedQuery = entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, FETCH_SIZE)
+                .setHint(HibernateHints.HINT_READ_ONLY, true);
+        if (associacoes.length > 0) {
+            EntityGraph<E> grafo = entityManager.createEntityGraph(entityType);
+            grafo.addAttributeNodes(associacoes);
+            typedQuery.setHint(SpecHints.HINT_SPEC_LOAD_GRAPH, grafo);
+        }
+        return typedQuery.getResultStream();
+    }
+
+    private void writeCsv(List<String> colunas, Iterator<List<Object>> linhas, OutputStream outputStream) throws IOException {
+        CSVPrinter printer = new CSVPrinter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), CSVFormat.DEFAULT);
+        printer.printRecord(colunas);
+        while (linhas.hasNext()) {
+            for (Object valor : linhas.next()) {
+                printer.print(format(valor));
+            }
+            printer.println();
+        }
+        printer.flush();
+    }
+
+    private void writeXlsx(List<String> colunas, Iterator<List<Object>> linhas, OutputStream outputStream) throws IOException {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(JANELA_XLSX);
+        workbook.setCompressTempFiles(true);
+        try {
+            Sheet sheet = workbook.createSheet();
+            int rowNum = 0;
+
+            Row header = sheet.createRow(rowNum++);
+            for (int i = 0; i < colunas.size(); i++) {
+                header.createCell(i).setCellValue(colunas.get(i));
+            }
+
+            while (linhas.hasNext()) {
+                Row row = sheet.createRow(rowNum++);
+                List<Object> valores = linhas.next();
+                for (int i = 0; i < valores.size(); i++) {
+                    setCellValue(row.createCell(i), valores.get(i));
+                }
+            }
+            workbook.write(outputStream);
+        } finally {
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+
+    private void setCellValue(Cell cell, Object valor) {
+        if (valor instanceof Number number) {
+            cell.setCellValue(number.doubleValue());
+        } else if (valor != null) {
+            cell.setCellValue(format(valor));
+        }
+    }
+
+    private String format(Object valor) {
+        if (valor == null) return null;
+        if (valor instanceof LocalDate date) return date.format(DATE_FORMATTER);
+        if (valor instanceof BigDecimal decimal) return decimal.toPlainString();
+        return valor.toString();
+    }
+}
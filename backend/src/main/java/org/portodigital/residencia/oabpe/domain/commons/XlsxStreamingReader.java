@@ -0,0 +1,118 @@
+package org.portodigital.residencia.oabpe.domain.commons;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+public class XlsxStreamingReader {
+
+    @FunctionalInterface
+    public interface RowCallback {
+        // "cells" é reaproveitada entre as linhas: não guardar a referência
+        void onRow(int rowNum, List<String> cells);
+    }
+
+    private final DateTimeFormatter dateFormatter;
+
+    public XlsxStreamingReader(DateTimeFormatter dateFormatter) {
+        this.dateFormatter = dateFormatter;
+    }
+
+    public void read(InputStream inputStream, RowCallback callback) throws IOException {
+        // OPCPackage aberto a partir de arquivo lê as partes sob demanda, sem carregar o zip inteiro em memória
+        Path tempFile = Files.createTempFile("import-", ".xlsx");
+        try {
+            Files.copy(inputStream, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            try (OPCPackage pkg = OPCPackage.open(tempFile.toFile(), PackageAccess.READ)) {
+                readFirstSheet(pkg, callback);
+            } catch (OpenXML4JException | SAXException | ParserConfigurationException e) {
+                throw new IOException("Erro ao processar XLSX", e);
+            }
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    private void readFirstSheet(OPCPackage pkg, RowCallback callback)
+            throws IOException, OpenXML4JException, SAXException, ParserConfigurationException {
+        ReadOnlySharedStringsTable sharedStrings = new ReadOnlySharedStringsTable(pkg, false);
+        XSSFReader reader = new XSSFReader(pkg);
+        StylesTable styles = reader.getStylesTable();
+
+        Iterator<InputStream> sheets = reader.getSheetsData();
+        if (!sheets.hasNext()) {
+            return;
+        }
+
+        try (InputStream sheet = sheets.next()) {
+            XMLReader parser = XMLHelper.newXMLReader();
+            parser.setContentHandler(new XSSFSheetXMLHandler(
+                    styles, null, sharedStrings, new RowHandler(callback), new ImportDataFormatter(), false));
+            parser.parse(new InputSource(sheet));
+        }
+    }
+
+    private static class RowHandler implements XSSFSheetXMLHandler.SheetContentsHandler {
+
+        private final RowCallback callback;
+        private final List<String> cells = new ArrayList<>();
+
+        private RowHandler(RowCallback callback) {
+            this.callback = callback;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            cells.clear();
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            callback.onRow(rowNum, cells);
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            int column = new CellReference(cellReference).getCol();
+            while (cells.size() < column) {
+                cells.add(null);
+            }
+            cells.add(formattedValue == null ? "" : formattedValue.trim());
+        }
+    }
+
+    // Mantém a mesma formatação do modelo XSSFWorkbook: datas em d/M/yyyy e números truncados para inteiro
+    private class ImportDataFormatter extends DataFormatter {
+
+        @Override
+        public String formatRawCellContents(double value, int formatIndex, String formatString, boolean use1904Windowing) {
+            if (DateUtil.isADateFormat(formatIndex, formatString) && DateUtil.isValidExcelDate(value)) {
+                return DateUtil.getLocalDateTime(value, use1904Windowing).toLocalDate().format(dateFormatter);
+            }
+            return String.valueOf((int) value);
+        }
+    }
+}
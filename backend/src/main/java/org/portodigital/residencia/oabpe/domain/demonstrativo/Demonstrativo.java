@@ -4,18 +4,29 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.portodigital.residencia.oabpe.domain.busca.CampoBusca;
+import org.portodigital.residencia.oabpe.domain.busca.Pesquisavel;
+import org.portodigital.residencia.oabpe.domain.busca.TextoBusca;
+import org.portodigital.residencia.oabpe.domain.busca.TrigramaBuscaListener;
 import org.portodigital.residencia.oabpe.domain.identidade.model.User;
 
 import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Map;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
-@Table(name = "Demonstrativos")
-public class Demonstrativo {
+@EntityListeners(TrigramaBuscaListener.class)
+@Table(name = "Demonstrativos", indexes = @Index(name = "ix_demonstrativos_nome_busca", columnList = "NomeBusca"))
+public class Demonstrativo implements Pesquisavel {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -24,10 +35,13 @@ public class Demonstrativo {
     @Column(nullable = false)
     private String nome;
 
+    @Column(name = "NomeBusca")
+    private String nomeBusca;
+
     @Column(name = "Status", nullable = false)
     private Boolean status = true;
 
-    @ManyToOne(optional = false)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "Id_usuario", referencedColumnName = "id")
     private User user;
 
@@ -40,4 +54,15 @@ public class Demonstrativo {
     @Temporal(TemporalType.TIMESTAMP)
     @UpdateTimestamp
     private LocalDateTime dataAlteracaoRegistro;
+
+    @PrePersist
+    @PreUpdate
+    void normalizarBusca() {
+        nomeBusca = TextoBusca.normalizar(nome);
+    }
+
+    @Override
+    public Map<CampoBusca, String> camposBusca() {
+        return Collections.singletonMap(CampoBusca.DEMONSTRATIVO_NOME, nomeBusca);
+    }
 }
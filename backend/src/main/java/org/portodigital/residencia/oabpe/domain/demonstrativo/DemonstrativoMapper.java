@@ -0,0 +1,23 @@
+package org.portodigital.residencia.oabpe.domain.demonstrativo;
+
+import org.portodigital.residencia.oabpe.domain.demonstrativo.dto.DemonstrativoRequestDTO;
+import org.portodigital.residencia.oabpe.domain.demonstrativo.dto.DemonstrativoResponseDTO;
+import org.springframework.stereotype.Component;
+
+@Component
+public class DemonstrativoMapper {
+
+    public DemonstrativoResponseDTO toResponse(Demonstrativo entity) {
+        return new DemonstrativoResponseDTO(entity.getId(), entity.getNome());
+    }
+
+    public Demonstrativo toEntity(DemonstrativoRequestDTO request) {
+        Demonstrativo entity = new Demonstrativo();
+        update(request, entity);
+        return entity;
+    }
+
+    public void update(DemonstrativoRequestDTO request, Demonstrativo entity) {
+        entity.setNome(request.getNome());
+    }
+}
@@ -1,10 +1,14 @@
 package org.portodigital.residencia.oabpe.domain.demonstrativo;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface DemonstrativoRepository extends JpaRepository<Demonstrativo, Long> {
@@ -12,9 +16,15 @@ public interface DemonstrativoRepository extends JpaRepository<Demonstrativo, Lo
     @Query("SELECT d FROM Demonstrativo d WHERE d.status = true")
     Page<Demonstrativo> findAllAtivos(Pageable pageable);
 
+    @Query("SELECT d FROM Demonstrativo d WHERE d.status = true")
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    List<Demonstrativo> findAllAtivos();
+
     @Query("SELECT d FROM Demonstrativo d WHERE d.status = true AND d.id = :id")
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     Optional<Demonstrativo> findByIdAtivo(Long id);
 
     @Query("SELECT d FROM Demonstrativo d WHERE d.status = true AND d.nome = :nome")
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     Optional<Demonstrativo> findByNomeAtivo(String nome);
 }
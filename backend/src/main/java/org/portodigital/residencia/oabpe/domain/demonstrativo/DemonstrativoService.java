@@ -1,10 +1,10 @@
 package org.portodigital.residencia.oabpe.domain.demonstrativo;
 
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.portodigital.residencia.oabpe.domain.demonstrativo.dto.DemonstrativoRequestDTO;
 import org.portodigital.residencia.oabpe.domain.demonstrativo.dto.DemonstrativoResponseDTO;
 import org.portodigital.residencia.oabpe.domain.identidade.model.User;
+import org.portodigital.residencia.oabpe.domain.identidade.service.UserReferenceCache;
 import org.portodigital.residencia.oabpe.exception.EntityNotFoundException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -18,16 +18,17 @@ import org.springframework.stereotype.Service;
 public class DemonstrativoService {
 
     private final DemonstrativoRepository demonstrativoRepository;
-    private final ModelMapper modelMapper;
+    private final DemonstrativoMapper mapper;
+    private final UserReferenceCache userReferenceCache;
 
     public Page<DemonstrativoResponseDTO> getAll(Pageable pageable) {
         return demonstrativoRepository.findAllAtivos(pageable)
-                .map(demonstrativo-> modelMapper.map(demonstrativo, DemonstrativoResponseDTO.class));
+                .map(mapper::toResponse);
     }
 
     public DemonstrativoResponseDTO getById(Long id) {
         return demonstrativoRepository.findByIdAtivo(id)
-                .map(balancete -> modelMapper.map(balancete, DemonstrativoResponseDTO.class))
+                .map(mapper::toResponse)
                 .orElseThrow(() -> new EntityNotFoundException("Demonstrativo não encontrado."));
     }
 
@@ -36,20 +37,20 @@ public class DemonstrativoService {
         if (authentication == null || authentication.getPrincipal() == null) {
             throw new SecurityException("Acesso não autorizado");
         }
-        User user = (User) authentication.getPrincipal();
-        Demonstrativo demonstrativo = modelMapper.map(request, Demonstrativo.class);
+        User user = userReferenceCache.of(authentication);
+        Demonstrativo demonstrativo = mapper.toEntity(request);
         demonstrativo.setUser(user);
         Demonstrativo savedDemonstrativo = demonstrativoRepository.save(demonstrativo);
-        return modelMapper.map(savedDemonstrativo, DemonstrativoResponseDTO.class);
+        return mapper.toResponse(savedDemonstrativo);
     }
 
     public DemonstrativoResponseDTO update(Long id, DemonstrativoRequestDTO request) {
         Demonstrativo existing = demonstrativoRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Demonstrativo não encontrado com id: " + id));
 
-        modelMapper.map(request, existing);
+        mapper.update(request, existing);
         Demonstrativo updated = demonstrativoRepository.save(existing);
-        return modelMapper.map(updated, DemonstrativoResponseDTO.class);
+        return mapper.toResponse(updated);
     }
 
     public void delete(Long id) {
@@ -8,10 +8,11 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.portodigital.residencia.oabpe.domain.identidade.dto.*;
-import org.portodigital.residencia.oabpe.domain.identidade.model.User;
+import org.portodigital.residencia.oabpe.domain.identidade.model.AuthenticatedUser;
 import org.portodigital.residencia.oabpe.domain.identidade.service.UserService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -44,13 +45,16 @@ public class AuthController {
     )
     @ApiResponses({
             @ApiResponse(responseCode = "201", description = "Login bem sucedido!"),
-            @ApiResponse(responseCode = "401", description = "Credenciais inválidas")
+            @ApiResponse(responseCode = "401", description = "Credenciais inválidas"),
+            @ApiResponse(responseCode = "429", description = "Muitas tentativas de login para o usuário ou IP")
     })
     @PostMapping("/login")
     public ResponseEntity<TokenResponseDTO> login(
-            @Valid @RequestBody LoginRequestDTO request
+            @Valid @RequestBody LoginRequestDTO request,
+            HttpServletRequest httpRequest
     ) {
-        TokenResponseDTO jwtToken = userService.login(request);
+        // IP do cliente já resolvido a partir do X-Forwarded-For de proxies confiáveis (server.forward-headers-strategy)
+        TokenResponseDTO jwtToken = userService.login(request, httpRequest.getRemoteAddr());
         return ResponseEntity.ok(jwtToken);
     }
 
@@ -105,8 +109,8 @@ public class AuthController {
     public ResponseEntity<Void> logout(
             @RequestBody RefreshTokenRequestDTO refreshTokenRequestDTO,
             @Parameter(hidden = true) Authentication authentication) {
-        User user = (User) authentication.getPrincipal();
-        userService.logout(refreshTokenRequestDTO.getRefreshToken(), user);
+        AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
+        userService.logout(refreshTokenRequestDTO.getRefreshToken(), user.id());
         return ResponseEntity.noContent().build();
     }
 
@@ -0,0 +1,8 @@
+package org.portodigital.residencia.oabpe.domain.identidade.model;
+
+import java.io.Serializable;
+
+// Principal das requisições autenticadas, montado a partir das claims do access token já verificado.
+// Quem precisa de um User para gravar auditoria obtém a referência pelo UserReferenceCache
+public record AuthenticatedUser(String id, String username, String name, long permissoesVersao) implements Serializable {
+}
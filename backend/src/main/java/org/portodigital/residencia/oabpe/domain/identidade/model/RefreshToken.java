@@ -0,0 +1,43 @@
+package org.portodigital.residencia.oabpe.domain.identidade.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+// Um refresh token emitido (um por login/dispositivo). Só o hash do id do token (jti) é guardado;
+// logout apaga a linha e a limpeza remove as expiradas
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "RefreshToken",
+        uniqueConstraints = @UniqueConstraint(name = "uk_refresh_token_hash", columnNames = "TokenHash"),
+        indexes = {
+                @Index(name = "ix_refresh_token_usuario", columnList = "Id_usuario"),
+                @Index(name = "ix_refresh_token_expira_em", columnList = "ExpiraEm")
+        })
+public class RefreshToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "TokenHash", nullable = false, length = 64)
+    private String tokenHash;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "Id_usuario", referencedColumnName = "id", nullable = false)
+    private User user;
+
+    @Column(name = "ExpiraEm", nullable = false)
+    private LocalDateTime expiraEm;
+
+    @Column(name = "DAT_CRIACAO_REGISTRO")
+    @Temporal(TemporalType.TIMESTAMP)
+    @CreationTimestamp
+    private LocalDateTime dataCriacaoRegistro;
+}
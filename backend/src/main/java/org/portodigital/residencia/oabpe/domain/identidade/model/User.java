@@ -7,6 +7,7 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -35,9 +36,6 @@ public class User {
     @Column(nullable = false)
     private String password;
 
-    @Column(length = 1000)
-    private String refreshToken;
-
     @Column(name = "DAT_CRIACAO_REGISTRO")
     @Temporal(TemporalType.TIMESTAMP)
     @CreationTimestamp
@@ -48,6 +46,12 @@ public class User {
     @UpdateTimestamp
     private LocalDateTime dataAlteracaoRegistro;
 
+    // incrementada a cada alteração de roles; vai no access token para que snapshots de permissões
+    // anteriores à alteração sejam descartados em qualquer instância
+    @Column(name = "permissoes_versao", nullable = false)
+    @ColumnDefault("0")
+    private long permissoesVersao;
+
     @ManyToMany
     @JoinTable(name = "user_roles",
             joinColumns = @JoinColumn(name = "user_id"),
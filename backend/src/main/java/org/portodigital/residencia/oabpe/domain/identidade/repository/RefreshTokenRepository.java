@@ -0,0 +1,23 @@
+package org.portodigital.residencia.oabpe.domain.identidade.repository;
+
+import org.portodigital.residencia.oabpe.domain.identidade.model.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    @Query("SELECT t FROM RefreshToken t JOIN FETCH t.user WHERE t.tokenHash = :tokenHash AND t.expiraEm > :agora")
+    Optional<RefreshToken> findAtivo(String tokenHash, LocalDateTime agora);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.tokenHash = :tokenHash AND t.user.id = :userId")
+    int deleteByTokenHash(String tokenHash, String userId);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.expiraEm <= :agora")
+    int deleteExpirados(LocalDateTime agora);
+}
@@ -0,0 +1,76 @@
+package org.portodigital.residencia.oabpe.domain.identidade.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.portodigital.residencia.oabpe.domain.commons.ContentHash;
+import org.portodigital.residencia.oabpe.domain.identidade.model.RefreshToken;
+import org.portodigital.residencia.oabpe.domain.identidade.model.User;
+import org.portodigital.residencia.oabpe.domain.identidade.repository.RefreshTokenRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+// Refresh tokens emitidos, pelo hash do jti. Validar é uma busca pelo índice único do hash (com o usuário
+// no mesmo SELECT); tokens revogados nesta instância são recusados antes mesmo dessa busca
+@Slf4j
+@Service
+public class RefreshTokenService {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final Cache<String, Boolean> revogados;
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                               @Value("${api.security.token.refresh-ttl:P7D}") Duration refreshTtl,
+                               @Value("${api.security.refresh-token.revoked-max-entries:10000}") long revogadosMaxEntries) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        // depois de refresh-ttl o próprio JWT já expirou e deixa de passar pela verificação
+        this.revogados = Caffeine.newBuilder()
+                .expireAfterWrite(refreshTtl)
+                .maximumSize(revogadosMaxEntries)
+                .build();
+    }
+
+    @Transactional
+    public void emitir(User user, String tokenId, LocalDateTime expiraEm) {
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setTokenHash(ContentHash.of(tokenId));
+        refreshToken.setUser(user);
+        refreshToken.setExpiraEm(expiraEm);
+        refreshTokenRepository.save(refreshToken);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<User> validar(String tokenId) {
+        String hash = ContentHash.of(tokenId);
+        if (revogados.getIfPresent(hash) != null) {
+            return Optional.empty();
+        }
+        return refreshTokenRepository.findAtivo(hash, LocalDateTime.now()).map(RefreshToken::getUser);
+    }
+
+    @Transactional
+    public boolean revogar(String tokenId, String userId) {
+        String hash = ContentHash.of(tokenId);
+        boolean removido = refreshTokenRepository.deleteByTokenHash(hash, userId) > 0;
+        if (removido) {
+            revogados.put(hash, Boolean.TRUE);
+        }
+        return removido;
+    }
+
+    // fora do caminho do login: o DELETE em lote não atrasa nem disputa locks com as emissões
+    @Scheduled(fixedDelayString = "${api.security.refresh-token.cleanup-interval:PT1H}")
+    @Transactional
+    public void removerExpirados() {
+        int removidos = refreshTokenRepository.deleteExpirados(LocalDateTime.now());
+        if (removidos > 0) {
+            log.info("{} refresh tokens expirados removidos", removidos);
+        }
+    }
+}
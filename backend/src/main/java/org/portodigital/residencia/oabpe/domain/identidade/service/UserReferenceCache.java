@@ -0,0 +1,52 @@
+package org.portodigital.residencia.oabpe.domain.identidade.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.portodigital.residencia.oabpe.domain.identidade.model.AuthenticatedUser;
+import org.portodigital.residencia.oabpe.domain.identidade.model.User;
+import org.portodigital.residencia.oabpe.domain.identidade.repository.UserRepository;
+import org.portodigital.residencia.oabpe.exception.EntityNotFoundException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+// Usuários usados como referência de auditoria (id_usuario) nas gravações. Só os ids já confirmados no banco
+// ficam em memória; cada chamada devolve uma referência nova (getReferenceById), que serve apenas como alvo
+// da chave estrangeira e não carrega o usuário nem as roles
+@Component
+public class UserReferenceCache {
+
+    private final UserRepository userRepository;
+    private final Cache<String, String> ids;
+
+    public UserReferenceCache(UserRepository userRepository,
+                              @Value("${api.security.user-cache.ttl:PT5M}") Duration ttl,
+                              @Value("${api.security.user-cache.max-entries:1000}") long maxEntries) {
+        this.userRepository = userRepository;
+        // expira pela data da confirmação, para que um usuário removido deixe de ser aceito mesmo em uso contínuo
+        this.ids = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxEntries)
+                .build();
+    }
+
+    public User of(Authentication authentication) {
+        return get(((AuthenticatedUser) authentication.getPrincipal()).id());
+    }
+
+    public User get(String id) {
+        String confirmado = ids.get(id, chave -> {
+            if (!userRepository.existsById(chave)) {
+                throw new EntityNotFoundException("Usuário não encontrado");
+            }
+            return chave;
+        });
+        return userRepository.getReferenceById(confirmado);
+    }
+
+    public void invalidar(String id) {
+        ids.invalidate(id);
+    }
+}
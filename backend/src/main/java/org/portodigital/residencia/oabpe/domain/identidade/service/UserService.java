@@ -1,20 +1,23 @@
 package org.portodigital.residencia.oabpe.domain.identidade.service;
 
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.portodigital.residencia.oabpe.domain.identidade.dto.*;
 import org.portodigital.residencia.oabpe.domain.identidade.model.Role;
 import org.portodigital.residencia.oabpe.domain.identidade.model.User;
 import org.portodigital.residencia.oabpe.domain.identidade.repository.RoleRepository;
 import org.portodigital.residencia.oabpe.domain.identidade.repository.UserRepository;
 import org.portodigital.residencia.oabpe.exception.EntityNotFoundException;
+import org.portodigital.residencia.oabpe.infra.security.LoginThrottle;
+import org.portodigital.residencia.oabpe.infra.security.PasswordVerifier;
+import org.portodigital.residencia.oabpe.infra.security.PermissionSnapshotCache;
 import org.portodigital.residencia.oabpe.infra.security.TokenService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.List;
 import java.util.Map;
@@ -25,16 +28,17 @@ import java.util.stream.Collectors;
 public class UserService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordVerifier passwordVerifier;
+    private final LoginThrottle loginThrottle;
     private final TokenService tokenService;
     private final RoleRepository roleRepository;
-    private final ModelMapper modelMapper;
+    private final PermissionSnapshotCache permissionSnapshotCache;
 
     public UserResponseDTO registerUser(RegisterRequestDTO registerRequestDTO) {
         User newUser = new User();
         newUser.setName(registerRequestDTO.getName());
         newUser.setUsername(registerRequestDTO.getUsername());
-        newUser.setPassword(passwordEncoder.encode(registerRequestDTO.getPassword()));
+        newUser.setPassword(passwordVerifier.encode(registerRequestDTO.getPassword()));
 
         User savedUser = userRepository.save(newUser);
 
@@ -44,15 +48,22 @@ public class UserService {
                 .build();
     }
 
-    @Transactional
-    public TokenResponseDTO login(LoginRequestDTO loginRequestDTO) {
-        User user = userRepository.findByUsername(loginRequestDTO.getUsername())
-                .orElseThrow(() -> new BadCredentialsException("Email ou senha incorretos"));
+    // sem @Transactional: throttle, busca do usuário e BCrypt (que pode esperar na fila do pool) não seguram
+    // conexão; só a regravação do hash e a emissão do refresh token abrem transação, cada uma na sua
+    public TokenResponseDTO login(LoginRequestDTO loginRequestDTO, String ip) {
+        loginThrottle.verificar(loginRequestDTO.getUsername(), ip);
 
-        if (!passwordEncoder.matches(loginRequestDTO.getPassword(), user.getPassword())) {
+        User user = userRepository.findByUsername(loginRequestDTO.getUsername()).orElse(null);
+        if (!passwordVerifier.matches(loginRequestDTO.getPassword(), user != null ? user.getPassword() : null)) {
             throw new BadCredentialsException("Email ou senha incorretos");
         }
 
+        // custo do BCrypt aumentado na configuração: a senha é refeita agora, sem exigir troca do usuário
+        if (passwordVerifier.upgradeEncoding(user.getPassword())) {
+            user.setPassword(passwordVerifier.encode(loginRequestDTO.getPassword()));
+            userRepository.save(user);
+        }
+
         String accessToken = tokenService.generateAccessToken(user);
         String refreshToken = tokenService.generateRefreshToken(user);
 
@@ -66,10 +77,10 @@ public class UserService {
         return TokenResponseDTO.builder().accessToken(newAccessToken).build();
     }
 
-    public void logout(String refreshToken, User user) {
-        validateRefreshToken(refreshToken, user);
-        user.setRefreshToken(null);
-        userRepository.save(user);
+    public void logout(String refreshToken, String userId) {
+        if (!tokenService.revokeRefreshToken(refreshToken, userId)) {
+            throw new BadCredentialsException("Invalid refresh token");
+        }
     }
 
     @Transactional
@@ -84,18 +95,24 @@ public class UserService {
         }
 
         user.getRoles().addAll(roles);
+        user.setPermissoesVersao(user.getPermissoesVersao() + 1);
         userRepository.save(user);
-    }
 
-    public void validateRefreshToken(String refreshToken, User user) {
-        if (user.getRefreshToken() == null || !user.getRefreshToken().equals(refreshToken)) {
-            throw new BadCredentialsException("Invalid refresh token");
-        }
+        // só depois do commit: antes dele, uma checagem concorrente recarregaria as roles antigas no cache
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                permissionSnapshotCache.invalidar(userId);
+            }
+        });
     }
 
     public Page<UserResponseDTO> getAllUsers(Pageable pageable) {
         return userRepository.findAll(pageable)
-                .map(user -> modelMapper.map(user, UserResponseDTO.class));
+                .map(user -> UserResponseDTO.builder()
+                        .id(user.getId())
+                        .name(user.getName())
+                        .build());
     }
 
     public UserDetailsResponseDTO getUserDetailsById(String id) {
@@ -0,0 +1,40 @@
+package org.portodigital.residencia.oabpe.domain.import_job;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+import org.portodigital.residencia.oabpe.domain.identidade.model.User;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "ArquivoImportado")
+public class ArquivoImportado {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "Modulo", length = 50, nullable = false)
+    private String modulo;
+
+    @Column(name = "HashArquivo", length = 64, nullable = false)
+    private String hashArquivo;
+
+    @Column(name = "NomeArquivo", length = 255)
+    private String nomeArquivo;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "Id_usuario", referencedColumnName = "id")
+    private User user;
+
+    @Column(name = "DAT_CRIACAO_REGISTRO")
+    @Temporal(TemporalType.TIMESTAMP)
+    @CreationTimestamp
+    private LocalDateTime dataCriacaoRegistro;
+}
@@ -0,0 +1,7 @@
+package org.portodigital.residencia.oabpe.domain.import_job;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ArquivoImportadoRepository extends JpaRepository<ArquivoImportado, Long> {
+    boolean existsByModuloAndHashArquivo(String modulo, String hashArquivo);
+}
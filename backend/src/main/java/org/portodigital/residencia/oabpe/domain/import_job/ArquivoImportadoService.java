@@ -0,0 +1,27 @@
+package org.portodigital.residencia.oabpe.domain.import_job;
+
+import lombok.RequiredArgsConstructor;
+import org.portodigital.residencia.oabpe.domain.identidade.model.User;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+// Registro dos arquivos já sincronizados por módulo, identificados pelo hash do conteúdo
+@Service
+@RequiredArgsConstructor
+public class ArquivoImportadoService {
+
+    private final ArquivoImportadoRepository arquivoImportadoRepository;
+
+    public boolean jaImportado(String modulo, String hashArquivo) {
+        return arquivoImportadoRepository.existsByModuloAndHashArquivo(modulo, hashArquivo);
+    }
+
+    public void registrar(String modulo, String hashArquivo, MultipartFile file, User user) {
+        ArquivoImportado arquivo = new ArquivoImportado();
+        arquivo.setModulo(modulo);
+        arquivo.setHashArquivo(hashArquivo);
+        arquivo.setNomeArquivo(file.getOriginalFilename());
+        arquivo.setUser(user);
+        arquivoImportadoRepository.save(arquivo);
+    }
+}
@@ -0,0 +1,43 @@
+package org.portodigital.residencia.oabpe.domain.import_job;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.portodigital.residencia.oabpe.domain.commons.ImportProgress;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Getter
+@Setter
+public class ImportJob {
+
+    private final String id = UUID.randomUUID().toString();
+    private final String modulo;
+    private final String arquivo;
+    private final String usuarioId;
+    private final ImportProgress progress = new ImportProgress();
+    private final LocalDateTime criadoEm = LocalDateTime.now();
+
+    private volatile ImportJobStatus status = ImportJobStatus.PENDENTE;
+    private volatile LocalDateTime iniciadoEm;
+    private volatile LocalDateTime finalizadoEm;
+    private volatile String mensagemErro;
+
+    public ImportJob(String modulo, String arquivo, String usuarioId) {
+        this.modulo = modulo;
+        this.arquivo = arquivo;
+        this.usuarioId = usuarioId;
+    }
+
+    public boolean isFinalizado() {
+        return status == ImportJobStatus.CONCLUIDO || status == ImportJobStatus.FALHOU;
+    }
+
+    public double getLinhasPorSegundo() {
+        if (iniciadoEm == null) return 0;
+        LocalDateTime fim = finalizadoEm != null ? finalizadoEm : LocalDateTime.now();
+        long millis = Math.max(Duration.between(iniciadoEm, fim).toMillis(), 1);
+        return progress.getLinhasProcessadas() * 1000.0 / millis;
+    }
+}
@@ -0,0 +1,80 @@
+package org.portodigital.residencia.oabpe.domain.import_job;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.portodigital.residencia.oabpe.domain.commons.ImportErrorReport;
+import org.portodigital.residencia.oabpe.domain.identidade.model.AuthenticatedUser;
+import org.portodigital.residencia.oabpe.domain.import_job.dto.ImportJobResponseDTO;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping("/v1/import-jobs")
+@RequiredArgsConstructor
+@Tag(name = "Importações", description = "Acompanha o processamento assíncrono dos arquivos enviados")
+public class ImportJobController {
+
+    private final ImportJobService importJobService;
+
+    @Operation(
+            summary = "Consultar importação",
+            description = "Retorna o status, as linhas processadas, as linhas com erro e a vazão de uma importação"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Importação encontrada"),
+            @ApiResponse(responseCode = "404", description = "Importação não encontrada")
+    })
+    @GetMapping("/{id}")
+    public ResponseEntity<ImportJobResponseDTO> getById(
+            @Parameter(description = "ID da importação")
+            @PathVariable String id,
+            @Parameter(hidden = true) Authentication authentication) {
+        AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
+        return ResponseEntity.ok(importJobService.getById(id, user.id()));
+    }
+
+    @Operation(
+            summary = "Baixar relatório de erros",
+            description = "Baixa as linhas rejeitadas da importação com as colunas originais, a linha, a coluna e a mensagem do erro. " +
+                    "Depois de corrigido, o arquivo pode ser reenviado no mesmo módulo"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Relatório gerado"),
+            @ApiResponse(responseCode = "400", description = "Importação ainda em processamento ou formato inválido"),
+            @ApiResponse(responseCode = "404", description = "Importação não encontrada")
+    })
+    @GetMapping("/{id}/erros")
+    public ResponseEntity<StreamingResponseBody> downloadErrorReport(
+            @Parameter(description = "ID da importação")
+            @PathVariable String id,
+            @Parameter(description = "Formato do relatório: csv ou xlsx")
+            @RequestParam(defaultValue = "csv") String formato,
+            @Parameter(hidden = true) Authentication authentication) {
+        AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
+        ImportErrorReport report = importJobService.getErrorReport(id, user.id());
+
+        return switch (formato.toLowerCase()) {
+            case "csv" -> ResponseEntity.ok()
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"erros-" + id + ".csv\"")
+                    .contentType(new MediaType("text", "csv"))
+                    .body(report::writeCsv);
+            case "xlsx" -> ResponseEntity.ok()
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"erros-" + id + ".xlsx\"")
+                    .contentType(MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"))
+                    .body(report::writeXlsx);
+            default -> throw new IllegalArgumentException("Formato não suportado: " + formato);
+        };
+    }
+}
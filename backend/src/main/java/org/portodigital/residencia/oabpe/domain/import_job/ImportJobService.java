@@ -0,0 +1,152 @@
+package org.portodigital.residencia.oabpe.domain.import_job;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.portodigital.residencia.oabpe.domain.commons.ImportErrorReport;
+import org.portodigital.residencia.oabpe.domain.commons.ImportProgress;
+import org.portodigital.residencia.oabpe.domain.commons.StoredMultipartFile;
+import org.portodigital.residencia.oabpe.domain.identidade.model.User;
+import org.portodigital.residencia.oabpe.domain.import_job.dto.ImportErroDTO;
+import org.portodigital.residencia.oabpe.domain.import_job.dto.ImportJobResponseDTO;
+import org.portodigital.residencia.oabpe.domain.import_job.dto.ImportValidationResponseDTO;
+import org.portodigital.residencia.oabpe.exception.EntityNotFoundException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ImportJobService {
+
+    private final ThreadPoolTaskExecutor importJobExecutor;
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+
+    @Value("${import.jobs.retention:PT1H}")
+    private Duration retention;
+
+    @Value("${import.validation.max-errors:100}")
+    private int maxErros;
+
+    public ImportJobResponseDTO submit(String modulo, MultipartFile file, User user, ImportJobTask task) throws IOException {
+        removeExpiredJobs();
+
+        StoredMultipartFile storedFile = StoredMultipartFile.copyOf(file);
+        ImportJob job = new ImportJob(modulo, file.getOriginalFilename(), user.getId());
+        jobs.put(job.getId(), job);
+
+        try {
+            importJobExecutor.execute(() -> run(job, storedFile, user, task));
+        } catch (TaskRejectedException e) {
+            jobs.remove(job.getId());
+            storedFile.delete();
+            throw e;
+        }
+        return toResponse(job);
+    }
+
+    // Validação síncrona: a tarefa percorre o arquivo inteiro sem gravar e só os primeiros erros são devolvidos
+    public ImportValidationResponseDTO validar(MultipartFile file, User user, ImportJobTask task) throws IOException {
+        ImportProgress progress = new ImportProgress();
+        try {
+            task.run(file, user, progress);
+
+            long processadas = progress.getLinhasProcessadas();
+            long comErro = progress.getLinhasComErro();
+            return ImportValidationResponseDTO.builder()
+                    .arquivo(file.getOriginalFilename())
+                    .valido(comErro == 0)
+                    .linhasProcessadas(processadas)
+                    .linhasValidas(processadas - comErro)
+                    .linhasComErro(comErro)
+                    .erros(progress.getErros().primeiros(maxErros).stream()
+                            .map(erro -> new ImportErroDTO(erro.linha(), erro.coluna(), erro.mensagem()))
+                            .toList())
+                    .build();
+        } finally {
+            progress.getErros().descartar();
+        }
+    }
+
+    public ImportJobResponseDTO getById(String id, String usuarioId) {
+        return toResponse(findJob(id, usuarioId));
+    }
+
+    public ImportErrorReport getErrorReport(String id, String usuarioId) {
+        ImportJob job = findJob(id, usuarioId);
+        if (!job.isFinalizado()) {
+            throw new IllegalArgumentException("A importação ainda está em processamento");
+        }
+        return job.getProgress().getErros();
+    }
+
+    private ImportJob findJob(String id, String usuarioId) {
+        removeExpiredJobs();
+
+        ImportJob job = jobs.get(id);
+        if (job == null || !job.getUsuarioId().equals(usuarioId)) {
+            throw new EntityNotFoundException("Importação não encontrada com id: " + id);
+        }
+        return job;
+    }
+
+    private void run(ImportJob job, StoredMultipartFile file, User user, ImportJobTask task) {
+        job.setIniciadoEm(LocalDateTime.now());
+        job.setStatus(ImportJobStatus.EM_PROCESSAMENTO);
+        try {
+            task.run(file, user, job.getProgress());
+            job.setStatus(ImportJobStatus.CONCLUIDO);
+        } catch (Exception e) {
+            log.error("Erro na importação {} ({}): {}", job.getId(), job.getModulo(), e.getMessage(), e);
+            job.setMensagemErro(e.getMessage());
+            job.setStatus(ImportJobStatus.FALHOU);
+        } finally {
+            job.setFinalizadoEm(LocalDateTime.now());
+            try {
+                file.delete();
+            } catch (IOException e) {
+                log.warn("Não foi possível remover o arquivo temporário {}", file.getPath());
+            }
+        }
+    }
+
+    // roda também sem submissões nem consultas, para que relatórios de erro gravados em disco não fiquem
+    // além da retenção
+    @Scheduled(fixedDelayString = "${import.jobs.cleanup-interval:PT5M}")
+    public void removeExpiredJobs() {
+        LocalDateTime limite = LocalDateTime.now().minus(retention);
+        jobs.values().removeIf(job -> {
+            boolean expirado = job.isFinalizado() && job.getFinalizadoEm().isBefore(limite);
+            if (expirado) {
+                job.getProgress().getErros().descartar();
+            }
+            return expirado;
+        });
+    }
+
+    private ImportJobResponseDTO toResponse(ImportJob job) {
+        return ImportJobResponseDTO.builder()
+                .id(job.getId())
+                .modulo(job.getModulo())
+                .arquivo(job.getArquivo())
+                .status(job.getStatus())
+                .linhasProcessadas(job.getProgress().getLinhasProcessadas())
+                .linhasComErro(job.getProgress().getLinhasComErro())
+                .linhasPorSegundo(job.getLinhasPorSegundo())
+                .criadoEm(job.getCriadoEm())
+                .iniciadoEm(job.getIniciadoEm())
+                .finalizadoEm(job.getFinalizadoEm())
+                .mensagemErro(job.getMensagemErro())
+                .relatorioErros(job.getProgress().getLinhasComErro() > 0 ? "/v1/import-jobs/" + job.getId() + "/erros" : null)
+                .build();
+    }
+}
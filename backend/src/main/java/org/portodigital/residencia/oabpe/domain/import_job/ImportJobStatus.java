@@ -0,0 +1,8 @@
+package org.portodigital.residencia.oabpe.domain.import_job;
+
+public enum ImportJobStatus {
+    PENDENTE,
+    EM_PROCESSAMENTO,
+    CONCLUIDO,
+    FALHOU
+}
@@ -0,0 +1,12 @@
+package org.portodigital.residencia.oabpe.domain.import_job;
+
+import org.portodigital.residencia.oabpe.domain.commons.ImportProgress;
+import org.portodigital.residencia.oabpe.domain.identidade.model.User;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+
+@FunctionalInterface
+public interface ImportJobTask {
+    void run(MultipartFile file, User user, ImportProgress progress) throws IOException;
+}
@@ -0,0 +1,17 @@
+package org.portodigital.residencia.oabpe.domain.import_job.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImportErroDTO {
+
+    private long linha;
+    private String coluna;
+    private String mensagem;
+}
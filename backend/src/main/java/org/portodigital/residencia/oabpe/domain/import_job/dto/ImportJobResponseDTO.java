@@ -0,0 +1,33 @@
+package org.portodigital.residencia.oabpe.domain.import_job.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.portodigital.residencia.oabpe.domain.import_job.ImportJobStatus;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImportJobResponseDTO {
+
+    private String id;
+    private String modulo;
+    private String arquivo;
+    private ImportJobStatus status;
+    private long linhasProcessadas;
+    private long linhasComErro;
+    private double linhasPorSegundo;
+    @JsonFormat(pattern = "dd/MM/yyyy HH:mm:ss")
+    private LocalDateTime criadoEm;
+    @JsonFormat(pattern = "dd/MM/yyyy HH:mm:ss")
+    private LocalDateTime iniciadoEm;
+    @JsonFormat(pattern = "dd/MM/yyyy HH:mm:ss")
+    private LocalDateTime finalizadoEm;
+    private String mensagemErro;
+    private String relatorioErros;
+}
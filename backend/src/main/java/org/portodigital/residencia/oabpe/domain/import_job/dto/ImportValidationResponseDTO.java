@@ -0,0 +1,22 @@
+package org.portodigital.residencia.oabpe.domain.import_job.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImportValidationResponseDTO {
+
+    private String arquivo;
+    private boolean valido;
+    private long linhasProcessadas;
+    private long linhasValidas;
+    private long linhasComErro;
+    private List<ImportErroDTO> erros;
+}
@@ -3,6 +3,7 @@ package org.portodigital.residencia.oabpe.domain.instituicao;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -12,6 +13,10 @@ import org.portodigital.residencia.oabpe.domain.balancete_cfoab.dto.BalanceteCFO
 import org.portodigital.residencia.oabpe.domain.demonstrativo.dto.DemonstrativoRequestDTO;
 import org.portodigital.residencia.oabpe.domain.demonstrativo.dto.DemonstrativoResponseDTO;
 import org.portodigital.residencia.oabpe.domain.identidade.model.User;
+import org.portodigital.residencia.oabpe.domain.identidade.service.UserReferenceCache;
+import org.portodigital.residencia.oabpe.domain.import_job.ImportJobService;
+import org.portodigital.residencia.oabpe.domain.import_job.dto.ImportJobResponseDTO;
+import org.portodigital.residencia.oabpe.domain.import_job.dto.ImportValidationResponseDTO;
 import org.portodigital.residencia.oabpe.domain.instituicao.dto.InstituicaoRequestDTO;
 import org.portodigital.residencia.oabpe.domain.instituicao.dto.InstituicaoResponseDTO;
 import org.springframework.data.domain.Page;
@@ -34,6 +39,8 @@ import java.util.List;
 public class InstituicaoController {
 
     private final InstituicaoService instituicaoService;
+    private final ImportJobService importJobService;
+    private final UserReferenceCache userReferenceCache;
 
     @Operation(
             summary = "Listar Instituições",
@@ -134,19 +141,48 @@ public class InstituicaoController {
             )
     )
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "201", description = "Arquivo importado com sucesso"),
+            @ApiResponse(responseCode = "202", description = "Arquivo recebido e importação enfileirada",
+                    content = @Content(schema = @Schema(implementation = ImportJobResponseDTO.class))),
             @ApiResponse(responseCode = "400", description = "Requisição inválida", content = @Content),
             @ApiResponse(responseCode = "500", description = "Erro interno no servidor", content = @Content)
     })
     @PostMapping(value = "/upload", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     @PreAuthorize("hasPermission('modulo_instituicao', 'ESCRITA')")
-    public ResponseEntity<Void> uploadFile(
+    public ResponseEntity<ImportJobResponseDTO> uploadFile(
             @RequestParam("file") MultipartFile file,
             @Parameter(hidden = true) Authentication authentication
     ) throws IOException {
-        User user = (User) authentication.getPrincipal();
-        instituicaoService.importarArquivo(file, user);
-        return ResponseEntity.status(HttpStatus.CREATED).build();
+        User user = userReferenceCache.of(authentication);
+        return ResponseEntity.accepted()
+                .body(importJobService.submit("instituicao", file, user, instituicaoService::importarArquivo));
+    }
+
+    @Operation(
+            summary = "Valida um arquivo sem importar",
+            description = "Executa a checagem de cabeçalho, o parse, a validação e a resolução das referências sem gravar nada. " +
+                    "Retorna a contagem de linhas e os primeiros erros encontrados",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Arquivo a ser validado",
+                    required = true,
+                    content = @Content(
+                            mediaType = MediaType.MULTIPART_FORM_DATA_VALUE
+                    )
+            )
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Arquivo validado",
+                    content = @Content(schema = @Schema(implementation = ImportValidationResponseDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Cabeçalho ausente ou formato não suportado", content = @Content),
+            @ApiResponse(responseCode = "500", description = "Erro interno no servidor", content = @Content)
+    })
+    @PostMapping(value = "/upload/validate", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("hasPermission('modulo_instituicao', 'ESCRITA')")
+    public ResponseEntity<ImportValidationResponseDTO> validateFile(
+            @RequestParam("file") MultipartFile file,
+            @Parameter(hidden = true) Authentication authentication
+    ) throws IOException {
+        User user = userReferenceCache.of(authentication);
+        return ResponseEntity.ok(importJobService.validar(file, user, instituicaoService::validarArquivo));
     }
 
 }
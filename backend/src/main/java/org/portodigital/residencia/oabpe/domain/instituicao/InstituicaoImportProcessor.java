@@ -4,15 +4,17 @@ import jakarta.validation.ConstraintViolation;
 
 import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.portodigital.residencia.oabpe.domain.commons.DimensionCache;
 import org.portodigital.residencia.oabpe.domain.commons.ImportProcessor;
+import org.portodigital.residencia.oabpe.domain.commons.ImportRow;
 import org.portodigital.residencia.oabpe.domain.identidade.model.User;
 import org.portodigital.residencia.oabpe.domain.instituicao.dto.InstituicaoRequestDTO;
 import org.portodigital.residencia.oabpe.domain.prestacao_contas_subseccional.subseccional.Subseccional;
 import org.portodigital.residencia.oabpe.domain.prestacao_contas_subseccional.subseccional.dto.SubseccionalRequest;
 import org.springframework.stereotype.Component;
 
-import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
 
 @Component
 @RequiredArgsConstructor
@@ -26,10 +28,14 @@ public class InstituicaoImportProcessor implements ImportProcessor<InstituicaoRe
     }
 
     @Override
-    public InstituicaoRequestDTO parse(Map<String, String> rowData) {
-        InstituicaoRequestDTO dto = new InstituicaoRequestDTO();
-        dto.setNome(rowData.get("Instituicao"));
-        return dto;
+    public Function<ImportRow, InstituicaoRequestDTO> parser(ImportRow header) {
+        ImportRow.Column nome = header.column("Instituicao");
+
+        return row -> {
+            InstituicaoRequestDTO dto = new InstituicaoRequestDTO();
+            dto.setNome(row.get(nome));
+            return dto;
+        };
     }
 
     @Override
@@ -45,7 +51,7 @@ public class InstituicaoImportProcessor implements ImportProcessor<InstituicaoRe
     }
 
     @Override
-    public Object convertToEntity(InstituicaoRequestDTO dto, User user) {
+    public Object convertToEntity(InstituicaoRequestDTO dto, User user, DimensionCache dimensions) {
         Instituicao entity = new Instituicao();
         entity.setNome(dto.getNome());
         entity.setUser(user);
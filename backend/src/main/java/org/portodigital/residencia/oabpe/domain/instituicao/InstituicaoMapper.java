@@ -0,0 +1,23 @@
+package org.portodigital.residencia.oabpe.domain.instituicao;
+
+import org.portodigital.residencia.oabpe.domain.instituicao.dto.InstituicaoRequestDTO;
+import org.portodigital.residencia.oabpe.domain.instituicao.dto.InstituicaoResponseDTO;
+import org.springframework.stereotype.Component;
+
+@Component
+public class InstituicaoMapper {
+
+    public InstituicaoResponseDTO toResponse(Instituicao entity) {
+        return new InstituicaoResponseDTO(entity.getId(), entity.getNome());
+    }
+
+    public Instituicao toEntity(InstituicaoRequestDTO request) {
+        Instituicao entity = new Instituicao();
+        update(request, entity);
+        return entity;
+    }
+
+    public void update(InstituicaoRequestDTO request, Instituicao entity) {
+        entity.setNome(request.getNome());
+    }
+}
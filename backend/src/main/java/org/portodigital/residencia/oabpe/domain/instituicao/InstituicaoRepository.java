@@ -1,20 +1,30 @@
 package org.portodigital.residencia.oabpe.domain.instituicao;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.portodigital.residencia.oabpe.domain.demonstrativo.Demonstrativo;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface InstituicaoRepository  extends JpaRepository<Instituicao,Long> {
     @Query("SELECT i FROM Instituicao i WHERE i.status = true")
     Page<Instituicao> findAllAtivos(Pageable pageable);
 
+    @Query("SELECT i FROM Instituicao i WHERE i.status = true")
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    List<Instituicao> findAllAtivos();
+
     @Query("SELECT i FROM Instituicao i WHERE i.status = true AND i.id = :id")
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     Optional<Instituicao> findByIdAtivo(Long id);
 
     @Query("SELECT i FROM Instituicao i WHERE i.status = true AND i.nome = :nome")
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     Optional<Instituicao> findByNomeAtivo(String nome);
 }
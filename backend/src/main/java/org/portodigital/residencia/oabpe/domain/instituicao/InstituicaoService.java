@@ -1,9 +1,10 @@
 package org.portodigital.residencia.oabpe.domain.instituicao;
 
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.portodigital.residencia.oabpe.domain.commons.AbstractFileImportService;
+import org.portodigital.residencia.oabpe.domain.commons.ImportProgress;
 import org.portodigital.residencia.oabpe.domain.identidade.model.User;
+import org.portodigital.residencia.oabpe.domain.identidade.service.UserReferenceCache;
 import org.portodigital.residencia.oabpe.domain.instituicao.dto.InstituicaoRequestDTO;
 import org.portodigital.residencia.oabpe.domain.instituicao.dto.InstituicaoResponseDTO;
 import org.portodigital.residencia.oabpe.domain.prestacao_contas_subseccional.tipo_desconto.TipoDesconto;
@@ -25,17 +26,18 @@ import java.util.List;
 public class InstituicaoService extends AbstractFileImportService<InstituicaoRequestDTO> {
 
     private final InstituicaoRepository instituicaoRepository;
-    private final ModelMapper modelMapper;
+    private final InstituicaoMapper mapper;
     private final InstituicaoImportProcessor processor;
+    private final UserReferenceCache userReferenceCache;
 
     public Page<InstituicaoResponseDTO> getAll(Pageable pageable) {
         return instituicaoRepository.findAllAtivos(pageable)
-                .map(instituicao -> modelMapper.map(instituicao, InstituicaoResponseDTO.class));
+                .map(mapper::toResponse);
     }
 
     public InstituicaoResponseDTO getById(Long id) {
         return instituicaoRepository.findByIdAtivo(id)
-                .map(pagamentoDeCotas -> modelMapper.map(pagamentoDeCotas, InstituicaoResponseDTO.class))
+                .map(mapper::toResponse)
                 .orElseThrow(() -> new EntityNotFoundException("Instituição não encontrado."));
     }
 
@@ -44,20 +46,20 @@ public class InstituicaoService extends AbstractFileImportService<InstituicaoReq
         if (authentication == null || authentication.getPrincipal() == null) {
             throw new SecurityException("Acesso não autorizado");
         }
-        User user = (User) authentication.getPrincipal();
-        Instituicao instituicao = modelMapper.map(request, Instituicao.class);
+        User user = userReferenceCache.of(authentication);
+        Instituicao instituicao = mapper.toEntity(request);
         instituicao.setUser(user);
         Instituicao savedInstituicao = instituicaoRepository.save(instituicao);
-        return modelMapper.map(savedInstituicao, InstituicaoResponseDTO.class);
+        return mapper.toResponse(savedInstituicao);
     }
 
     public InstituicaoResponseDTO update(Long id, InstituicaoRequestDTO request) {
         Instituicao existing = instituicaoRepository.findByIdAtivo(id)
                 .orElseThrow(() -> new EntityNotFoundException("Instituição com id  " + id + " não encontrada"));
 
-        modelMapper.map(request, existing);
+        mapper.update(request, existing);
         Instituicao updated = instituicaoRepository.save(existing);
-        return modelMapper.map(updated, InstituicaoResponseDTO.class);
+        return mapper.toResponse(updated);
     }
 
     public void delete(Long id) {
@@ -68,8 +70,12 @@ public class InstituicaoService extends AbstractFileImportService<InstituicaoReq
     }
 
     @Transactional
-    public void importarArquivo(MultipartFile file, User user) throws IOException {
-        List<Object> entidades = importFile(file, user, processor);
-        instituicaoRepository.saveAll(entidades.stream().map(e -> modelMapper.map(e, Instituicao.class)).toList());
+    public void importarArquivo(MultipartFile file, User user, ImportProgress progress) throws IOException {
+        List<Object> entidades = importFile(file, user, processor, progress);
+        instituicaoRepository.saveAll(entidades.stream().map(e -> (Instituicao) e).toList());
+    }
+
+    public void validarArquivo(MultipartFile file, User user, ImportProgress progress) throws IOException {
+        validateFile(file, user, processor, progress);
     }
 }
@@ -26,7 +26,7 @@ public class    PagamentoCotas {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @ManyToOne(optional = false)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "Id_Instit", referencedColumnName = "id", nullable = false)
     private Instituicao instituicao;
 
@@ -45,7 +45,7 @@ public class    PagamentoCotas {
     @Column(name = "ValorDesconto", precision = 19, scale = 2)
     private BigDecimal valorDesconto;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "Id_TpDesc",  nullable = false)
     private TipoDesconto tipoDesconto;
 
@@ -61,6 +61,10 @@ public class    PagamentoCotas {
     @Column(name = "Status", nullable = false)
     private Boolean status = true;
 
+    // hash dos campos importados, usado para pular linhas inalteradas na sincronização
+    @Column(name = "HashLinha", length = 64)
+    private String hashLinha;
+
     @Column(name = "DAT_CRIACAO_REGISTRO")
     @Temporal(TemporalType.TIMESTAMP)
     @CreationTimestamp
@@ -71,7 +75,7 @@ public class    PagamentoCotas {
     @UpdateTimestamp
     private LocalDateTime dataAlteracaoRegistro;
 
-    @ManyToOne(optional = false)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "Id_usuario", referencedColumnName = "id")
     private User user;
 }
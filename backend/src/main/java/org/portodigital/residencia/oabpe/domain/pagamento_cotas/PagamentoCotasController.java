@@ -8,19 +8,30 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.portodigital.residencia.oabpe.domain.commons.Contagem;
 import org.portodigital.residencia.oabpe.domain.identidade.model.User;
+import org.portodigital.residencia.oabpe.domain.identidade.service.UserReferenceCache;
+import org.portodigital.residencia.oabpe.domain.import_job.ImportJobService;
+import org.portodigital.residencia.oabpe.domain.import_job.ImportJobTask;
+import org.portodigital.residencia.oabpe.domain.import_job.dto.ImportJobResponseDTO;
+import org.portodigital.residencia.oabpe.domain.import_job.dto.ImportValidationResponseDTO;
 import org.portodigital.residencia.oabpe.domain.pagamento_cotas.dto.PagamentoCotasFilteredRequest;
 import org.portodigital.residencia.oabpe.domain.pagamento_cotas.dto.PagamentoCotasRequestDTO;
 import org.portodigital.residencia.oabpe.domain.pagamento_cotas.dto.PagamentoCotasResponseDTO;
-import org.springframework.data.domain.Page;
+import org.portodigital.residencia.oabpe.domain.commons.ExportFormat;
+import org.portodigital.residencia.oabpe.domain.commons.CursorPage;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
 
@@ -31,6 +42,8 @@ import java.io.IOException;
 public class PagamentoCotasController {
 
     private final PagamentoCotasService pagamentoCotasService;
+    private final ImportJobService importJobService;
+    private final UserReferenceCache userReferenceCache;
 
     @Operation(
             summary = "Listar Pagamentos de Cotas",
@@ -38,14 +51,63 @@ public class PagamentoCotasController {
     )
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Lista recuperada com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Contagem não suportada"),
             @ApiResponse(responseCode = "403", description = "Acesso não autorizado")
     })
     @GetMapping
     @PreAuthorize("hasPermission('modulo_pagamento_cotas', 'LEITURA')")
-    public ResponseEntity<Page<PagamentoCotasResponseDTO>> getAllFiltered(
+    public ResponseEntity<Slice<PagamentoCotasResponseDTO>> getAllFiltered(
             PagamentoCotasFilteredRequest filter,
-            Pageable pageable) {
-        return ResponseEntity.ok(pagamentoCotasService.getAllFiltered(filter, pageable));
+            Pageable pageable,
+            @Parameter(description = "Total de registros: exata (COUNT a cada página), estimada (COUNT reaproveitado " +
+                    "por alguns instantes para o mesmo filtro) ou nenhuma (sem total, informa apenas se existe próxima página)")
+            @RequestParam(defaultValue = "exata") String contagem) {
+        return ResponseEntity.ok(pagamentoCotasService.getAllFiltered(filter, pageable, Contagem.of(contagem)));
+    }
+
+    @Operation(
+            summary = "Listar Pagamentos de Cotas por cursor",
+            description = "Retorna uma página ordenada por ano e id (decrescente) a partir do cursor informado. " +
+                    "O custo por página não depende da profundidade e o total só é calculado quando solicitado"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Página recuperada com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Cursor inválido"),
+            @ApiResponse(responseCode = "403", description = "Acesso não autorizado")
+    })
+    @GetMapping("/cursor")
+    @PreAuthorize("hasPermission('modulo_pagamento_cotas', 'LEITURA')")
+    public ResponseEntity<CursorPage<PagamentoCotasResponseDTO>> getAllByCursor(
+            @ParameterObject PagamentoCotasFilteredRequest filter,
+            @Parameter(description = "Valor de nextCursor da página anterior; vazio para a primeira página")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Quantidade de registros por página (máximo 500)")
+            @RequestParam(defaultValue = "50") int size,
+            @Parameter(description = "Inclui o total de registros, o que executa uma consulta de contagem")
+            @RequestParam(defaultValue = "false") boolean total) {
+        return ResponseEntity.ok(pagamentoCotasService.getAllByCursor(filter, cursor, size, total));
+    }
+
+    @Operation(
+            summary = "Exportar Pagamentos de Cotas",
+            description = "Exporta em CSV ou XLSX todos os registros que atendem ao filtro, sem paginação"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Arquivo gerado"),
+            @ApiResponse(responseCode = "400", description = "Formato não suportado"),
+            @ApiResponse(responseCode = "403", description = "Acesso não autorizado")
+    })
+    @GetMapping("/export")
+    @PreAuthorize("hasPermission('modulo_pagamento_cotas', 'LEITURA')")
+    public ResponseEntity<StreamingResponseBody> export(
+            @ParameterObject PagamentoCotasFilteredRequest filter,
+            @Parameter(description = "Formato do arquivo: csv ou xlsx")
+            @RequestParam(defaultValue = "csv") String formato) {
+        ExportFormat format = ExportFormat.of(formato);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, format.contentDisposition("pagamento-cotas"))
+                .contentType(format.getMediaType())
+                .body(pagamentoCotasService.export(filter, format));
     }
 
     @Operation(
@@ -133,17 +195,48 @@ public class PagamentoCotasController {
             )
     )
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "201", description = "Pagamento criado com sucesso",
-                    content = @Content(schema = @Schema(implementation = PagamentoCotasResponseDTO.class))),
+            @ApiResponse(responseCode = "202", description = "Arquivo recebido e importação enfileirada",
+                    content = @Content(schema = @Schema(implementation = ImportJobResponseDTO.class))),
             @ApiResponse(responseCode = "400", description = "Requisição inválida", content = @Content),
             @ApiResponse(responseCode = "500", description = "Erro interno no servidor", content = @Content)
     })
     @PostMapping(value = "/upload", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
-    public void uploadFile(
+    public ResponseEntity<ImportJobResponseDTO> uploadFile(
+            @RequestParam("file") MultipartFile file,
+            @Parameter(description = "Sincroniza pela chave natural: ignora arquivos e linhas já importados e atualiza os alterados")
+            @RequestParam(defaultValue = "false") boolean sincronizar,
+            @Parameter(hidden = true) Authentication authentication
+    ) throws IOException {
+        User user = userReferenceCache.of(authentication);
+        ImportJobTask task = sincronizar ? pagamentoCotasService::sincronizarArquivo : pagamentoCotasService::importarArquivo;
+        return ResponseEntity.accepted()
+                .body(importJobService.submit("pagamento-cotas", file, user, task));
+    }
+
+    @Operation(
+            summary = "Valida um arquivo sem importar",
+            description = "Executa a checagem de cabeçalho, o parse, a validação e a resolução das referências sem gravar nada. " +
+                    "Retorna a contagem de linhas e os primeiros erros encontrados",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Arquivo a ser validado",
+                    required = true,
+                    content = @Content(
+                            mediaType = MediaType.MULTIPART_FORM_DATA_VALUE
+                    )
+            )
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Arquivo validado",
+                    content = @Content(schema = @Schema(implementation = ImportValidationResponseDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Cabeçalho ausente ou formato não suportado", content = @Content),
+            @ApiResponse(responseCode = "500", description = "Erro interno no servidor", content = @Content)
+    })
+    @PostMapping(value = "/upload/validate", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImportValidationResponseDTO> validateFile(
             @RequestParam("file") MultipartFile file,
             @Parameter(hidden = true) Authentication authentication
     ) throws IOException {
-        User user = (User) authentication.getPrincipal();
-        pagamentoCotasService.importarArquivo(file, user);
+        User user = userReferenceCache.of(authentication);
+        return ResponseEntity.ok(importJobService.validar(file, user, pagamentoCotasService::validarArquivo));
     }
 }
@@ -4,20 +4,22 @@ import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.portodigital.residencia.oabpe.domain.commons.DimensionCache;
 import org.portodigital.residencia.oabpe.domain.commons.ImportProcessor;
+import org.portodigital.residencia.oabpe.domain.commons.ImportRow;
 import org.portodigital.residencia.oabpe.domain.instituicao.Instituicao;
-import org.portodigital.residencia.oabpe.domain.instituicao.InstituicaoRepository;
 import org.portodigital.residencia.oabpe.domain.pagamento_cotas.dto.PagamentoCotasRequestDTO;
+import org.portodigital.residencia.oabpe.domain.prestacao_contas_subseccional.tipo_desconto.TipoDesconto;
 import org.portodigital.residencia.oabpe.domain.identidade.model.User;
 import org.springframework.stereotype.Component;
 
 import java.time.format.DateTimeFormatter;
-import java.util.Map;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 
 import static com.fasterxml.jackson.core.io.doubleparser.JavaBigDecimalParser.parseBigDecimal;
 import static jakarta.xml.bind.DatatypeConverter.parseDate;
@@ -27,8 +29,9 @@ import static jakarta.xml.bind.DatatypeConverter.parseDate;
 @RequiredArgsConstructor
 public class PagamentoCotasImportProcessor implements ImportProcessor<PagamentoCotasRequestDTO> {
 
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("M/d/yyyy");
+
     private final Validator validator;
-    private final InstituicaoRepository instituicaoRepository;
 
     @Override
     public String[] getRequiredHeaders() {
@@ -36,20 +39,32 @@ public class PagamentoCotasImportProcessor implements ImportProcessor<PagamentoC
     }
 
     @Override
-    public PagamentoCotasRequestDTO parse(Map<String, String> rowData){
-        PagamentoCotasRequestDTO dto = new PagamentoCotasRequestDTO();
-        dto.setInstituicaoNome(rowData.get("Instituição").trim());
-        dto.setMesReferencia(rowData.get("Referencia"));
-        dto.setAno(rowData.get("Ano"));
-        dto.setDtPrevEntr(LocalDate.parse(rowData.get("Prazo"), DateTimeFormatter.ofPattern("M/d/yyyy")));
-        dto.setValorDuodecimo(parseBigDecimal(rowData.get("Valor Duodecimo")));
-        dto.setValorDesconto(parseBigDecimal(rowData.get("Valor Desconto")));
-        dto.setTipoDesconto(rowData.get("Tipo Desconto").trim());
-        dto.setValorPago(parseBigDecimal(rowData.get("Valor Pago")));
-        dto.setDtPagto(LocalDate.parse(rowData.get("Data de pagamento"), DateTimeFormatter.ofPattern("M/d/yyyy")));
-        dto.setObservacao(rowData.get("Observacao"));
-        return dto;
+    public Function<ImportRow, PagamentoCotasRequestDTO> parser(ImportRow header) {
+        ImportRow.Column instituicao = header.column("Instituição");
+        ImportRow.Column referencia = header.column("Referencia");
+        ImportRow.Column ano = header.column("Ano");
+        ImportRow.Column prazo = header.column("Prazo");
+        ImportRow.Column valorDuodecimo = header.column("Valor Duodecimo");
+        ImportRow.Column valorDesconto = header.column("Valor Desconto");
+        ImportRow.Column tipoDesconto = header.column("Tipo Desconto");
+        ImportRow.Column valorPago = header.column("Valor Pago");
+        ImportRow.Column dtPagto = header.column("Data de pagamento");
+        ImportRow.Column observacao = header.column("Observacao");
 
+        return row -> {
+            PagamentoCotasRequestDTO dto = new PagamentoCotasRequestDTO();
+            dto.setInstituicaoNome(row.get(instituicao, String::trim));
+            dto.setMesReferencia(row.get(referencia));
+            dto.setAno(row.get(ano));
+            dto.setDtPrevEntr(row.get(prazo, v -> LocalDate.parse(v, DATE_FORMATTER)));
+            dto.setValorDuodecimo(row.get(valorDuodecimo, v -> parseBigDecimal(v)));
+            dto.setValorDesconto(row.get(valorDesconto, v -> parseBigDecimal(v)));
+            dto.setTipoDesconto(row.get(tipoDesconto, String::trim));
+            dto.setValorPago(row.get(valorPago, v -> parseBigDecimal(v)));
+            dto.setDtPagto(row.get(dtPagto, v -> LocalDate.parse(v, DATE_FORMATTER)));
+            dto.setObservacao(row.get(observacao));
+            return dto;
+        };
     }
 
     @Override
@@ -65,9 +80,11 @@ public class PagamentoCotasImportProcessor implements ImportProcessor<PagamentoC
     }
 
     @Override
-    public Object convertToEntity(PagamentoCotasRequestDTO dto, User user){
-        Instituicao instituicao = instituicaoRepository.findByNomeAtivo(dto.getInstituicaoNome())
-                .orElseThrow(() -> new EntityNotFoundException("Demonstrativo não encontrado com ID: " + dto.getInstituicaoNome()));
+    public Object convertToEntity(PagamentoCotasRequestDTO dto, User user, DimensionCache dimensions) {
+        Instituicao instituicao = dimensions.findInstituicao(dto.getInstituicaoNome())
+                .orElseThrow(() -> new EntityNotFoundException("Instituição não encontrada com nome: " + dto.getInstituicaoNome()));
+        TipoDesconto tipoDesconto = dimensions.findTipoDesconto(dto.getTipoDesconto())
+                .orElseThrow(() -> new EntityNotFoundException("Tipo de desconto não encontrado com nome: " + dto.getTipoDesconto()));
 
         PagamentoCotas entity = new PagamentoCotas();
         entity.setInstituicao(instituicao);
@@ -76,6 +93,7 @@ public class PagamentoCotasImportProcessor implements ImportProcessor<PagamentoC
         entity.setDtPrevEntr(dto.getDtPrevEntr());
         entity.setValorDuodecimo(dto.getValorDuodecimo());
         entity.setValorDesconto(dto.getValorDesconto());
+        entity.setTipoDesconto(tipoDesconto);
         entity.setUser(user);
         entity.setValorPago(dto.getValorPago());
         entity.setObservacao(dto.getObservacao());
@@ -0,0 +1,50 @@
+package org.portodigital.residencia.oabpe.domain.pagamento_cotas;
+
+import org.portodigital.residencia.oabpe.domain.pagamento_cotas.dto.PagamentoCotasRequestDTO;
+import org.portodigital.residencia.oabpe.domain.pagamento_cotas.dto.PagamentoCotasResponseDTO;
+import org.springframework.stereotype.Component;
+
+// Instituição e tipo de desconto chegam por nome e são resolvidos pelo service; aqui só entram os campos simples
+@Component
+public class PagamentoCotasMapper {
+
+    public PagamentoCotasResponseDTO toResponse(PagamentoCotas entity) {
+        PagamentoCotasResponseDTO dto = new PagamentoCotasResponseDTO();
+        dto.setId(entity.getId());
+        if (entity.getInstituicao() != null) {
+            dto.setInstituicaoId(entity.getInstituicao().getId());
+            dto.setInstituicaoNome(entity.getInstituicao().getNome());
+        }
+        dto.setMesReferencia(entity.getMesReferencia());
+        dto.setAno(entity.getAno());
+        dto.setDtPrevEntr(entity.getDtPrevEntr());
+        dto.setValorDuodecimo(entity.getValorDuodecimo());
+        dto.setValorDesconto(entity.getValorDesconto());
+        if (entity.getTipoDesconto() != null) {
+            dto.setTipoDescontoId(entity.getTipoDesconto().getId());
+            dto.setTipoDescontoNome(entity.getTipoDesconto().getNome());
+        }
+        dto.setValorPago(entity.getValorPago());
+        dto.setDtPagto(entity.getDtPagto());
+        dto.setObservacao(entity.getObservacao());
+        dto.setStatus(Boolean.TRUE.equals(entity.getStatus()));
+        return dto;
+    }
+
+    public PagamentoCotas toEntity(PagamentoCotasRequestDTO request) {
+        PagamentoCotas entity = new PagamentoCotas();
+        update(request, entity);
+        return entity;
+    }
+
+    public void update(PagamentoCotasRequestDTO request, PagamentoCotas entity) {
+        entity.setMesReferencia(request.getMesReferencia());
+        entity.setAno(request.getAno());
+        entity.setDtPrevEntr(request.getDtPrevEntr());
+        entity.setValorDuodecimo(request.getValorDuodecimo());
+        entity.setValorDesconto(request.getValorDesconto());
+        entity.setValorPago(request.getValorPago());
+        entity.setDtPagto(request.getDtPagto());
+        entity.setObservacao(request.getObservacao());
+    }
+}
@@ -1,30 +1,49 @@
 package org.portodigital.residencia.oabpe.domain.pagamento_cotas;
 
+import org.portodigital.residencia.oabpe.domain.commons.FilterSpecification;
 import org.portodigital.residencia.oabpe.domain.pagamento_cotas.dto.PagamentoCotasFilteredRequest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
 
-public interface PagamentoCotasRepository extends JpaRepository<PagamentoCotas,Long> {
+import java.util.Optional;
+
+public interface PagamentoCotasRepository extends JpaRepository<PagamentoCotas,Long>, JpaSpecificationExecutor<PagamentoCotas> {
+
+    // associações carregadas junto com a exportação
+    String[] FETCH = {"instituicao", "tipoDesconto"};
+
+    // consulta, atualização e exclusão: associações lidas pelo PagamentoCotasMapper vêm no mesmo SELECT
+    @Override
+    @EntityGraph(attributePaths = {"instituicao", "tipoDesconto"})
+    Optional<PagamentoCotas> findById(Long id);
 
     @Query("SELECT p FROM PagamentoCotas p WHERE p.status = true")
     Page<PagamentoCotas> findAllActive(Pageable pageable);
 
-    @Query("""
-    SELECT p
-    FROM PagamentoCotas p
-    LEFT JOIN FETCH p.instituicao i
-    LEFT JOIN FETCH p.tipoDesconto td
-    WHERE (:#{#filter.instituicaoId} IS NULL OR i.id = :#{#filter.instituicaoId})
-      AND (:#{#filter.mesReferencia} IS NULL OR LOWER(p.mesReferencia) LIKE LOWER(CONCAT('%', :#{#filter.mesReferencia}, '%')))
-      AND (:#{#filter.ano} IS NULL OR p.ano = :#{#filter.ano})
-      AND (:#{#filter.status} IS NULL OR p.status = :#{#filter.status})
-      AND (:#{#filter.tipoDescontoId} IS NULL OR td.id = :#{#filter.tipoDescontoId})
-      AND (:#{#filter.dtPrevEntr} IS NULL OR p.dtPrevEntr = :#{#filter.dtPrevEntr})
-      AND (:#{#filter.dtPagto} IS NULL OR p.dtPagto = :#{#filter.dtPagto})
-      AND (:#{#filter.valorPago} IS NULL OR p.valorPago = :#{#filter.valorPago})
-    """)
-    Page<PagamentoCotas> findAllActiveByFilter(@Param("filter") PagamentoCotasFilteredRequest filter, Pageable pageable);
+    static Specification<PagamentoCotas> byFilter(PagamentoCotasFilteredRequest filter) {
+        String status = filter.getStatus();
+        return FilterSpecification.of(PagamentoCotas.class)
+                .equal("instituicao.id", filter.getInstituicaoId())
+                .contains("mesReferencia", filter.getMesReferencia())
+                .equal("ano", filter.getAno())
+                .equal("status", status == null || status.isBlank() ? null : Boolean.valueOf(status))
+                .equal("tipoDesconto.id", filter.getTipoDescontoId())
+                .equal("dtPrevEntr", filter.getDtPrevEntr())
+                .equal("dtPagto", filter.getDtPagto())
+                .equal("valorPago", filter.getValorPago())
+                .build();
+    }
+
+    // listagem por cursor: ordem (ano, id) decrescente, sem OFFSET nem COUNT
+    Sort CURSOR_SORT = Sort.by(Sort.Direction.DESC, "ano", "id");
+
+    static Specification<PagamentoCotas> byFilterBefore(PagamentoCotasFilteredRequest filter, String ano, Long id) {
+        return byFilter(filter).and(FilterSpecification.of(PagamentoCotas.class).before("ano", ano, id).build());
+    }
 }
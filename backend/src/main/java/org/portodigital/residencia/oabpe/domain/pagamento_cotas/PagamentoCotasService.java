@@ -1,54 +1,206 @@
 package org.portodigital.residencia.oabpe.domain.pagamento_cotas;
 
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
+import lombok.extern.slf4j.Slf4j;
 import org.portodigital.residencia.oabpe.domain.balancete_cfoab.BalanceteCFOAB;
+import org.portodigital.residencia.oabpe.domain.commons.Contagem;
 import org.portodigital.residencia.oabpe.domain.identidade.model.User;
+import org.portodigital.residencia.oabpe.domain.identidade.service.UserReferenceCache;
+import org.portodigital.residencia.oabpe.domain.import_job.ArquivoImportadoService;
 import org.portodigital.residencia.oabpe.domain.instituicao.InstituicaoRepository;
 import org.portodigital.residencia.oabpe.domain.pagamento_cotas.dto.PagamentoCotasFilteredRequest;
 import org.portodigital.residencia.oabpe.domain.pagamento_cotas.dto.PagamentoCotasRequestDTO;
 import org.portodigital.residencia.oabpe.domain.pagamento_cotas.dto.PagamentoCotasResponseDTO;
 import org.portodigital.residencia.oabpe.domain.prestacao_contas_subseccional.tipo_desconto.TipoDescontoRepository;
+import org.portodigital.residencia.oabpe.domain.resumo.ResumoChave;
+import org.portodigital.residencia.oabpe.domain.resumo.ResumoService;
 import org.portodigital.residencia.oabpe.exception.EntityNotFoundException;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.portodigital.residencia.oabpe.domain.commons.AbstractFileImportService;
+import org.portodigital.residencia.oabpe.domain.commons.ImportProgress;
+import org.portodigital.residencia.oabpe.domain.commons.ChunkedBatchWriter;
+import org.portodigital.residencia.oabpe.domain.commons.ContentHash;
+import org.portodigital.residencia.oabpe.domain.commons.ExportFormat;
+import org.portodigital.residencia.oabpe.domain.commons.StreamingExporter;
+import org.portodigital.residencia.oabpe.domain.commons.CursorPage;
+import org.portodigital.residencia.oabpe.domain.commons.KeysetCursor;
+import org.portodigital.residencia.oabpe.domain.commons.ProjectionQuery;
 
 import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Arrays;
+import java.util.Set;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class PagamentoCotasService extends AbstractFileImportService<PagamentoCotasRequestDTO>{
 
+    private static final List<String> EXPORT_COLUMNS = List.of(
+            "ID", "Instituição", "Referência", "Ano", "Prazo", "Valor Duodécimo", "Valor Desconto", "Tipo Desconto",
+            "Valor Pago", "Data de Pagamento", "Observação");
+
+    private static final String MODULO = "pagamento-cotas";
+
+    private static final String INSERT_SQL = """
+            INSERT INTO pagamento_cotas
+                (id_instit, mes_ref, ano_ref, dt_prev_entr, valor_duodecimo, valor_desconto, id_tp_desc,
+                 valor_pago, dt_pagto, observacao, status, id_usuario, hash_linha, dat_criacao_registro, dat_alteracao_registro)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    // chave natural: instituição + mês + ano; linhas com o mesmo hash_linha não são reescritas
+    private static final String UPSERT_SQL = """
+            MERGE pagamento_cotas WITH (HOLDLOCK) AS t
+            USING (VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?))
+                AS s (id_instit, mes_ref, ano_ref, dt_prev_entr, valor_duodecimo, valor_desconto, id_tp_desc,
+                      valor_pago, dt_pagto, observacao, id_usuario, hash_linha, agora)
+            ON t.id_instit = s.id_instit AND t.mes_ref = s.mes_ref AND t.ano_ref = s.ano_ref AND t.status = 1
+            WHEN MATCHED AND (t.hash_linha IS NULL OR t.hash_linha <> s.hash_linha) THEN
+                UPDATE SET dt_prev_entr = s.dt_prev_entr, valor_duodecimo = s.valor_duodecimo,
+                           valor_desconto = s.valor_desconto, id_tp_desc = s.id_tp_desc, valor_pago = s.valor_pago,
+                           dt_pagto = s.dt_pagto, observacao = s.observacao, id_usuario = s.id_usuario,
+                           hash_linha = s.hash_linha, dat_alteracao_registro = s.agora
+            WHEN NOT MATCHED THEN
+                INSERT (id_instit, mes_ref, ano_ref, dt_prev_entr, valor_duodecimo, valor_desconto, id_tp_desc,
+                        valor_pago, dt_pagto, observacao, status, id_usuario, hash_linha, dat_criacao_registro, dat_alteracao_registro)
+                VALUES (s.id_instit, s.mes_ref, s.ano_ref, s.dt_prev_entr, s.valor_duodecimo, s.valor_desconto, s.id_tp_desc,
+                        s.valor_pago, s.dt_pagto, s.observacao, 1, s.id_usuario, s.hash_linha, s.agora, s.agora);
+            """;
+
     private final PagamentoCotasRepository pagamentoCotasRepository;
+    private final StreamingExporter exporter;
+    private final ProjectionQuery projections;
     private final InstituicaoRepository instituicaoRepository;
     private final TipoDescontoRepository tipoDescontoRepository;
     private final PagamentoCotasImportProcessor processor;
-    private final ModelMapper mapper;
+    private final ChunkedBatchWriter batchWriter;
+    private final ArquivoImportadoService arquivoImportadoService;
+    private final PagamentoCotasMapper mapper;
+    private final ResumoService resumoService;
+    private final UserReferenceCache userReferenceCache;
+
+    @Transactional
+    public void importarArquivo(MultipartFile file, User user, ImportProgress progress) throws IOException {
+        Set<ResumoChave> chaves = new HashSet<>();
+        try (ChunkedBatchWriter.Chunk<PagamentoCotas> chunk = batchWriter.open(INSERT_SQL, PagamentoCotas.class, p -> {
+            chaves.add(chave(p));
+            return insertParameters(p);
+        })) {
+            importFile(file, user, processor, chunk, progress);
+        }
+        resumoService.recalcularPagamentoCotas(chaves);
+    }
 
+    public void validarArquivo(MultipartFile file, User user, ImportProgress progress) throws IOException {
+        validateFile(file, user, processor, progress);
+    }
+
+    // Reimportação idempotente: arquivos já sincronizados são ignorados e as linhas são mescladas pela chave natural
     @Transactional
-    public void importarArquivo(MultipartFile file, User user) throws IOException{
-        List<Object> entidades = importFile(file, user, processor);
-        pagamentoCotasRepository.saveAll(entidades.stream().map(e -> (PagamentoCotas) e).toList());
+    public void sincronizarArquivo(MultipartFile file, User user, ImportProgress progress) throws IOException {
+        String hashArquivo = ContentHash.of(file);
+        if (arquivoImportadoService.jaImportado(MODULO, hashArquivo)) {
+            log.info("Arquivo {} já sincronizado em {}, nada a importar", file.getOriginalFilename(), MODULO);
+            return;
+        }
+
+        Set<ResumoChave> chaves = new HashSet<>();
+        try (ChunkedBatchWriter.Chunk<PagamentoCotas> chunk = batchWriter.open(UPSERT_SQL, PagamentoCotas.class, p -> {
+            chaves.add(chave(p));
+            return upsertParameters(p);
+        })) {
+            importFile(file, user, processor, chunk, progress);
+        }
+        resumoService.recalcularPagamentoCotas(chaves);
+        arquivoImportadoService.registrar(MODULO, hashArquivo, file, user);
+    }
+
+    private static ResumoChave chave(PagamentoCotas p) {
+        return new ResumoChave(p.getInstituicao().getId(), p.getAno(), p.getMesReferencia());
     }
 
-    public Page<PagamentoCotasResponseDTO> getAllFiltered(PagamentoCotasFilteredRequest filter, Pageable pageable) {
-        return pagamentoCotasRepository.findAllActiveByFilter(filter, pageable)
-                .map(pagamentoCotas -> mapper.map(pagamentoCotas, PagamentoCotasResponseDTO.class));
+    private Object[] insertParameters(PagamentoCotas p) {
+        LocalDateTime agora = LocalDateTime.now();
+        return new Object[]{
+                p.getInstituicao().getId(), p.getMesReferencia(), p.getAno(), p.getDtPrevEntr(),
+                p.getValorDuodecimo(), p.getValorDesconto(),
+                p.getTipoDesconto() != null ? p.getTipoDesconto().getId() : null,
+                p.getValorPago(), p.getDtPagto(), p.getObservacao(), p.getStatus(), p.getUser().getId(), hashLinha(p),
+                agora, agora
+        };
+    }
+
+    private Object[] upsertParameters(PagamentoCotas p) {
+        return new Object[]{
+                p.getInstituicao().getId(), p.getMesReferencia(), p.getAno(), p.getDtPrevEntr(),
+                p.getValorDuodecimo(), p.getValorDesconto(),
+                p.getTipoDesconto() != null ? p.getTipoDesconto().getId() : null,
+                p.getValorPago(), p.getDtPagto(), p.getObservacao(), p.getUser().getId(), hashLinha(p),
+                LocalDateTime.now()
+        };
+    }
+
+    private String hashLinha(PagamentoCotas p) {
+        return ContentHash.of(p.getDtPrevEntr(), p.getValorDuodecimo(), p.getValorDesconto(),
+                p.getTipoDesconto() != null ? p.getTipoDesconto().getId() : null,
+                p.getValorPago(), p.getDtPagto(), p.getObservacao());
+    }
+
+    public Slice<PagamentoCotasResponseDTO> getAllFiltered(PagamentoCotasFilteredRequest filter, Pageable pageable, Contagem contagem) {
+        return projections.slice(PagamentoCotas.class, PagamentoCotasResponseDTO.class,
+                PagamentoCotasRepository.byFilter(filter), pageable, contagem, filter, PagamentoCotasService::colunasResposta);
+    }
+
+    public CursorPage<PagamentoCotasResponseDTO> getAllByCursor(PagamentoCotasFilteredRequest filter, String cursor, int size, boolean total) {
+        KeysetCursor posicao = KeysetCursor.decode(cursor);
+        Pageable request = CursorPage.request(size);
+        List<PagamentoCotasResponseDTO> rows = projections.list(PagamentoCotas.class, PagamentoCotasResponseDTO.class,
+                PagamentoCotasRepository.byFilterBefore(filter, posicao != null ? posicao.chave() : null, posicao != null ? posicao.id() : null),
+                PagamentoCotasRepository.CURSOR_SORT, request.getPageSize(), PagamentoCotasService::colunasResposta);
+
+        return CursorPage.of(rows, request, p -> new KeysetCursor(p.getAno(), p.getId()),
+                total ? () -> pagamentoCotasRepository.count(PagamentoCotasRepository.byFilter(filter)) : null);
+    }
+
+    // na ordem do construtor de PagamentoCotasResponseDTO
+    private static List<Selection<?>> colunasResposta(Root<PagamentoCotas> p, CriteriaBuilder cb) {
+        Join<PagamentoCotas, ?> instituicao = p.join("instituicao");
+        Join<PagamentoCotas, ?> tipoDesconto = p.join("tipoDesconto", JoinType.LEFT);
+        return List.of(p.get("id"), instituicao.get("id"), instituicao.get("nome"), p.get("mesReferencia"), p.get("ano"),
+                p.get("dtPrevEntr"), p.get("valorDuodecimo"), p.get("valorDesconto"), tipoDesconto.get("id"),
+                tipoDesconto.get("nome"), p.get("valorPago"), p.get("dtPagto"), p.get("observacao"), p.get("status"));
+    }
+
+    public StreamingResponseBody export(PagamentoCotasFilteredRequest filter, ExportFormat formato) {
+        return exporter.export(formato, EXPORT_COLUMNS,
+                () -> exporter.stream(PagamentoCotas.class, PagamentoCotasRepository.byFilter(filter), PagamentoCotasRepository.FETCH),
+                p -> Arrays.asList(p.getId(), p.getInstituicao().getNome(), p.getMesReferencia(), p.getAno(), p.getDtPrevEntr(),
+                        p.getValorDuodecimo(), p.getValorDesconto(), p.getTipoDesconto() != null ? p.getTipoDesconto().getNome() : null,
+                        p.getValorPago(), p.getDtPagto(), p.getObservacao()));
     }
 
     public PagamentoCotasResponseDTO getById(Long id) {
         return pagamentoCotasRepository.findById(id)
-                .map(pagamentoCotas -> mapper.map(pagamentoCotas, PagamentoCotasResponseDTO.class))
+                .map(mapper::toResponse)
                 .orElseThrow(() -> new EntityNotFoundException("Pagamento de Cota não encontrado."));
     }
 
+    @Transactional
     public PagamentoCotasResponseDTO create(PagamentoCotasRequestDTO request) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication == null || authentication.getPrincipal() == null) {
@@ -60,17 +212,19 @@ public class PagamentoCotasService extends AbstractFileImportService<PagamentoCo
         var tipoDesconto = tipoDescontoRepository.findByNomeAtivo(request.getTipoDesconto())
                 .orElseThrow(() -> new EntityNotFoundException("Tipo de desconto não encontrado com ID: " + request.getTipoDesconto()));
 
-        User user = (User) authentication.getPrincipal();
-        PagamentoCotas pagamentoCotas = mapper.map(request, PagamentoCotas.class);
+        User user = userReferenceCache.of(authentication);
+        PagamentoCotas pagamentoCotas = mapper.toEntity(request);
         pagamentoCotas.setStatus(true);
         pagamentoCotas.setUser(user);
         pagamentoCotas.setInstituicao(instituicao);
         pagamentoCotas.setTipoDesconto(tipoDesconto);
 
         PagamentoCotas savedPagamentoCotas = pagamentoCotasRepository.save(pagamentoCotas);
-        return mapper.map(savedPagamentoCotas, PagamentoCotasResponseDTO.class);
+        resumoService.recalcularPagamentoCotas(List.of(chave(savedPagamentoCotas)));
+        return mapper.toResponse(savedPagamentoCotas);
     }
 
+    @Transactional
     public void delete(Long id) {
         var existingPagamento = pagamentoCotasRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Pagamento de Cotas não encontrado."));
@@ -81,15 +235,19 @@ public class PagamentoCotasService extends AbstractFileImportService<PagamentoCo
         if (authentication == null || authentication.getPrincipal() == null) {
             throw new SecurityException("Acesso não autorizado");
         }
-        User user = (User) authentication.getPrincipal();
+        User user = userReferenceCache.of(authentication);
         existingPagamento.setUser(user);
 
         pagamentoCotasRepository.save(existingPagamento);
+        resumoService.recalcularPagamentoCotas(List.of(chave(existingPagamento)));
     }
 
+    @Transactional
     public PagamentoCotasResponseDTO update(Long id, PagamentoCotasRequestDTO request) {
         PagamentoCotas existing = pagamentoCotasRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Pagamento de Cotas não encontrado com id: " + id));
+        // instituição, ano e mês podem mudar: o grupo de origem também precisa ser recalculado
+        ResumoChave anterior = chave(existing);
 
 
         if (request.getInstituicaoNome() != null) {
@@ -103,16 +261,19 @@ public class PagamentoCotasService extends AbstractFileImportService<PagamentoCo
             existing.setTipoDesconto(tipoDesconto);
         }
 
-        mapper.map(request, existing);
+        mapper.update(request, existing);
+        // alteração manual: a próxima sincronização deve reavaliar a linha
+        existing.setHashLinha(null);
 
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication == null || authentication.getPrincipal() == null) {
             throw new SecurityException("Acesso não autorizado");
         }
-        User user = (User) authentication.getPrincipal();
+        User user = userReferenceCache.of(authentication);
         existing.setUser(user);
 
         PagamentoCotas updated = pagamentoCotasRepository.save(existing);
-        return mapper.map(updated, PagamentoCotasResponseDTO.class);
+        resumoService.recalcularPagamentoCotas(List.of(anterior, chave(updated)));
+        return mapper.toResponse(updated);
     }
 }
\ No newline at end of file
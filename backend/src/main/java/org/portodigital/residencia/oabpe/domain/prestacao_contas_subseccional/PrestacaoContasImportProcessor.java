@@ -5,26 +5,28 @@ import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import org.portodigital.residencia.oabpe.domain.balancete_cfoab.BalanceteCFOAB;
 import org.portodigital.residencia.oabpe.domain.balancete_cfoab.dto.BalanceteCFOABRequestDTO;
+import org.portodigital.residencia.oabpe.domain.commons.DimensionCache;
 import org.portodigital.residencia.oabpe.domain.commons.ImportProcessor;
+import org.portodigital.residencia.oabpe.domain.commons.ImportRow;
 import org.portodigital.residencia.oabpe.domain.identidade.model.User;
 import org.portodigital.residencia.oabpe.domain.prestacao_contas_subseccional.dto.PrestacaoContasSubseccionalRequestDTO;
 import org.portodigital.residencia.oabpe.domain.prestacao_contas_subseccional.subseccional.Subseccional;
-import org.portodigital.residencia.oabpe.domain.prestacao_contas_subseccional.subseccional.SubseccionalRepository;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 
 @Component
 @RequiredArgsConstructor
 public class PrestacaoContasImportProcessor implements ImportProcessor<PrestacaoContasSubseccionalRequestDTO> {
 
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("M/d/yyyy");
+
     private final Validator validator;
-    private final SubseccionalRepository subseccionalRepository;
 
     @Override
     public String[] getRequiredHeaders() {
@@ -36,21 +38,30 @@ public class PrestacaoContasImportProcessor implements ImportProcessor<Prestacao
     }
 
     @Override
-    public PrestacaoContasSubseccionalRequestDTO parse(Map<String, String> rowData) {
-        DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("M/d/yyyy");
-
-        PrestacaoContasSubseccionalRequestDTO dto = new PrestacaoContasSubseccionalRequestDTO();
-        dto.setSubseccional(rowData.get("SUBSECCIONAL"));
-        dto.setMesReferencia(rowData.get("Referencia"));
-        dto.setAno(rowData.get("ANO"));
-
-        dto.setDtPrevEntr(parseDate(rowData.get("PRAZO DE ENTREGA"), dateFormatter));
-        dto.setDtEntrega(parseDate(rowData.get("DATA DE ENTREGA"), dateFormatter));
-        dto.setDtPagto(parseDate(rowData.get("DATA DE PAGAMENTO"), dateFormatter));
-        dto.setValorPago(parseBigDecimal(rowData.get("VALOR PAGO")));
-        dto.setObservacao(rowData.get("OBSERVAÇÃO"));
-
-        return dto;
+    public Function<ImportRow, PrestacaoContasSubseccionalRequestDTO> parser(ImportRow header) {
+        ImportRow.Column subseccional = header.column("SUBSECCIONAL");
+        ImportRow.Column referencia = header.column("Referencia");
+        ImportRow.Column ano = header.column("ANO");
+        ImportRow.Column prazoEntrega = header.column("PRAZO DE ENTREGA");
+        ImportRow.Column dataEntrega = header.column("DATA DE ENTREGA");
+        ImportRow.Column dataPagamento = header.column("DATA DE PAGAMENTO");
+        ImportRow.Column valorPago = header.column("VALOR PAGO");
+        ImportRow.Column observacao = header.column("OBSERVAÇÃO");
+
+        return row -> {
+            PrestacaoContasSubseccionalRequestDTO dto = new PrestacaoContasSubseccionalRequestDTO();
+            dto.setSubseccional(row.get(subseccional));
+            dto.setMesReferencia(row.get(referencia));
+            dto.setAno(row.get(ano));
+
+            dto.setDtPrevEntr(row.get(prazoEntrega, this::parseDate));
+            dto.setDtEntrega(row.get(dataEntrega, this::parseDate));
+            dto.setDtPagto(row.get(dataPagamento, this::parseDate));
+            dto.setValorPago(row.get(valorPago, this::parseBigDecimal));
+            dto.setObservacao(row.get(observacao));
+
+            return dto;
+        };
     }
 
     @Override
@@ -66,11 +77,11 @@ public class PrestacaoContasImportProcessor implements ImportProcessor<Prestacao
     }
 
     @Override
-    public Object convertToEntity(PrestacaoContasSubseccionalRequestDTO dto, User user) {
+    public Object convertToEntity(PrestacaoContasSubseccionalRequestDTO dto, User user, DimensionCache dimensions) {
         PrestacaoContasSubseccional entity = new PrestacaoContasSubseccional();
 
-        Subseccional subseccional = subseccionalRepository
-                .findBySubSeccionalIgnoreCase(dto.getSubseccional())
+        Subseccional subseccional = dimensions
+                .findSubseccional(dto.getSubseccional())
                 .orElseThrow(() -> new IllegalArgumentException("Subseccional não encontrada: " + dto.getSubseccional()));
 
         entity.setSubseccional(subseccional);
@@ -87,9 +98,9 @@ public class PrestacaoContasImportProcessor implements ImportProcessor<Prestacao
         return entity;
     }
 
-    private LocalDate parseDate(String raw, DateTimeFormatter formatter) {
+    private LocalDate parseDate(String raw) {
         if (raw == null || raw.isBlank()) return null;
-        return LocalDate.parse(raw.trim(), formatter);
+        return LocalDate.parse(raw.trim(), DATE_FORMATTER);
     }
 
     private BigDecimal parseBigDecimal(String raw) {
@@ -6,6 +6,10 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.portodigital.residencia.oabpe.domain.busca.CampoBusca;
+import org.portodigital.residencia.oabpe.domain.busca.Pesquisavel;
+import org.portodigital.residencia.oabpe.domain.busca.TextoBusca;
+import org.portodigital.residencia.oabpe.domain.busca.TrigramaBuscaListener;
 import org.portodigital.residencia.oabpe.domain.identidade.model.User;
 import org.portodigital.residencia.oabpe.domain.prestacao_contas_subseccional.subseccional.Subseccional;
 import org.portodigital.residencia.oabpe.domain.prestacao_contas_subseccional.tipo_desconto.TipoDesconto;
@@ -13,19 +17,25 @@ import org.portodigital.residencia.oabpe.domain.prestacao_contas_subseccional.ti
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
 
 @Entity
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
-@Table(name = "PrestacaoContasSubseccional")
-public class PrestacaoContasSubseccional {
+@EntityListeners(TrigramaBuscaListener.class)
+@Table(name = "PrestacaoContasSubseccional", indexes = {
+        @Index(name = "ix_prestacao_contas_observacao_busca", columnList = "ObservacaoBusca"),
+        @Index(name = "ix_prestacao_contas_protocolo_busca", columnList = "ProtocoloBusca")
+})
+public class PrestacaoContasSubseccional implements Pesquisavel {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @ManyToOne(optional = false)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "Id_Subseccional", referencedColumnName = "id")
     private Subseccional subseccional;
 
@@ -59,14 +69,20 @@ public class PrestacaoContasSubseccional {
     @Column(name = "Observacao")
     private String observacao;
 
+    @Column(name = "ProtocoloBusca", length = 17)
+    private String protocoloBusca;
+
+    @Column(name = "ObservacaoBusca")
+    private String observacaoBusca;
+
     @Column(name = "Status", nullable = false)
     private Boolean status = true;
 
-    @ManyToOne(optional = false)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "Id_usuario", referencedColumnName = "id")
     private User user;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "Id_TipoDesconto")
     private TipoDesconto tipoDesconto;
 
@@ -86,4 +102,18 @@ public class PrestacaoContasSubseccional {
         return duodecimo.subtract(desconto);
     }
 
+    @PrePersist
+    @PreUpdate
+    void normalizarBusca() {
+        protocoloBusca = TextoBusca.normalizar(protocoloSGD);
+        observacaoBusca = TextoBusca.normalizar(observacao);
+    }
+
+    @Override
+    public Map<CampoBusca, String> camposBusca() {
+        Map<CampoBusca, String> campos = new EnumMap<>(CampoBusca.class);
+        campos.put(CampoBusca.PRESTACAO_CONTAS_OBSERVACAO, observacaoBusca);
+        campos.put(CampoBusca.PRESTACAO_CONTAS_PROTOCOLO, protocoloBusca);
+        return campos;
+    }
 }
\ No newline at end of file
@@ -10,20 +10,28 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.portodigital.residencia.oabpe.domain.balancete_cfoab.dto.BalanceteCFOABResponseDTO;
+import org.portodigital.residencia.oabpe.domain.commons.Contagem;
 import org.portodigital.residencia.oabpe.domain.identidade.model.User;
+import org.portodigital.residencia.oabpe.domain.identidade.service.UserReferenceCache;
+import org.portodigital.residencia.oabpe.domain.import_job.ImportJobService;
+import org.portodigital.residencia.oabpe.domain.import_job.dto.ImportJobResponseDTO;
+import org.portodigital.residencia.oabpe.domain.import_job.dto.ImportValidationResponseDTO;
 import org.portodigital.residencia.oabpe.domain.prestacao_contas_subseccional.dto.PrestacaoContasSubseccionalFiltroRequest;
 import org.portodigital.residencia.oabpe.domain.prestacao_contas_subseccional.dto.PrestacaoContasSubseccionalRequestDTO;
 import org.portodigital.residencia.oabpe.domain.prestacao_contas_subseccional.dto.PrestacaoContasSubseccionalResponseDTO;
+import org.portodigital.residencia.oabpe.domain.commons.ExportFormat;
 import org.springdoc.core.annotations.ParameterObject;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
 
@@ -34,14 +42,41 @@ import java.io.IOException;
 public class PrestacaoContasSubseccionalController {
 
     private final PrestacaoContasSubseccionalService prestacaoContasSubseccionalService;
+    private final ImportJobService importJobService;
+    private final UserReferenceCache userReferenceCache;
 
     @Operation(summary = "Listar prestações de contas com filtros")
     @GetMapping
     @PreAuthorize("hasPermission('modulo_prestacao_contas_subseccional', 'LEITURA')")
-    public ResponseEntity<Page<PrestacaoContasSubseccionalResponseDTO>> getAllComFiltro(
+    public ResponseEntity<Slice<PrestacaoContasSubseccionalResponseDTO>> getAllComFiltro(
             @Valid @ParameterObject PrestacaoContasSubseccionalFiltroRequest filtro,
-            Pageable pageable) {
-        return ResponseEntity.ok(prestacaoContasSubseccionalService.getAllComFiltro(filtro, pageable));
+            Pageable pageable,
+            @Parameter(description = "Total de registros: exata (COUNT a cada página), estimada (COUNT reaproveitado " +
+                    "por alguns instantes para o mesmo filtro) ou nenhuma (sem total, informa apenas se existe próxima página)")
+            @RequestParam(defaultValue = "exata") String contagem) {
+        return ResponseEntity.ok(prestacaoContasSubseccionalService.getAllComFiltro(filtro, pageable, Contagem.of(contagem)));
+    }
+
+    @Operation(
+            summary = "Exportar prestações de contas",
+            description = "Exporta em CSV ou XLSX todos os registros que atendem ao filtro, sem paginação"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Arquivo gerado"),
+            @ApiResponse(responseCode = "400", description = "Formato não suportado"),
+            @ApiResponse(responseCode = "403", description = "Acesso não autorizado")
+    })
+    @GetMapping("/export")
+    @PreAuthorize("hasPermission('modulo_prestacao_contas_subseccional', 'LEITURA')")
+    public ResponseEntity<StreamingResponseBody> export(
+            @ParameterObject PrestacaoContasSubseccionalFiltroRequest filtro,
+            @Parameter(description = "Formato do arquivo: csv ou xlsx")
+            @RequestParam(defaultValue = "csv") String formato) {
+        ExportFormat format = ExportFormat.of(formato);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, format.contentDisposition("prestacao-contas"))
+                .contentType(format.getMediaType())
+                .body(prestacaoContasSubseccionalService.export(filtro, format));
     }
     @Operation(summary = "Buscar prestação de contas por ID")
     @ApiResponses(value = {
@@ -97,19 +132,46 @@ public class PrestacaoContasSubseccionalController {
             )
     )
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "201", description = "Prestacão de contas criadas com sucesso",
-                    content = @Content(schema = @Schema(implementation = BalanceteCFOABResponseDTO.class))),
+            @ApiResponse(responseCode = "202", description = "Arquivo recebido e importação enfileirada",
+                    content = @Content(schema = @Schema(implementation = ImportJobResponseDTO.class))),
             @ApiResponse(responseCode = "400", description = "Requisição inválida", content = @Content),
             @ApiResponse(responseCode = "500", description = "Erro interno no servidor", content = @Content)
     })
     @PostMapping(value = "/upload", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
-    public ResponseEntity<Void> uploadFile(
+    public ResponseEntity<ImportJobResponseDTO> uploadFile(
             @RequestParam("file") MultipartFile file,
             @Parameter(hidden = true) Authentication authentication
     ) throws IOException {
-        User user = (User) authentication.getPrincipal();
-        prestacaoContasSubseccionalService.importarArquivo(file, user);
-        return ResponseEntity.status(HttpStatus.CREATED).build();
+        User user = userReferenceCache.of(authentication);
+        return ResponseEntity.accepted()
+                .body(importJobService.submit("prestacao-contas", file, user, prestacaoContasSubseccionalService::importarArquivo));
+    }
+
+    @Operation(
+            summary = "Valida um arquivo sem importar",
+            description = "Executa a checagem de cabeçalho, o parse, a validação e a resolução das referências sem gravar nada. " +
+                    "Retorna a contagem de linhas e os primeiros erros encontrados",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Arquivo a ser validado",
+                    required = true,
+                    content = @Content(
+                            mediaType = MediaType.MULTIPART_FORM_DATA_VALUE
+                    )
+            )
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Arquivo validado",
+                    content = @Content(schema = @Schema(implementation = ImportValidationResponseDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Cabeçalho ausente ou formato não suportado", content = @Content),
+            @ApiResponse(responseCode = "500", description = "Erro interno no servidor", content = @Content)
+    })
+    @PostMapping(value = "/upload/validate", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImportValidationResponseDTO> validateFile(
+            @RequestParam("file") MultipartFile file,
+            @Parameter(hidden = true) Authentication authentication
+    ) throws IOException {
+        User user = userReferenceCache.of(authentication);
+        return ResponseEntity.ok(importJobService.validar(file, user, prestacaoContasSubseccionalService::validarArquivo));
     }
 
 
@@ -0,0 +1,50 @@
+package org.portodigital.residencia.oabpe.domain.prestacao_contas_subseccional;
+
+import org.portodigital.residencia.oabpe.domain.prestacao_contas_subseccional.dto.PrestacaoContasSubseccionalRequestDTO;
+import org.portodigital.residencia.oabpe.domain.prestacao_contas_subseccional.dto.PrestacaoContasSubseccionalResponseDTO;
+import org.springframework.stereotype.Component;
+
+@Component
+public class PrestacaoContasSubseccionalMapper {
+
+    public PrestacaoContasSubseccionalResponseDTO toResponse(PrestacaoContasSubseccional entity) {
+        PrestacaoContasSubseccionalResponseDTO dto = new PrestacaoContasSubseccionalResponseDTO();
+        dto.setId(entity.getId());
+        dto.setMesReferencia(entity.getMesReferencia());
+        dto.setAno(entity.getAno());
+        dto.setDtPrevEntr(entity.getDtPrevEntr());
+        dto.setDtEntrega(entity.getDtEntrega());
+        dto.setDtPagto(entity.getDtPagto());
+        dto.setValorDuodecimo(entity.getValorDuodecimo());
+        dto.setValorDesconto(entity.getValorDesconto());
+        dto.setProtocoloSGD(entity.getProtocoloSGD());
+        dto.setObservacao(entity.getObservacao());
+        dto.setStatus(String.valueOf(entity.getStatus()));
+        dto.setValorPago(entity.getValorPago());
+        if (entity.getSubseccional() != null) {
+            dto.setSubseccional(entity.getSubseccional().getSubSeccional());
+            dto.setIdSubseccional(entity.getSubseccional().getId());
+        }
+        if (entity.getTipoDesconto() != null) {
+            dto.setTipoDesconto(entity.getTipoDesconto().getNome());
+            dto.setIdTipoDesconto(entity.getTipoDesconto().getId());
+        }
+        return dto;
+    }
+
+    // subseccional e tipo de desconto chegam por nome e são resolvidos pelo service;
+    // valorPago não é copiado porque é sempre calculado a partir do duodécimo e do desconto
+    public PrestacaoContasSubseccional toEntity(PrestacaoContasSubseccionalRequestDTO request) {
+        PrestacaoContasSubseccional entity = new PrestacaoContasSubseccional();
+        entity.setMesReferencia(request.getMesReferencia());
+        entity.setAno(request.getAno());
+        entity.setDtPrevEntr(request.getDtPrevEntr());
+        entity.setDtEntrega(request.getDtEntrega());
+        entity.setDtPagto(request.getDtPagto());
+        entity.setValorDuodecimo(request.getValorDuodecimo());
+        entity.setValorDesconto(request.getValorDesconto());
+        entity.setProtocoloSGD(request.getProtocoloSGD());
+        entity.setObservacao(request.getObservacao());
+        return entity;
+    }
+}
@@ -1,13 +1,27 @@
 package org.portodigital.residencia.oabpe.domain.prestacao_contas_subseccional;
 
+import org.portodigital.residencia.oabpe.domain.busca.CampoBusca;
+import org.portodigital.residencia.oabpe.domain.commons.FilterSpecification;
 import org.portodigital.residencia.oabpe.domain.prestacao_contas_subseccional.dto.PrestacaoContasSubseccionalFiltroRequest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
 
-public interface PrestacaoContasSubseccionalRepository extends JpaRepository<PrestacaoContasSubseccional, Long> {
+import java.util.Optional;
+
+public interface PrestacaoContasSubseccionalRepository extends JpaRepository<PrestacaoContasSubseccional, Long>,
+        JpaSpecificationExecutor<PrestacaoContasSubseccional> {
+
+    // associações carregadas junto com a exportação
+    String[] FETCH = {"subseccional", "tipoDesconto"};
+
+    @Override
+    @EntityGraph(attributePaths = {"subseccional", "tipoDesconto"})
+    Optional<PrestacaoContasSubseccional> findById(Long id);
 
     @Query("""
            SELECT p FROM PrestacaoContasSubseccional p
@@ -17,26 +31,21 @@ public interface PrestacaoContasSubseccionalRepository extends JpaRepository<Pre
     """)
     Page<PrestacaoContasSubseccional> findAllAtivos(Pageable pageable);
 
-    @Query("""
-    SELECT PCS
-    FROM PrestacaoContasSubseccional PCS
-    LEFT JOIN FETCH PCS.subseccional SUB
-    LEFT JOIN FETCH PCS.tipoDesconto TD
-    WHERE (:#{#filtro.mesReferencia} IS NULL OR LOWER(PCS.mesReferencia) LIKE LOWER(CONCAT('%', :#{#filtro.mesReferencia}, '%')))
-      AND (:#{#filtro.ano} IS NULL OR LOWER(PCS.ano) LIKE LOWER(CONCAT('%', :#{#filtro.ano}, '%')))
-      AND (:#{#filtro.dtPrevEntr} IS NULL OR PCS.dtPrevEntr = :#{#filtro.dtPrevEntr})
-      AND (:#{#filtro.dtEntrega} IS NULL OR PCS.dtEntrega = :#{#filtro.dtEntrega})
-      AND (:#{#filtro.dtPagto} IS NULL OR PCS.dtPagto = :#{#filtro.dtPagto})
-      AND (:#{#filtro.valorDuodecimo} IS NULL OR PCS.valorDuodecimo = :#{#filtro.valorDuodecimo})
-      AND (:#{#filtro.valorDesconto} IS NULL OR PCS.valorDesconto = :#{#filtro.valorDesconto})
-      AND (:#{#filtro.valorPago} IS NULL OR PCS.valorPago = :#{#filtro.valorPago})
-      AND (:#{#filtro.protocoloSGD} IS NULL OR LOWER(PCS.protocoloSGD) LIKE LOWER(CONCAT('%', :#{#filtro.protocoloSGD}, '%')))
-      AND (:#{#filtro.observacao} IS NULL OR LOWER(PCS.observacao) LIKE LOWER(CONCAT('%', :#{#filtro.observacao}, '%')))
-      AND (:#{#filtro.subseccional} IS NULL OR LOWER(SUB.subSeccional) LIKE LOWER(CONCAT('%', :#{#filtro.subseccional}, '%')))
-      AND (:#{#filtro.tipoDesconto} IS NULL OR LOWER(TD.nome) LIKE LOWER(CONCAT('%', :#{#filtro.tipoDesconto}, '%')))
-      AND PCS.status = true
-    """)
-    Page<PrestacaoContasSubseccional> findAllByFiltros(
-            @Param("filtro") PrestacaoContasSubseccionalFiltroRequest filtro,
-            Pageable pageable);
+    static Specification<PrestacaoContasSubseccional> byFiltros(PrestacaoContasSubseccionalFiltroRequest filtro) {
+        return FilterSpecification.of(PrestacaoContasSubseccional.class)
+                .contains("mesReferencia", filtro.getMesReferencia())
+                .contains("ano", filtro.getAno())
+                .equal("dtPrevEntr", filtro.getDtPrevEntr())
+                .equal("dtEntrega", filtro.getDtEntrega())
+                .equal("dtPagto", filtro.getDtPagto())
+                .equal("valorDuodecimo", filtro.getValorDuodecimo())
+                .equal("valorDesconto", filtro.getValorDesconto())
+                .equal("valorPago", filtro.getValorPago())
+                .search("protocoloBusca", CampoBusca.PRESTACAO_CONTAS_PROTOCOLO, filtro.getProtocoloSGD())
+                .search("observacaoBusca", CampoBusca.PRESTACAO_CONTAS_OBSERVACAO, filtro.getObservacao())
+                .search("subseccional.subSeccionalBusca", CampoBusca.SUBSECCIONAL_NOME, filtro.getSubseccional())
+                .search("tipoDesconto.nomeBusca", CampoBusca.TIPO_DESCONTO_NOME, filtro.getTipoDesconto())
+                .ativos()
+                .build();
+    }
 }
\ No newline at end of file
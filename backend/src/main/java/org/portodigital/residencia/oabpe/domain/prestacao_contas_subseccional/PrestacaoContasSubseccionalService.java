@@ -1,11 +1,23 @@
 package org.portodigital.residencia.oabpe.domain.prestacao_contas_subseccional;
 
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.portodigital.residencia.oabpe.domain.balancete_cfoab.dto.BalanceteCFOABResponseDTO;
+import org.portodigital.residencia.oabpe.domain.busca.CampoBusca;
+import org.portodigital.residencia.oabpe.domain.busca.TextoBusca;
+import org.portodigital.residencia.oabpe.domain.busca.TrigramaBuscaService;
 import org.portodigital.residencia.oabpe.domain.commons.AbstractFileImportService;
+import org.portodigital.residencia.oabpe.domain.commons.Contagem;
+import org.portodigital.residencia.oabpe.domain.commons.ImportProgress;
+import org.portodigital.residencia.oabpe.domain.commons.ChunkedBatchWriter;
 import org.portodigital.residencia.oabpe.domain.demonstrativo.Demonstrativo;
 import org.portodigital.residencia.oabpe.domain.identidade.model.User;
+import org.portodigital.residencia.oabpe.domain.identidade.service.UserReferenceCache;
 import org.portodigital.residencia.oabpe.domain.prestacao_contas_subseccional.dto.PrestacaoContasSubseccionalFiltroRequest;
 import org.portodigital.residencia.oabpe.domain.prestacao_contas_subseccional.dto.PrestacaoContasSubseccionalRequestDTO;
 import org.portodigital.residencia.oabpe.domain.prestacao_contas_subseccional.dto.PrestacaoContasSubseccionalResponseDTO;
@@ -14,71 +26,102 @@ import org.portodigital.residencia.oabpe.domain.prestacao_contas_subseccional.su
 import org.portodigital.residencia.oabpe.domain.prestacao_contas_subseccional.subseccional.dto.SubseccionalRequest;
 import org.portodigital.residencia.oabpe.domain.prestacao_contas_subseccional.tipo_desconto.TipoDesconto;
 import org.portodigital.residencia.oabpe.domain.prestacao_contas_subseccional.tipo_desconto.TipoDescontoRepository;
+import org.portodigital.residencia.oabpe.domain.commons.ExportFormat;
+import org.portodigital.residencia.oabpe.domain.commons.StreamingExporter;
+import org.portodigital.residencia.oabpe.domain.commons.ProjectionQuery;
+import org.portodigital.residencia.oabpe.domain.resumo.ResumoChave;
+import org.portodigital.residencia.oabpe.domain.resumo.ResumoService;
 import org.portodigital.residencia.oabpe.exception.EntityNotFoundException;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
+import java.time.LocalDateTime;
 import java.time.LocalDate;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Arrays;
+import java.util.Set;
+import java.math.BigDecimal;
 
 @Service
 @RequiredArgsConstructor
 public class PrestacaoContasSubseccionalService extends AbstractFileImportService<PrestacaoContasSubseccionalRequestDTO> {
 
+    private static final List<String> EXPORT_COLUMNS = List.of(
+            "ID", "Subseccional", "Referência", "Ano", "Prazo de Entrega", "Data de Entrega", "Data de Pagamento",
+            "Valor Duodécimo", "Valor Desconto", "Tipo Desconto", "Valor Pago", "Protocolo SGD", "Observação");
+
+    private static final String INSERT_SQL = """
+            INSERT INTO prestacao_contas_subseccional
+                (id_subseccional, mes_referencia, ano, dt_prev_entr, dt_entrega, dt_pagto, valor_duodecimo,
+                 valor_desconto, valor_pago, protocolosgd, observacao, protocolo_busca, observacao_busca, status,
+                 id_usuario, id_tipo_desconto, dat_criacao_registro, dat_alteracao_registro)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
     private final PrestacaoContasSubseccionalRepository prestacaoContasSubseccionalRepository;
+    private final StreamingExporter exporter;
+    private final ProjectionQuery projections;
     private final SubseccionalRepository subseccionalRepository;
     private final TipoDescontoRepository tipoDescontoRepository;
     private final PrestacaoContasImportProcessor processor;
-    private final ModelMapper mapper;
-
-    public Page<PrestacaoContasSubseccionalResponseDTO> getAllComFiltro(PrestacaoContasSubseccionalFiltroRequest filtro, Pageable pageable) {
-        return prestacaoContasSubseccionalRepository.findAllByFiltros(filtro, pageable)
-                .map(prestacao -> {
-                    PrestacaoContasSubseccionalResponseDTO dto = mapper.map(prestacao, PrestacaoContasSubseccionalResponseDTO.class);
-                    dto.setSubseccional(prestacao.getSubseccional().getSubSeccional());
-                    dto.setIdSubseccional(prestacao.getSubseccional().getId());
-
-                    Optional.ofNullable(prestacao.getTipoDesconto()).ifPresent(tipoDesconto -> {
-                        dto.setTipoDesconto(tipoDesconto.getNome());
-                        dto.setIdTipoDesconto(tipoDesconto.getId());
-                    });
-
-                    return dto;
-                });
+    private final ChunkedBatchWriter batchWriter;
+    private final TrigramaBuscaService trigramaBuscaService;
+    private final PrestacaoContasSubseccionalMapper mapper;
+    private final ResumoService resumoService;
+    private final UserReferenceCache userReferenceCache;
+
+    public Slice<PrestacaoContasSubseccionalResponseDTO> getAllComFiltro(PrestacaoContasSubseccionalFiltroRequest filtro, Pageable pageable, Contagem contagem) {
+        return projections.slice(PrestacaoContasSubseccional.class, PrestacaoContasSubseccionalResponseDTO.class,
+                PrestacaoContasSubseccionalRepository.byFiltros(filtro), pageable, contagem, filtro, PrestacaoContasSubseccionalService::colunasResposta);
+    }
+
+    // na ordem do construtor de PrestacaoContasSubseccionalResponseDTO; valorPago segue a regra de
+    // PrestacaoContasSubseccional.getValorPago() (duodécimo - desconto) e status vai como texto
+    private static List<Selection<?>> colunasResposta(Root<PrestacaoContasSubseccional> p, CriteriaBuilder cb) {
+        Join<PrestacaoContasSubseccional, ?> subseccional = p.join("subseccional");
+        Join<PrestacaoContasSubseccional, ?> tipoDesconto = p.join("tipoDesconto", JoinType.LEFT);
+        Expression<BigDecimal> valorPago = cb.diff(
+                cb.coalesce(p.<BigDecimal>get("valorDuodecimo"), BigDecimal.ZERO),
+                cb.coalesce(p.<BigDecimal>get("valorDesconto"), BigDecimal.ZERO));
+        return List.of(p.get("id"), p.get("mesReferencia"), p.get("ano"), p.get("dtPrevEntr"), p.get("dtEntrega"),
+                p.get("dtPagto"), p.get("valorDuodecimo"), p.get("valorDesconto"), p.get("protocoloSGD"), p.get("observacao"),
+                cb.<String>selectCase().when(cb.isTrue(p.get("status")), "true").otherwise("false"), valorPago,
+                subseccional.get("subSeccional"), subseccional.get("id"), tipoDesconto.get("nome"), tipoDesconto.get("id"));
+    }
+
+    public StreamingResponseBody export(PrestacaoContasSubseccionalFiltroRequest filtro, ExportFormat formato) {
+        return exporter.export(formato, EXPORT_COLUMNS,
+                () -> exporter.stream(PrestacaoContasSubseccional.class, PrestacaoContasSubseccionalRepository.byFiltros(filtro), PrestacaoContasSubseccionalRepository.FETCH),
+                p -> Arrays.asList(p.getId(), p.getSubseccional().getSubSeccional(), p.getMesReferencia(), p.getAno(), p.getDtPrevEntr(),
+                        p.getDtEntrega(), p.getDtPagto(), p.getValorDuodecimo(), p.getValorDesconto(),
+                        p.getTipoDesconto() != null ? p.getTipoDesconto().getNome() : null, p.getValorPago(),
+                        p.getProtocoloSGD(), p.getObservacao()));
     }
 
     public PrestacaoContasSubseccionalResponseDTO getById(Long id) {
         return prestacaoContasSubseccionalRepository.findById(id)
-                .map(prestacao -> {
-                    PrestacaoContasSubseccionalResponseDTO dto = mapper.map(prestacao, PrestacaoContasSubseccionalResponseDTO.class);
-                    dto.setSubseccional(prestacao.getSubseccional().getSubSeccional());
-                    dto.setIdSubseccional(prestacao.getSubseccional().getId());
-
-                    Optional.ofNullable(prestacao.getTipoDesconto()).ifPresent(tipoDesconto -> {
-                        dto.setTipoDesconto(tipoDesconto.getNome());
-                        dto.setIdTipoDesconto(tipoDesconto.getId());
-                    });
-
-                    return dto;
-                })
+                .map(mapper::toResponse)
                 .orElseThrow(() -> new EntityNotFoundException("Prestação de contas não encontrado."));
     }
 
+    @Transactional
     public void create(PrestacaoContasSubseccionalRequestDTO request) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication == null || authentication.getPrincipal() == null) {
             throw new SecurityException("Acesso não autorizado");
         }
 
-        User user = (User) authentication.getPrincipal();
-        PrestacaoContasSubseccional prestacao = mapper.map(request, PrestacaoContasSubseccional.class);
+        User user = userReferenceCache.of(authentication);
+        PrestacaoContasSubseccional prestacao = mapper.toEntity(request);
 
         LocalDate dtPrevEntr = prestacao.getDtPrevEntr();
         LocalDate dtEntrega = prestacao.getDtEntrega();
@@ -104,16 +147,21 @@ public class PrestacaoContasSubseccionalService extends AbstractFileImportServic
         prestacao.setTipoDesconto(tipoDesconto);
 
         prestacaoContasSubseccionalRepository.save(prestacao);
+        resumoService.recalcularPrestacaoContas(List.of(chave(prestacao)));
     }
 
+    @Transactional
     public PrestacaoContasSubseccionalResponseDTO update(Long id, PrestacaoContasSubseccionalRequestDTO request) {
         PrestacaoContasSubseccional existing = prestacaoContasSubseccionalRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Prestação de contas não encontrada com id: " + id));
+        // subseccional, ano e mês podem mudar: o grupo de origem também precisa ser recalculado
+        ResumoChave anterior = chave(existing);
 
         applyUpdates(request, existing);
 
         PrestacaoContasSubseccional updated = prestacaoContasSubseccionalRepository.save(existing);
-        return mapper.map(updated, PrestacaoContasSubseccionalResponseDTO.class);
+        resumoService.recalcularPrestacaoContas(List.of(anterior, chave(updated)));
+        return mapper.toResponse(updated);
     }
 
     private void applyUpdates(PrestacaoContasSubseccionalRequestDTO request, PrestacaoContasSubseccional existing) {
@@ -140,15 +188,44 @@ public class PrestacaoContasSubseccionalService extends AbstractFileImportServic
         }
     }
 
+    @Transactional
     public void delete(Long id) {
         var existingPrestacao = prestacaoContasSubseccionalRepository.findById(id).orElseThrow(() -> new EntityNotFoundException("Prestação de contas não encontrado."));
         existingPrestacao.setStatus(false);
         prestacaoContasSubseccionalRepository.save(existingPrestacao);
+        resumoService.recalcularPrestacaoContas(List.of(chave(existingPrestacao)));
     }
 
     @Transactional
-    public void importarArquivo(MultipartFile file, User user) throws IOException {
-        List<Object> entidades = importFile(file, user, processor);
-        prestacaoContasSubseccionalRepository.saveAll(entidades.stream().map(e -> (PrestacaoContasSubseccional) e).toList());
+    public void importarArquivo(MultipartFile file, User user, ImportProgress progress) throws IOException {
+        Set<ResumoChave> chaves = new HashSet<>();
+        try (ChunkedBatchWriter.Chunk<PrestacaoContasSubseccional> chunk = batchWriter.open(INSERT_SQL, PrestacaoContasSubseccional.class, p -> {
+            chaves.add(chave(p));
+            return insertParameters(p);
+        })) {
+            importFile(file, user, processor, chunk, progress);
+        }
+        resumoService.recalcularPrestacaoContas(chaves);
+        trigramaBuscaService.indexarPendentes(CampoBusca.PRESTACAO_CONTAS_OBSERVACAO);
+        trigramaBuscaService.indexarPendentes(CampoBusca.PRESTACAO_CONTAS_PROTOCOLO);
+    }
+
+    public void validarArquivo(MultipartFile file, User user, ImportProgress progress) throws IOException {
+        validateFile(file, user, processor, progress);
+    }
+
+    private static ResumoChave chave(PrestacaoContasSubseccional p) {
+        return new ResumoChave(p.getSubseccional().getId(), p.getAno(), p.getMesReferencia());
+    }
+
+    private Object[] insertParameters(PrestacaoContasSubseccional p) {
+        LocalDateTime agora = LocalDateTime.now();
+        return new Object[]{
+                p.getSubseccional().getId(), p.getMesReferencia(), p.getAno(), p.getDtPrevEntr(), p.getDtEntrega(),
+                p.getDtPagto(), p.getValorDuodecimo(), p.getValorDesconto(), p.getValorPago(), p.getProtocoloSGD(),
+                p.getObservacao(), TextoBusca.normalizar(p.getProtocoloSGD()), TextoBusca.normalizar(p.getObservacao()),
+                p.getStatus(), p.getUser().getId(),
+                p.getTipoDesconto() != null ? p.getTipoDesconto().getId() : null, agora, agora
+        };
     }
 }
@@ -4,18 +4,29 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.portodigital.residencia.oabpe.domain.busca.CampoBusca;
+import org.portodigital.residencia.oabpe.domain.busca.Pesquisavel;
+import org.portodigital.residencia.oabpe.domain.busca.TextoBusca;
+import org.portodigital.residencia.oabpe.domain.busca.TrigramaBuscaListener;
 import org.portodigital.residencia.oabpe.domain.identidade.model.User;
 
 import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Map;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
-@Table(name = "Subseccional")
-public class Subseccional {
+@EntityListeners(TrigramaBuscaListener.class)
+@Table(name = "Subseccional", indexes = @Index(name = "ix_subseccional_nome_busca", columnList = "SubSeccionalBusca"))
+public class Subseccional implements Pesquisavel {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -24,10 +35,13 @@ public class Subseccional {
     @Column(name = "SubSeccional", nullable = false, length = 100)
     private String subSeccional;
 
+    @Column(name = "SubSeccionalBusca", length = 100)
+    private String subSeccionalBusca;
+
     @Column(name = "Status", nullable = false)
     private boolean status = true;
 
-    @ManyToOne(optional = false)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "Id_usuario", referencedColumnName = "id")
     private User usuario;
 
@@ -41,4 +55,14 @@ public class Subseccional {
     @UpdateTimestamp
     private LocalDateTime dataAlteracaoRegistro;
 
+    @PrePersist
+    @PreUpdate
+    void normalizarBusca() {
+        subSeccionalBusca = TextoBusca.normalizar(subSeccional);
+    }
+
+    @Override
+    public Map<CampoBusca, String> camposBusca() {
+        return Collections.singletonMap(CampoBusca.SUBSECCIONAL_NOME, subSeccionalBusca);
+    }
 }
\ No newline at end of file
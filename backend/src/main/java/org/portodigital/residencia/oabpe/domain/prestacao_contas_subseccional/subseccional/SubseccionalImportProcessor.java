@@ -5,16 +5,18 @@ import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import org.portodigital.residencia.oabpe.domain.balancete_cfoab.BalanceteCFOAB;
 import org.portodigital.residencia.oabpe.domain.balancete_cfoab.dto.BalanceteCFOABRequestDTO;
+import org.portodigital.residencia.oabpe.domain.commons.DimensionCache;
 import org.portodigital.residencia.oabpe.domain.commons.ImportProcessor;
+import org.portodigital.residencia.oabpe.domain.commons.ImportRow;
 import org.portodigital.residencia.oabpe.domain.identidade.model.User;
 import org.portodigital.residencia.oabpe.domain.prestacao_contas_subseccional.subseccional.dto.SubseccionalRequest;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 
 @Component
 @RequiredArgsConstructor
@@ -28,10 +30,14 @@ public class SubseccionalImportProcessor implements ImportProcessor<Subseccional
     }
 
     @Override
-    public SubseccionalRequest parse(Map<String, String> rowData) {
-        SubseccionalRequest dto = new SubseccionalRequest();
-        dto.setSubSeccional(rowData.get("Seccional"));
-        return dto;
+    public Function<ImportRow, SubseccionalRequest> parser(ImportRow header) {
+        ImportRow.Column nome = header.column("Seccional");
+
+        return row -> {
+            SubseccionalRequest dto = new SubseccionalRequest();
+            dto.setSubSeccional(row.get(nome));
+            return dto;
+        };
     }
 
     @Override
@@ -47,7 +53,7 @@ public class SubseccionalImportProcessor implements ImportProcessor<Subseccional
     }
 
     @Override
-    public Object convertToEntity(SubseccionalRequest dto, User user) {
+    public Object convertToEntity(SubseccionalRequest dto, User user, DimensionCache dimensions) {
         Subseccional entity = new Subseccional();
         entity.setSubSeccional(dto.getSubSeccional());
         entity.setUsuario(user);
@@ -0,0 +1,23 @@
+package org.portodigital.residencia.oabpe.domain.prestacao_contas_subseccional.subseccional;
+
+import org.portodigital.residencia.oabpe.domain.prestacao_contas_subseccional.subseccional.dto.SubseccionalRequest;
+import org.portodigital.residencia.oabpe.domain.prestacao_contas_subseccional.subseccional.dto.SubseccionalResponse;
+import org.springframework.stereotype.Component;
+
+@Component
+public class SubseccionalMapper {
+
+    public SubseccionalResponse toResponse(Subseccional entity) {
+        return new SubseccionalResponse(entity.getId(), entity.getSubSeccional());
+    }
+
+    public Subseccional toEntity(SubseccionalRequest request) {
+        Subseccional entity = new Subseccional();
+        update(request, entity);
+        return entity;
+    }
+
+    public void update(SubseccionalRequest request, Subseccional entity) {
+        entity.setSubSeccional(request.getSubSeccional());
+    }
+}
@@ -1,10 +1,14 @@
 package org.portodigital.residencia.oabpe.domain.prestacao_contas_subseccional.subseccional;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface SubseccionalRepository extends JpaRepository<Subseccional, Long> {
@@ -13,5 +17,10 @@ public interface SubseccionalRepository extends JpaRepository<Subseccional, Long
     Optional<Subseccional> findBySubSeccionalIgnoreCase(String subSeccional);
 
     @Query("SELECT s FROM Subseccional s WHERE s.status = true AND s.subSeccional = :subseccional")
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     Optional<Subseccional> findByNomeAtivo(String subseccional);
+
+    @Query("SELECT s FROM Subseccional s WHERE s.status = true")
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    List<Subseccional> findAllAtivos();
 }
\ No newline at end of file
@@ -1,11 +1,12 @@
 package org.portodigital.residencia.oabpe.domain.prestacao_contas_subseccional.subseccional;
 
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.portodigital.residencia.oabpe.domain.balancete_cfoab.BalanceteCFOAB;
 import org.portodigital.residencia.oabpe.domain.balancete_cfoab.dto.BalanceteCFOABRequestDTO;
 import org.portodigital.residencia.oabpe.domain.commons.AbstractFileImportService;
+import org.portodigital.residencia.oabpe.domain.commons.ImportProgress;
 import org.portodigital.residencia.oabpe.domain.identidade.model.User;
+import org.portodigital.residencia.oabpe.domain.identidade.service.UserReferenceCache;
 import org.portodigital.residencia.oabpe.domain.prestacao_contas_subseccional.subseccional.dto.SubseccionalRequest;
 import org.portodigital.residencia.oabpe.domain.prestacao_contas_subseccional.subseccional.dto.SubseccionalResponse;
 import org.portodigital.residencia.oabpe.exception.EntityNotFoundException;
@@ -26,40 +27,40 @@ public class SubseccionalService extends AbstractFileImportService<SubseccionalR
 
     private final SubseccionalRepository subseccionalRepository;
     private final SubseccionalImportProcessor processor;
-    private final ModelMapper modelMapper;
+    private final SubseccionalMapper mapper;
+    private final UserReferenceCache userReferenceCache;
 
     public Page<SubseccionalResponse> getAll(String nome, Pageable pageable) {
         Page<Subseccional> page = subseccionalRepository
                 .findBySubSeccionalContainingIgnoreCaseAndStatusTrue(nome != null ? nome : "", pageable);
 
-        return page.map(subseccional -> modelMapper.map(subseccional, SubseccionalResponse.class));
+        return page.map(mapper::toResponse);
     }
 
     public SubseccionalResponse getById(Long id) {
         Subseccional subseccional = subseccionalRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Subseccional não encontrada com id: " + id));
-        return modelMapper.map(subseccional, SubseccionalResponse.class);
+        return mapper.toResponse(subseccional);
     }
 
     public SubseccionalResponse create(SubseccionalRequest request) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        User user = (User) authentication.getPrincipal();
-        Subseccional subseccional = new Subseccional();
-        subseccional.setSubSeccional(request.getSubSeccional());
+        User user = userReferenceCache.of(authentication);
+        Subseccional subseccional = mapper.toEntity(request);
         subseccional.setUsuario(user);
         Subseccional saved = subseccionalRepository.save(subseccional);
-        return modelMapper.map(saved, SubseccionalResponse.class);
+        return mapper.toResponse(saved);
     }
 
     public SubseccionalResponse update(Long id, SubseccionalRequest request) {
         Subseccional existing = subseccionalRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Subseccional não encontrada com id: " + id));
 
-        existing.setSubSeccional(request.getSubSeccional());
+        mapper.update(request, existing);
 
         Subseccional updated = subseccionalRepository.save(existing);
 
-        return modelMapper.map(updated, SubseccionalResponse.class);
+        return mapper.toResponse(updated);
     }
 
     public void softDelete(Long id) {
@@ -70,8 +71,12 @@ public class SubseccionalService extends AbstractFileImportService<SubseccionalR
     }
 
     @Transactional
-    public void importarArquivo(MultipartFile file, User user) throws IOException {
-        List<Object> entidades = importFile(file, user, processor);
+    public void importarArquivo(MultipartFile file, User user, ImportProgress progress) throws IOException {
+        List<Object> entidades = importFile(file, user, processor, progress);
         subseccionalRepository.saveAll(entidades.stream().map(e -> (Subseccional) e).toList());
     }
+
+    public void validarArquivo(MultipartFile file, User user, ImportProgress progress) throws IOException {
+        validateFile(file, user, processor, progress);
+    }
 }
\ No newline at end of file
@@ -4,18 +4,29 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.portodigital.residencia.oabpe.domain.busca.CampoBusca;
+import org.portodigital.residencia.oabpe.domain.busca.Pesquisavel;
+import org.portodigital.residencia.oabpe.domain.busca.TextoBusca;
+import org.portodigital.residencia.oabpe.domain.busca.TrigramaBuscaListener;
 import org.portodigital.residencia.oabpe.domain.identidade.model.User;
 
 import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Map;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
-@Table(name = "TipoDesconto")
-public class TipoDesconto {
+@EntityListeners(TrigramaBuscaListener.class)
+@Table(name = "TipoDesconto", indexes = @Index(name = "ix_tipo_desconto_nome_busca", columnList = "NomeBusca"))
+public class TipoDesconto implements Pesquisavel {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -24,10 +35,13 @@ public class TipoDesconto {
     @Column(name = "Nome", nullable = false, length = 100)
     private String nome;
 
+    @Column(name = "NomeBusca", length = 100)
+    private String nomeBusca;
+
     @Column(name = "Status", nullable = false)
     private boolean status = true;
 
-    @ManyToOne(optional = false)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "Id_usuario", referencedColumnName = "id")
     private User user;
 
@@ -40,4 +54,15 @@ public class TipoDesconto {
     @Temporal(TemporalType.TIMESTAMP)
     @UpdateTimestamp
     private LocalDateTime dataAlteracaoRegistro;
+
+    @PrePersist
+    @PreUpdate
+    void normalizarBusca() {
+        nomeBusca = TextoBusca.normalizar(nome);
+    }
+
+    @Override
+    public Map<CampoBusca, String> camposBusca() {
+        return Collections.singletonMap(CampoBusca.TIPO_DESCONTO_NOME, nomeBusca);
+    }
 }
\ No newline at end of file
@@ -3,13 +3,15 @@ package org.portodigital.residencia.oabpe.domain.prestacao_contas_subseccional.t
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.portodigital.residencia.oabpe.domain.commons.DimensionCache;
 import org.portodigital.residencia.oabpe.domain.commons.ImportProcessor;
+import org.portodigital.residencia.oabpe.domain.commons.ImportRow;
 import org.portodigital.residencia.oabpe.domain.identidade.model.User;
 import org.portodigital.residencia.oabpe.domain.prestacao_contas_subseccional.tipo_desconto.dto.TipoDescontoRequest;
 import org.springframework.stereotype.Component;
 
-import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
 
 @Component
 @RequiredArgsConstructor
@@ -23,10 +25,14 @@ public class TipoDescontoImportProcessor implements ImportProcessor<TipoDesconto
     }
 
     @Override
-    public TipoDescontoRequest parse(Map<String, String> rowData) {
-        TipoDescontoRequest dto = new TipoDescontoRequest();
-        dto.setNome(rowData.get("Tipo Desconto"));
-        return dto;
+    public Function<ImportRow, TipoDescontoRequest> parser(ImportRow header) {
+        ImportRow.Column nome = header.column("Tipo Desconto");
+
+        return row -> {
+            TipoDescontoRequest dto = new TipoDescontoRequest();
+            dto.setNome(row.get(nome));
+            return dto;
+        };
     }
 
     @Override
@@ -42,7 +48,7 @@ public class TipoDescontoImportProcessor implements ImportProcessor<TipoDesconto
     }
 
     @Override
-    public Object convertToEntity(TipoDescontoRequest dto, User user) {
+    public Object convertToEntity(TipoDescontoRequest dto, User user, DimensionCache dimensions) {
         TipoDesconto entity = new TipoDesconto();
         entity.setNome(dto.getNome());
         entity.setUser(user);
@@ -0,0 +1,26 @@
+package org.portodigital.residencia.oabpe.domain.prestacao_contas_subseccional.tipo_desconto;
+
+import org.portodigital.residencia.oabpe.domain.prestacao_contas_subseccional.tipo_desconto.dto.TipoDescontoRequest;
+import org.portodigital.residencia.oabpe.domain.prestacao_contas_subseccional.tipo_desconto.dto.TipoDescontoResponse;
+import org.springframework.stereotype.Component;
+
+@Component
+public class TipoDescontoMapper {
+
+    public TipoDescontoResponse toResponse(TipoDesconto entity) {
+        TipoDescontoResponse dto = new TipoDescontoResponse();
+        dto.setId(entity.getId());
+        dto.setNome(entity.getNome());
+        return dto;
+    }
+
+    public TipoDesconto toEntity(TipoDescontoRequest request) {
+        TipoDesconto entity = new TipoDesconto();
+        update(request, entity);
+        return entity;
+    }
+
+    public void update(TipoDescontoRequest request, TipoDesconto entity) {
+        entity.setNome(request.getNome());
+    }
+}
@@ -1,5 +1,7 @@
 package org.portodigital.residencia.oabpe.domain.prestacao_contas_subseccional.tipo_desconto;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.portodigital.residencia.oabpe.domain.demonstrativo.Demonstrativo;
 import org.portodigital.residencia.oabpe.domain.prestacao_contas_subseccional.tipo_desconto.dto.TipoDescontoRequest;
 import org.portodigital.residencia.oabpe.domain.prestacao_contas_subseccional.tipo_desconto.dto.TipoDescontoResponse;
@@ -7,16 +9,24 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface TipoDescontoRepository extends JpaRepository<TipoDesconto, Long> {
     @Query("SELECT t FROM TipoDesconto t WHERE t.status = true")
     Page<TipoDesconto> findAllAtivos(Pageable pageable);
 
+    @Query("SELECT t FROM TipoDesconto t WHERE t.status = true")
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    List<TipoDesconto> findAllAtivos();
+
     @Query("SELECT t FROM TipoDesconto t WHERE t.status = true AND t.id = :id")
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     Optional<TipoDesconto> findByIdAtivo(Long id);
 
     @Query("SELECT t FROM TipoDesconto t WHERE t.status = true AND t.nome = :nome")
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     Optional<TipoDesconto> findByNomeAtivo(String nome);
 }
\ No newline at end of file
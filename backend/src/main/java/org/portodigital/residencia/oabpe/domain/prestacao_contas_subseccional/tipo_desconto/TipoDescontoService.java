@@ -1,11 +1,12 @@
 package org.portodigital.residencia.oabpe.domain.prestacao_contas_subseccional.tipo_desconto;
 
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.portodigital.residencia.oabpe.domain.commons.AbstractFileImportService;
+import org.portodigital.residencia.oabpe.domain.commons.ImportProgress;
 import org.portodigital.residencia.oabpe.domain.demonstrativo.Demonstrativo;
 import org.portodigital.residencia.oabpe.domain.demonstrativo.dto.DemonstrativoResponseDTO;
 import org.portodigital.residencia.oabpe.domain.identidade.model.User;
+import org.portodigital.residencia.oabpe.domain.identidade.service.UserReferenceCache;
 import org.portodigital.residencia.oabpe.domain.prestacao_contas_subseccional.tipo_desconto.dto.TipoDescontoRequest;
 import org.portodigital.residencia.oabpe.domain.prestacao_contas_subseccional.tipo_desconto.dto.TipoDescontoResponse;
 import org.portodigital.residencia.oabpe.exception.EntityNotFoundException;
@@ -26,16 +27,17 @@ public class TipoDescontoService extends AbstractFileImportService<TipoDescontoR
 
     private final TipoDescontoRepository tipoDescontoRepository;
     private final TipoDescontoImportProcessor processor;
-    private final ModelMapper modelMapper;
+    private final TipoDescontoMapper mapper;
+    private final UserReferenceCache userReferenceCache;
 
     public Page<TipoDescontoResponse> getAll(String nome, Pageable pageable) {
         return tipoDescontoRepository.findAllAtivos(pageable)
-                .map(tipodesconto -> modelMapper.map(tipodesconto, TipoDescontoResponse.class));
+                .map(mapper::toResponse);
     }
 
     public TipoDescontoResponse getById(Long id) {
         return tipoDescontoRepository.findByIdAtivo(id)
-                .map(tipodesconto -> modelMapper.map(tipodesconto, TipoDescontoResponse.class))
+                .map(mapper::toResponse)
                 .orElseThrow(() -> new EntityNotFoundException("Tipo de Desconto não encontrado."));
     }
 
@@ -44,20 +46,20 @@ public class TipoDescontoService extends AbstractFileImportService<TipoDescontoR
         if (authentication == null || authentication.getPrincipal() == null) {
             throw new SecurityException("Acesso não autorizado");
         }
-        User user = (User) authentication.getPrincipal();
-        TipoDesconto tipodesconto = modelMapper.map(request, TipoDesconto.class);
+        User user = userReferenceCache.of(authentication);
+        TipoDesconto tipodesconto = mapper.toEntity(request);
         tipodesconto.setUser(user);
         TipoDesconto savedTipoDesconto = tipoDescontoRepository.save(tipodesconto);
-        return modelMapper.map(savedTipoDesconto, TipoDescontoResponse.class);
+        return mapper.toResponse(savedTipoDesconto);
     }
 
     public TipoDescontoResponse update(Long id, TipoDescontoRequest request) {
         TipoDesconto existing = tipoDescontoRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Tipo de Desconto não encontrado com id: " + id));
 
-        modelMapper.map(request, existing);
+        mapper.update(request, existing);
         TipoDesconto updated = tipoDescontoRepository.save(existing);
-        return modelMapper.map(updated, TipoDescontoResponse.class);
+        return mapper.toResponse(updated);
     }
 
     public void delete(Long id) {
@@ -68,8 +70,12 @@ public class TipoDescontoService extends AbstractFileImportService<TipoDescontoR
     }
 
     @Transactional
-    public void importarArquivo(MultipartFile file, User user) throws IOException {
-        List<Object> entidades = importFile(file, user, processor);
-        tipoDescontoRepository.saveAll(entidades.stream().map(e -> modelMapper.map(e, TipoDesconto.class)).toList());
+    public void importarArquivo(MultipartFile file, User user, ImportProgress progress) throws IOException {
+        List<Object> entidades = importFile(file, user, processor, progress);
+        tipoDescontoRepository.saveAll(entidades.stream().map(e -> (TipoDesconto) e).toList());
+    }
+
+    public void validarArquivo(MultipartFile file, User user, ImportProgress progress) throws IOException {
+        validateFile(file, user, processor, progress);
     }
 }
\ No newline at end of file
@@ -0,0 +1,14 @@
+package org.portodigital.residencia.oabpe.domain.resumo;
+
+// Grupo de um resumo: instituição (cotas) ou subseccional (prestação de contas) + ano + mês de referência
+public record ResumoChave(Long entidadeId, String ano, String mesReferencia) implements Comparable<ResumoChave> {
+
+    // ordem fixa para que lotes concorrentes travem os grupos sempre na mesma sequência
+    @Override
+    public int compareTo(ResumoChave outra) {
+        int cmp = entidadeId.compareTo(outra.entidadeId);
+        if (cmp == 0) cmp = ano.compareTo(outra.ano);
+        if (cmp == 0) cmp = mesReferencia.compareTo(outra.mesReferencia);
+        return cmp;
+    }
+}
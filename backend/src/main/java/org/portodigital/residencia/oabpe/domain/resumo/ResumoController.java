@@ -0,0 +1,61 @@
+package org.portodigital.residencia.oabpe.domain.resumo;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.portodigital.residencia.oabpe.domain.resumo.dto.ResumoPagamentoCotasDTO;
+import org.portodigital.residencia.oabpe.domain.resumo.dto.ResumoPrestacaoContasDTO;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/v1/resumo")
+@RequiredArgsConstructor
+@Tag(name = "Resumo financeiro", description = "Totais mensais de pagamento de cotas e prestação de contas para os painéis")
+public class ResumoController {
+
+    private final ResumoService resumoService;
+
+    @Operation(
+            summary = "Resumo de Pagamentos de Cotas",
+            description = "Retorna, por instituição e mês do ano informado, a quantidade de pagamentos ativos e os " +
+                    "totais de duodécimo, desconto e valor pago"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Resumo recuperado com sucesso"),
+            @ApiResponse(responseCode = "403", description = "Acesso não autorizado")
+    })
+    @GetMapping("/pagamento-cotas")
+    @PreAuthorize("hasPermission('modulo_pagamento_cotas', 'LEITURA')")
+    public ResponseEntity<List<ResumoPagamentoCotasDTO>> getPagamentoCotas(
+            @Parameter(description = "Ano de referência") @RequestParam String ano,
+            @Parameter(description = "Restringe o resumo a uma instituição") @RequestParam(required = false) Long instituicaoId) {
+        return ResponseEntity.ok(resumoService.getPagamentoCotas(ano, instituicaoId));
+    }
+
+    @Operation(
+            summary = "Resumo de Prestações de Contas",
+            description = "Retorna, por subseccional e mês do ano informado, a quantidade de prestações ativas e os " +
+                    "totais de duodécimo, desconto e valor pago"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Resumo recuperado com sucesso"),
+            @ApiResponse(responseCode = "403", description = "Acesso não autorizado")
+    })
+    @GetMapping("/prestacao-contas")
+    @PreAuthorize("hasPermission('modulo_prestacao_contas_subseccional', 'LEITURA')")
+    public ResponseEntity<List<ResumoPrestacaoContasDTO>> getPrestacaoContas(
+            @Parameter(description = "Ano de referência") @RequestParam String ano,
+            @Parameter(description = "Restringe o resumo a uma subseccional") @RequestParam(required = false) Long subseccionalId) {
+        return ResponseEntity.ok(resumoService.getPrestacaoContas(ano, subseccionalId));
+    }
+}
@@ -0,0 +1,45 @@
+package org.portodigital.residencia.oabpe.domain.resumo;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+import org.portodigital.residencia.oabpe.domain.instituicao.Instituicao;
+
+import java.math.BigDecimal;
+
+// Totais dos pagamentos de cotas ativos por instituição, ano e mês. Mantido por ResumoService
+@Getter
+@NoArgsConstructor
+@Entity
+@Immutable
+@Table(name = "ResumoPagamentoCotas",
+        uniqueConstraints = @UniqueConstraint(name = "uk_resumo_pagamento_cotas_chave", columnNames = {"Id_Instit", "AnoRef", "MesRef"}),
+        indexes = @Index(name = "ix_resumo_pagamento_cotas_ano", columnList = "AnoRef"))
+public class ResumoPagamentoCotas {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "Id_Instit", referencedColumnName = "id", nullable = false)
+    private Instituicao instituicao;
+
+    @Column(length = 10, name = "MesRef", nullable = false)
+    private String mesReferencia;
+
+    @Column(length = 4, name = "AnoRef", nullable = false)
+    private String ano;
+
+    @Column(name = "Quantidade", nullable = false)
+    private Long quantidade;
+
+    @Column(name = "TotalDuodecimo", precision = 19, scale = 2, nullable = false)
+    private BigDecimal totalDuodecimo;
+
+    @Column(name = "TotalDesconto", precision = 19, scale = 2, nullable = false)
+    private BigDecimal totalDesconto;
+
+    @Column(name = "TotalPago", precision = 19, scale = 2, nullable = false)
+    private BigDecimal totalPago;
+}
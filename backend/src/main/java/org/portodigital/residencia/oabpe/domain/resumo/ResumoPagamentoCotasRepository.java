@@ -0,0 +1,19 @@
+package org.portodigital.residencia.oabpe.domain.resumo;
+
+import org.portodigital.residencia.oabpe.domain.resumo.dto.ResumoPagamentoCotasDTO;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface ResumoPagamentoCotasRepository extends JpaRepository<ResumoPagamentoCotas, Long> {
+
+    @Query("""
+            SELECT new org.portodigital.residencia.oabpe.domain.resumo.dto.ResumoPagamentoCotasDTO(
+                i.id, i.nome, r.ano, r.mesReferencia, r.quantidade, r.totalDuodecimo, r.totalDesconto, r.totalPago)
+            FROM ResumoPagamentoCotas r JOIN r.instituicao i
+            WHERE r.ano = :ano AND (:instituicaoId IS NULL OR i.id = :instituicaoId)
+            ORDER BY i.nome, r.mesReferencia
+            """)
+    List<ResumoPagamentoCotasDTO> findByAno(String ano, Long instituicaoId);
+}
@@ -0,0 +1,45 @@
+package org.portodigital.residencia.oabpe.domain.resumo;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+import org.portodigital.residencia.oabpe.domain.prestacao_contas_subseccional.subseccional.Subseccional;
+
+import java.math.BigDecimal;
+
+// Totais das prestações de contas ativas por subseccional, ano e mês. Mantido por ResumoService
+@Getter
+@NoArgsConstructor
+@Entity
+@Immutable
+@Table(name = "ResumoPrestacaoContas",
+        uniqueConstraints = @UniqueConstraint(name = "uk_resumo_prestacao_contas_chave", columnNames = {"Id_Subseccional", "Ano", "MesReferencia"}),
+        indexes = @Index(name = "ix_resumo_prestacao_contas_ano", columnList = "Ano"))
+public class ResumoPrestacaoContas {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "Id_Subseccional", referencedColumnName = "id", nullable = false)
+    private Subseccional subseccional;
+
+    @Column(name = "MesReferencia", nullable = false, length = 10)
+    private String mesReferencia;
+
+    @Column(name = "Ano", nullable = false, length = 4)
+    private String ano;
+
+    @Column(name = "Quantidade", nullable = false)
+    private Long quantidade;
+
+    @Column(name = "TotalDuodecimo", precision = 15, scale = 2, nullable = false)
+    private BigDecimal totalDuodecimo;
+
+    @Column(name = "TotalDesconto", precision = 15, scale = 2, nullable = false)
+    private BigDecimal totalDesconto;
+
+    @Column(name = "TotalPago", precision = 15, scale = 2, nullable = false)
+    private BigDecimal totalPago;
+}
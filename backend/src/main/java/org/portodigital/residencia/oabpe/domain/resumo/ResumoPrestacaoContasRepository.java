@@ -0,0 +1,19 @@
+package org.portodigital.residencia.oabpe.domain.resumo;
+
+import org.portodigital.residencia.oabpe.domain.resumo.dto.ResumoPrestacaoContasDTO;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface ResumoPrestacaoContasRepository extends JpaRepository<ResumoPrestacaoContas, Long> {
+
+    @Query("""
+            SELECT new org.portodigital.residencia.oabpe.domain.resumo.dto.ResumoPrestacaoContasDTO(
+                s.id, s.subSeccional, r.ano, r.mesReferencia, r.quantidade, r.totalDuodecimo, r.totalDesconto, r.totalPago)
+            FROM ResumoPrestacaoContas r JOIN r.subseccional s
+            WHERE r.ano = :ano AND (:subseccionalId IS NULL OR s.id = :subseccionalId)
+            ORDER BY s.subSeccional, r.mesReferencia
+            """)
+    List<ResumoPrestacaoContasDTO> findByAno(String ano, Long subseccionalId);
+}
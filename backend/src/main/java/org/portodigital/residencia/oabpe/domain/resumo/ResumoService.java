@@ -0,0 +1,103 @@
+package org.portodigital.residencia.oabpe.domain.resumo;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.portodigital.residencia.oabpe.domain.resumo.dto.ResumoPagamentoCotasDTO;
+import org.portodigital.residencia.oabpe.domain.resumo.dto.ResumoPrestacaoContasDTO;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+
+// Os resumos são recalculados por grupo (entidade + ano + mês) a partir das linhas ativas, no mesmo
+// lote de quem gravou. Cada grupo lê só as próprias linhas pelo índice da chave, então o custo
+// não cresce com o histórico e não há deriva acumulada como num incremento por diferença
+@Service
+@RequiredArgsConstructor
+public class ResumoService {
+
+    private static final String RECALCULO_PAGAMENTO_COTAS_SQL = """
+            MERGE resumo_pagamento_cotas WITH (HOLDLOCK) AS r
+            USING (
+                SELECT k.id_instit, k.ano_ref, k.mes_ref, a.quantidade, a.total_duodecimo, a.total_desconto, a.total_pago
+                FROM (VALUES (?, ?, ?)) AS k (id_instit, ano_ref, mes_ref)
+                CROSS APPLY (
+                    SELECT COUNT(*), COALESCE(SUM(p.valor_duodecimo), 0), COALESCE(SUM(p.valor_desconto), 0),
+                           COALESCE(SUM(p.valor_pago), 0)
+                    FROM pagamento_cotas p
+                    WHERE p.id_instit = k.id_instit AND p.ano_ref = k.ano_ref AND p.mes_ref = k.mes_ref AND p.status = 1
+                ) AS a (quantidade, total_duodecimo, total_desconto, total_pago)
+            ) AS s
+            ON r.id_instit = s.id_instit AND r.ano_ref = s.ano_ref AND r.mes_ref = s.mes_ref
+            WHEN MATCHED AND s.quantidade = 0 THEN
+                DELETE
+            WHEN MATCHED THEN
+                UPDATE SET quantidade = s.quantidade, total_duodecimo = s.total_duodecimo,
+                           total_desconto = s.total_desconto, total_pago = s.total_pago
+            WHEN NOT MATCHED AND s.quantidade > 0 THEN
+                INSERT (id_instit, ano_ref, mes_ref, quantidade, total_duodecimo, total_desconto, total_pago)
+                VALUES (s.id_instit, s.ano_ref, s.mes_ref, s.quantidade, s.total_duodecimo, s.total_desconto, s.total_pago);
+            """;
+
+    // valor pago segue a regra de PrestacaoContasSubseccional.getValorPago() (duodécimo - desconto)
+    private static final String RECALCULO_PRESTACAO_CONTAS_SQL = """
+            MERGE resumo_prestacao_contas WITH (HOLDLOCK) AS r
+            USING (
+                SELECT k.id_subseccional, k.ano, k.mes_referencia, a.quantidade, a.total_duodecimo, a.total_desconto, a.total_pago
+                FROM (VALUES (?, ?, ?)) AS k (id_subseccional, ano, mes_referencia)
+                CROSS APPLY (
+                    SELECT COUNT(*), COALESCE(SUM(p.valor_duodecimo), 0), COALESCE(SUM(p.valor_desconto), 0),
+                           COALESCE(SUM(COALESCE(p.valor_duodecimo, 0) - COALESCE(p.valor_desconto, 0)), 0)
+                    FROM prestacao_contas_subseccional p
+                    WHERE p.id_subseccional = k.id_subseccional AND p.ano = k.ano
+                      AND p.mes_referencia = k.mes_referencia AND p.status = 1
+                ) AS a (quantidade, total_duodecimo, total_desconto, total_pago)
+            ) AS s
+            ON r.id_subseccional = s.id_subseccional AND r.ano = s.ano AND r.mes_referencia = s.mes_referencia
+            WHEN MATCHED AND s.quantidade = 0 THEN
+                DELETE
+            WHEN MATCHED THEN
+                UPDATE SET quantidade = s.quantidade, total_duodecimo = s.total_duodecimo,
+                           total_desconto = s.total_desconto, total_pago = s.total_pago
+            WHEN NOT MATCHED AND s.quantidade > 0 THEN
+                INSERT (id_subseccional, ano, mes_referencia, quantidade, total_duodecimo, total_desconto, total_pago)
+                VALUES (s.id_subseccional, s.ano, s.mes_referencia, s.quantidade, s.total_duodecimo, s.total_desconto, s.total_pago);
+            """;
+
+    private final ResumoPagamentoCotasRepository resumoPagamentoCotasRepository;
+    private final ResumoPrestacaoContasRepository resumoPrestacaoContasRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+
+    public List<ResumoPagamentoCotasDTO> getPagamentoCotas(String ano, Long instituicaoId) {
+        return resumoPagamentoCotasRepository.findByAno(ano, instituicaoId);
+    }
+
+    public List<ResumoPrestacaoContasDTO> getPrestacaoContas(String ano, Long subseccionalId) {
+        return resumoPrestacaoContasRepository.findByAno(ano, subseccionalId);
+    }
+
+    @Transactional
+    public void recalcularPagamentoCotas(Collection<ResumoChave> chaves) {
+        recalcular(RECALCULO_PAGAMENTO_COTAS_SQL, chaves);
+    }
+
+    @Transactional
+    public void recalcularPrestacaoContas(Collection<ResumoChave> chaves) {
+        recalcular(RECALCULO_PRESTACAO_CONTAS_SQL, chaves);
+    }
+
+    private void recalcular(String sql, Collection<ResumoChave> chaves) {
+        if (chaves.isEmpty()) return;
+
+        // o recálculo lê a tabela de origem, então as alterações pendentes do JPA precisam estar nela
+        entityManager.flush();
+        List<Object[]> parametros = new TreeSet<>(chaves).stream()
+                .map(c -> new Object[]{c.entidadeId(), c.ano(), c.mesReferencia()})
+                .toList();
+        jdbcTemplate.batchUpdate(sql, parametros);
+    }
+}
@@ -0,0 +1,22 @@
+package org.portodigital.residencia.oabpe.domain.resumo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ResumoPagamentoCotasDTO {
+
+    private Long instituicaoId;
+    private String instituicaoNome;
+    private String ano;
+    private String mesReferencia;
+    private Long quantidade;
+    private BigDecimal totalDuodecimo;
+    private BigDecimal totalDesconto;
+    private BigDecimal totalPago;
+}
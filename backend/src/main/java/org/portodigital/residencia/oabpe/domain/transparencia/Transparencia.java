@@ -22,7 +22,7 @@ public class Transparencia {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @ManyToOne(optional = false)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "Id_demonstrativo", referencedColumnName = "id")
     private Demonstrativo demonstrativo;
 
@@ -44,7 +44,7 @@ public class Transparencia {
     @Column(name = "Status", nullable = false)
     private boolean status = true;
 
-    @ManyToOne(optional = false)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "Id_usuario", referencedColumnName = "id")
     private User user;
 
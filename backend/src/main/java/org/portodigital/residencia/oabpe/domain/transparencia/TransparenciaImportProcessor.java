@@ -5,26 +5,27 @@ import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import org.portodigital.residencia.oabpe.domain.balancete_cfoab.dto.BalanceteCFOABRequestDTO;
+import org.portodigital.residencia.oabpe.domain.commons.DimensionCache;
 import org.portodigital.residencia.oabpe.domain.commons.ImportProcessor;
+import org.portodigital.residencia.oabpe.domain.commons.ImportRow;
 import org.portodigital.residencia.oabpe.domain.demonstrativo.Demonstrativo;
-import org.portodigital.residencia.oabpe.domain.demonstrativo.DemonstrativoRepository;
 import org.portodigital.residencia.oabpe.domain.identidade.model.User;
 import org.portodigital.residencia.oabpe.domain.transparencia.dto.TransparenciaRequestDTO;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.Map;
+import java.util.function.Function;
 
 @Component
 @RequiredArgsConstructor
 public class TransparenciaImportProcessor implements ImportProcessor<TransparenciaRequestDTO> {
 
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("d/M/yyyy");
+
     private final Validator validator;
-    private final DemonstrativoRepository demonstrativoRepository;
 
 
     @Override
@@ -33,20 +34,27 @@ public class TransparenciaImportProcessor implements ImportProcessor<Transparenc
     }
 
     @Override
-    public TransparenciaRequestDTO parse(Map<String, String> rowData) {
-        TransparenciaRequestDTO dto = new TransparenciaRequestDTO();
-        dto.setDemonstrativoNome(rowData.get("Demonstrativo"));
-        dto.setReferencia(rowData.get("Referencia"));
-        dto.setAno(rowData.get("Ano"));
-        dto.setPeriodicidade(rowData.get("Periodicidade"));
-        dto.setDtPrevEntr(LocalDate.parse(rowData.get("Previsao"), DateTimeFormatter.ofPattern("d/M/yyyy")));
-        dto.setDtEntrega(Optional.ofNullable(rowData.get("DataEntrega"))
-                .filter(s -> !s.isBlank())
-                .map(d -> LocalDate.parse(d, DateTimeFormatter.ofPattern("d/M/yyyy")))
-                .orElse(null));
-
+    public Function<ImportRow, TransparenciaRequestDTO> parser(ImportRow header) {
+        ImportRow.Column demonstrativo = header.column("Demonstrativo");
+        ImportRow.Column referencia = header.column("Referencia");
+        ImportRow.Column ano = header.column("Ano");
+        ImportRow.Column periodicidade = header.column("Periodicidade");
+        ImportRow.Column previsao = header.column("Previsao");
+        ImportRow.Column dataEntrega = header.column("DataEntrega");
 
-        return dto;
+        return row -> {
+            TransparenciaRequestDTO dto = new TransparenciaRequestDTO();
+            dto.setDemonstrativoNome(row.get(demonstrativo));
+            dto.setReferencia(row.get(referencia));
+            dto.setAno(row.get(ano));
+            dto.setPeriodicidade(row.get(periodicidade));
+            dto.setDtPrevEntr(row.get(previsao, v -> LocalDate.parse(v, DATE_FORMATTER)));
+            dto.setDtEntrega(row.get(dataEntrega, v -> Optional.ofNullable(v)
+                    .filter(s -> !s.isBlank())
+                    .map(d -> LocalDate.parse(d, DATE_FORMATTER))
+                    .orElse(null)));
+            return dto;
+        };
     }
 
     @Override
@@ -62,10 +70,10 @@ public class TransparenciaImportProcessor implements ImportProcessor<Transparenc
     }
 
     @Override
-    public Object convertToEntity(TransparenciaRequestDTO dto, User user) {
+    public Object convertToEntity(TransparenciaRequestDTO dto, User user, DimensionCache dimensions) {
 
         Demonstrativo demonstrativo =
-                demonstrativoRepository.findByNomeAtivo(dto.getDemonstrativoNome()).orElseThrow(() -> new EntityNotFoundException(
+                dimensions.findDemonstrativo(dto.getDemonstrativoNome()).orElseThrow(() -> new EntityNotFoundException(
                         "Demonstrativo não encontrado com ID: " + dto.getDemonstrativoNome()));
 
         Transparencia entity = new Transparencia();
@@ -0,0 +1,36 @@
+package org.portodigital.residencia.oabpe.domain.transparencia;
+
+import org.portodigital.residencia.oabpe.domain.transparencia.dto.TransparenciaRequestDTO;
+import org.portodigital.residencia.oabpe.domain.transparencia.dto.TransparenciaResponseDTO;
+import org.springframework.stereotype.Component;
+
+@Component
+public class TransparenciaMapper {
+
+    public TransparenciaResponseDTO toResponse(Transparencia entity) {
+        TransparenciaResponseDTO dto = new TransparenciaResponseDTO();
+        dto.setId(entity.getId());
+        if (entity.getDemonstrativo() != null) {
+            dto.setDemonstrativoId(entity.getDemonstrativo().getId());
+            dto.setNomeDemonstrativo(entity.getDemonstrativo().getNome());
+        }
+        dto.setReferencia(entity.getReferencia());
+        dto.setAno(entity.getAno());
+        dto.setPeriodicidade(entity.getPeriodicidade());
+        dto.setDtPrevEntr(entity.getDtPrevEntr());
+        dto.setDtEntrega(entity.getDtEntrega());
+        dto.setStatus(entity.isStatus());
+        return dto;
+    }
+
+    // o demonstrativo chega por nome e é resolvido pelo service
+    public Transparencia toEntity(TransparenciaRequestDTO request) {
+        Transparencia entity = new Transparencia();
+        entity.setReferencia(request.getReferencia());
+        entity.setAno(request.getAno());
+        entity.setPeriodicidade(request.getPeriodicidade());
+        entity.setDtPrevEntr(request.getDtPrevEntr());
+        entity.setDtEntrega(request.getDtEntrega());
+        return entity;
+    }
+}
@@ -1,57 +1,107 @@
 package org.portodigital.residencia.oabpe.domain.transparencia;
 
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.portodigital.residencia.oabpe.domain.balancete_cfoab.BalanceteCFOAB;
 import org.portodigital.residencia.oabpe.domain.balancete_cfoab.dto.BalanceteCFOABRequestDTO;
 import org.portodigital.residencia.oabpe.domain.balancete_cfoab.dto.BalanceteCFOABResponseDTO;
 import org.portodigital.residencia.oabpe.domain.commons.AbstractFileImportService;
+import org.portodigital.residencia.oabpe.domain.commons.Contagem;
+import org.portodigital.residencia.oabpe.domain.commons.ImportProgress;
+import org.portodigital.residencia.oabpe.domain.commons.ChunkedBatchWriter;
 import org.portodigital.residencia.oabpe.domain.demonstrativo.Demonstrativo;
 import org.portodigital.residencia.oabpe.domain.demonstrativo.DemonstrativoRepository;
 import org.portodigital.residencia.oabpe.domain.identidade.model.User;
+import org.portodigital.residencia.oabpe.domain.identidade.service.UserReferenceCache;
 import org.portodigital.residencia.oabpe.domain.transparencia.dto.TransparenciaFilteredRequest;
 import org.portodigital.residencia.oabpe.domain.transparencia.dto.TransparenciaRequestDTO;
 import org.portodigital.residencia.oabpe.domain.transparencia.dto.TransparenciaResponseDTO;
+import org.portodigital.residencia.oabpe.domain.commons.ExportFormat;
+import org.portodigital.residencia.oabpe.domain.commons.StreamingExporter;
+import org.portodigital.residencia.oabpe.domain.commons.ProjectionQuery;
 import org.portodigital.residencia.oabpe.exception.EntityNotFoundException;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Arrays;
 
 @Service
 @RequiredArgsConstructor
 public class TransparenciaService extends AbstractFileImportService<TransparenciaRequestDTO> {
 
+    private static final List<String> EXPORT_COLUMNS = List.of(
+            "ID", "Demonstrativo", "Referência", "Ano", "Periodicidade", "Previsão de Entrega", "Data de Entrega");
+
+    private static final String INSERT_SQL = """
+            INSERT INTO transparencia
+                (id_demonstrativo, referencia, ano, periodicidade, dt_prev_entr, dt_entrega, status,
+                 id_usuario, dat_criacao_registro, dat_alteracao_registro)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
     private final TransparenciaImportProcessor processor;
+    private final ChunkedBatchWriter batchWriter;
     private final TransparenciaRepository transparenciaRepository;
+    private final StreamingExporter exporter;
+    private final ProjectionQuery projections;
     private final DemonstrativoRepository demonstrativoRepository;
-    private final ModelMapper mapper;
+    private final TransparenciaMapper mapper;
+    private final UserReferenceCache userReferenceCache;
 
     @Transactional
-    public void importarArquivo(MultipartFile file, User user) throws IOException {
-            List<Object> entidades = importFile(file, user, processor);
-            transparenciaRepository.saveAll(entidades.stream().map(e -> (Transparencia) e).toList());
+    public void importarArquivo(MultipartFile file, User user, ImportProgress progress) throws IOException {
+        try (ChunkedBatchWriter.Chunk<Transparencia> chunk = batchWriter.open(INSERT_SQL, Transparencia.class, this::insertParameters)) {
+            importFile(file, user, processor, chunk, progress);
+        }
+    }
+
+    public void validarArquivo(MultipartFile file, User user, ImportProgress progress) throws IOException {
+        validateFile(file, user, processor, progress);
+    }
+
+    private Object[] insertParameters(Transparencia t) {
+        LocalDateTime agora = LocalDateTime.now();
+        return new Object[]{
+                t.getDemonstrativo().getId(), t.getReferencia(), t.getAno(), t.getPeriodicidade(),
+                t.getDtPrevEntr(), t.getDtEntrega(), t.isStatus(), t.getUser().getId(), agora, agora
+        };
+    }
+
+    public Slice<TransparenciaResponseDTO> getAllFiltered(TransparenciaFilteredRequest filter, Pageable pageable, Contagem contagem) {
+        return projections.slice(Transparencia.class, TransparenciaResponseDTO.class,
+                TransparenciaRepository.byFilter(filter), pageable, contagem, filter, TransparenciaService::colunasResposta);
+    }
+
+    // na ordem do construtor de TransparenciaResponseDTO
+    private static List<Selection<?>> colunasResposta(Root<Transparencia> t, CriteriaBuilder cb) {
+        Join<Transparencia, ?> demonstrativo = t.join("demonstrativo");
+        return List.of(t.get("id"), demonstrativo.get("id"), demonstrativo.get("nome"), t.get("referencia"), t.get("ano"),
+                t.get("periodicidade"), t.get("dtPrevEntr"), t.get("dtEntrega"), t.get("status"));
     }
 
-    public Page<TransparenciaResponseDTO> getAllFiltered(TransparenciaFilteredRequest filter, Pageable pageable) {
-        return transparenciaRepository.findAllActiveByFilter(filter, pageable).map(transparencia ->{
-            TransparenciaResponseDTO dto = mapper.map(transparencia, TransparenciaResponseDTO.class);
-            dto.setDemonstrativoId(transparencia.getDemonstrativo().getId());
-            dto.setNomeDemonstrativo(transparencia.getDemonstrativo().getNome());
-            return dto;
-        });
+    public StreamingResponseBody export(TransparenciaFilteredRequest filter, ExportFormat formato) {
+        return exporter.export(formato, EXPORT_COLUMNS,
+                () -> exporter.stream(Transparencia.class, TransparenciaRepository.byFilter(filter), "demonstrativo"),
+                t -> Arrays.asList(t.getId(), t.getDemonstrativo().getNome(), t.getReferencia(), t.getAno(), t.getPeriodicidade(),
+                        t.getDtPrevEntr(), t.getDtEntrega()));
     }
 
      public TransparenciaResponseDTO getById(Long id) {
          return transparenciaRepository.findById(id)
-                 .map(transparencia -> mapper.map(transparencia, TransparenciaResponseDTO.class))
+                 .map(mapper::toResponse)
                  .orElseThrow(() -> new EntityNotFoundException("Transparência não encontrada."));
      }
 
@@ -64,14 +114,12 @@ public class TransparenciaService extends AbstractFileImportService<Transparenci
          Demonstrativo demonstrativo = demonstrativoRepository.findByNomeAtivo(request.getDemonstrativoNome())
                  .orElseThrow(() -> new jakarta.persistence.EntityNotFoundException("Demonstrativo não encontrado com nome: " + request.getDemonstrativoNome()));
 
-         User user = (User) authentication.getPrincipal();
-         Transparencia transparencia = mapper.map(request, Transparencia.class);
+         User user = userReferenceCache.of(authentication);
+         Transparencia transparencia = mapper.toEntity(request);
          transparencia.setUser(user);
          transparencia.setDemonstrativo(demonstrativo);
          Transparencia savedTransparencia = transparenciaRepository.save(transparencia);
-         TransparenciaResponseDTO dto = mapper.map(savedTransparencia, TransparenciaResponseDTO.class);
-         dto.setNomeDemonstrativo(savedTransparencia.getDemonstrativo().getNome());
-         return dto;
+         return mapper.toResponse(savedTransparencia);
      }
 
      public void delete(Long id) {
@@ -89,7 +137,7 @@ public class TransparenciaService extends AbstractFileImportService<Transparenci
          applyUpdates(request, existing);
 
          Transparencia updated = transparenciaRepository.save(existing);
-         return mapper.map(updated, TransparenciaResponseDTO.class);
+         return mapper.toResponse(updated);
      }
 
     private void applyUpdates(TransparenciaRequestDTO request, Transparencia existing) {
@@ -2,6 +2,8 @@ package org.portodigital.residencia.oabpe.exception;
 
 import org.portodigital.residencia.oabpe.exception.validationerror.ValidationError;
 import org.portodigital.residencia.oabpe.exception.validationerror.ValidationErrorResponse;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authorization.AuthorizationDeniedException;
@@ -54,6 +56,26 @@ public class ExceptionHandlerController {
         return new ResponseEntity<>(message, HttpStatus.NOT_FOUND);
     }
 
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<ErrorResponse> taskRejectedException(TaskRejectedException ex) {
+        ErrorResponse message = new ErrorResponse(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                timestamp,
+                "Limite de importações simultâneas atingido. Tente novamente em instantes.");
+        return new ResponseEntity<>(message, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ErrorResponse> tooManyRequestsException(TooManyRequestsException ex) {
+        ErrorResponse message = new ErrorResponse(
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                timestamp,
+                ex.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, ex.getRetryAfter().toSeconds())))
+                .body(message);
+    }
+
     @ExceptionHandler(AuthorizationDeniedException.class)
     public ResponseEntity<ErrorResponse> authorizationDeniedException(AuthorizationDeniedException ex) {
         ErrorResponse message = new ErrorResponse(
@@ -0,0 +1,46 @@
+package org.portodigital.residencia.oabpe.infra.async;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+// o agendamento atende a limpeza periódica dos jobs expirados no ImportJobService
+@Configuration
+@EnableScheduling
+public class ImportJobExecutorConfig {
+
+    @Bean
+    public ThreadPoolTaskExecutor importJobExecutor(
+            @Value("${import.jobs.pool-size:2}") int poolSize,
+            @Value("${import.jobs.queue-capacity:20}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("import-job-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor importRowExecutor(
+            @Value("${import.parallel.threads:0}") int threads,
+            @Value("${import.parallel.queue-capacity:4000}") int queueCapacity) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        // fila cheia: a própria thread da importação processa a linha, o que também segura a leitura do arquivo
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("import-row-");
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,26 @@
+package org.portodigital.residencia.oabpe.infra.async;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class PasswordVerificationExecutorConfig {
+
+    // BCrypt é CPU puro: o pool limita quantos núcleos os logins podem ocupar ao mesmo tempo, e a fila
+    // cheia recusa o login (AbortPolicy) em vez de empilhar requisições esperando
+    @Bean
+    public ThreadPoolTaskExecutor passwordVerificationExecutor(
+            @Value("${api.security.login.verification.threads:0}") int threads,
+            @Value("${api.security.login.verification.queue-capacity:32}") int queueCapacity) {
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("password-verification-");
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,45 @@
+package org.portodigital.residencia.oabpe.infra.async;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+// Os pools de importação e de senha desativam o applicationTaskExecutor do Boot; sem este bean o MVC
+// escreveria cada StreamingResponseBody (exportações, relatório de erros) numa thread nova, sem limite
+@Configuration
+public class WebAsyncExecutorConfig implements WebMvcConfigurer {
+
+    private final ThreadPoolTaskExecutor applicationTaskExecutor;
+
+    public WebAsyncExecutorConfig(@Qualifier("applicationTaskExecutor") ThreadPoolTaskExecutor applicationTaskExecutor) {
+        this.applicationTaskExecutor = applicationTaskExecutor;
+    }
+
+    @Bean(name = "applicationTaskExecutor")
+    public static ThreadPoolTaskExecutor applicationTaskExecutor(
+            @Value("${web.async.pool-size:8}") int poolSize,
+            @Value("${web.async.queue-capacity:50}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        // fila cheia: a resposta é escrita na própria thread da requisição, o que segura novos downloads
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("web-async-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        executor.initialize();
+        return executor;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(applicationTaskExecutor);
+    }
+}
@@ -0,0 +1,26 @@
+package org.portodigital.residencia.oabpe.infra.database;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+
+// As tabelas ainda são criadas pelo Hibernate (ddl-auto: update). As migrações versionadas cuidam do que
+// o mapeamento não expressa, como índices filtrados, e por isso só rodam depois do EntityManagerFactory
+@Configuration
+public class FlywayConfig {
+
+    @Bean
+    public FlywayMigrationStrategy flywayMigrationStrategy() {
+        return flyway -> {
+        };
+    }
+
+    @Bean
+    @DependsOn("entityManagerFactory")
+    public MigrateResult flywayMigrateResult(Flyway flyway) {
+        return flyway.migrate();
+    }
+}
@@ -0,0 +1,31 @@
+package org.portodigital.residencia.oabpe.infra.security;
+
+import lombok.RequiredArgsConstructor;
+import org.portodigital.residencia.oabpe.domain.identidade.model.AuthenticatedUser;
+import org.springframework.security.access.PermissionEvaluator;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import java.io.Serializable;
+
+// hasPermission('modulo_x', 'LEITURA' | 'ESCRITA') dos controllers, resolvido pelo snapshot do usuário
+@Component
+@RequiredArgsConstructor
+public class CustomPermissionEvaluator implements PermissionEvaluator {
+
+    private final PermissionSnapshotCache permissionSnapshotCache;
+
+    @Override
+    public boolean hasPermission(Authentication authentication, Object targetDomainObject, Object permission) {
+        if (authentication == null || targetDomainObject == null || permission == null
+                || !(authentication.getPrincipal() instanceof AuthenticatedUser user)) {
+            return false;
+        }
+        return permissionSnapshotCache.get(user.id(), user.permissoesVersao()).permite(targetDomainObject.toString(), permission.toString());
+    }
+
+    @Override
+    public boolean hasPermission(Authentication authentication, Serializable targetId, String targetType, Object permission) {
+        return hasPermission(authentication, targetType, permission);
+    }
+}
@@ -0,0 +1,87 @@
+package org.portodigital.residencia.oabpe.infra.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.portodigital.residencia.oabpe.exception.TooManyRequestsException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+
+// Token bucket por IP e por username na frente do login. Cada tentativa consome uma ficha; as fichas
+// voltam uma a cada refill-interval até a capacidade. Baldes sem uso somem do cache sozinhos
+@Component
+public class LoginThrottle {
+
+    private static final String MENSAGEM = "Muitas tentativas de login. Tente novamente mais tarde.";
+
+    private final Limite porUsuario;
+    private final Limite porIp;
+
+    public LoginThrottle(@Value("${api.security.login.throttle.username.capacity:5}") int usuarioCapacidade,
+                         @Value("${api.security.login.throttle.username.refill-interval:PT1M}") Duration usuarioRecarga,
+                         @Value("${api.security.login.throttle.ip.capacity:30}") int ipCapacidade,
+                         @Value("${api.security.login.throttle.ip.refill-interval:PT2S}") Duration ipRecarga,
+                         @Value("${api.security.login.throttle.max-entries:100000}") long maxEntries) {
+        this.porUsuario = new Limite(usuarioCapacidade, usuarioRecarga, maxEntries);
+        this.porIp = new Limite(ipCapacidade, ipRecarga, maxEntries);
+    }
+
+    public void verificar(String username, String ip) {
+        porIp.consumir(ip);
+        if (username != null) {
+            porUsuario.consumir(username.trim().toLowerCase(Locale.ROOT));
+        }
+    }
+
+    private static final class Limite {
+
+        private final int capacidade;
+        private final long recargaNanos;
+        private final Cache<String, Balde> baldes;
+
+        private Limite(int capacidade, Duration recarga, long maxEntries) {
+            this.capacidade = capacidade;
+            this.recargaNanos = recarga.toNanos();
+            // depois de capacidade * recarga sem uso o balde estaria cheio de novo
+            this.baldes = Caffeine.newBuilder()
+                    .expireAfterAccess(recarga.multipliedBy(capacidade))
+                    .maximumSize(maxEntries)
+                    .build();
+        }
+
+        private void consumir(String chave) {
+            long agora = System.nanoTime();
+            long espera = baldes.get(chave, c -> new Balde(capacidade, agora)).consumir(capacidade, recargaNanos, agora);
+            if (espera > 0) {
+                throw new TooManyRequestsException(MENSAGEM, Duration.ofNanos(espera));
+            }
+        }
+    }
+
+    static final class Balde {
+
+        private long fichas;
+        private long ultimaRecarga;
+
+        Balde(long fichas, long agora) {
+            this.fichas = fichas;
+            this.ultimaRecarga = agora;
+        }
+
+        // 0 quando consumiu; senão, nanos até a próxima ficha
+        synchronized long consumir(int capacidade, long recargaNanos, long agora) {
+            long recarregadas = (agora - ultimaRecarga) / recargaNanos;
+            if (recarregadas > 0) {
+                fichas = Math.min(capacidade, fichas + recarregadas);
+                ultimaRecarga += recarregadas * recargaNanos;
+            }
+            if (fichas > 0) {
+                fichas--;
+                return 0;
+            }
+            return recargaNanos - (agora - ultimaRecarga);
+        }
+    }
+}
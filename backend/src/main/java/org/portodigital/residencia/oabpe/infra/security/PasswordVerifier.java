@@ -0,0 +1,76 @@
+package org.portodigital.residencia.oabpe.infra.security;
+
+import org.portodigital.residencia.oabpe.exception.TooManyRequestsException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// Hash e verificação de senha no passwordVerificationExecutor, fora da thread da requisição
+@Component
+public class PasswordVerifier {
+
+    private static final String OCUPADO = "Muitas tentativas de login simultâneas. Tente novamente em instantes.";
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolTaskExecutor executor;
+    private final Duration timeout;
+
+    // usuário inexistente também paga um BCrypt, para não ser distinguível pelo tempo de resposta
+    private final String hashFicticio;
+
+    public PasswordVerifier(PasswordEncoder passwordEncoder,
+                            @Qualifier("passwordVerificationExecutor") ThreadPoolTaskExecutor executor,
+                            @Value("${api.security.login.verification.timeout:PT5S}") Duration timeout) {
+        this.passwordEncoder = passwordEncoder;
+        this.executor = executor;
+        this.timeout = timeout;
+        this.hashFicticio = passwordEncoder.encode(UUID.randomUUID().toString());
+    }
+
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        boolean confere = executar(() -> passwordEncoder.matches(rawPassword,
+                encodedPassword != null ? encodedPassword : hashFicticio));
+        return confere && encodedPassword != null;
+    }
+
+    public String encode(CharSequence rawPassword) {
+        return executar(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    // hash gerado com custo menor que o configurado em api.security.password.bcrypt-strength
+    public boolean upgradeEncoding(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T executar(Callable<T> tarefa) {
+        Future<T> resultado;
+        try {
+            resultado = executor.submit(tarefa);
+        } catch (TaskRejectedException e) {
+            throw new TooManyRequestsException(OCUPADO, Duration.ofSeconds(1));
+        }
+
+        try {
+            return resultado.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            resultado.cancel(true);
+            throw new TooManyRequestsException(OCUPADO, Duration.ofSeconds(1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Verificação de senha interrompida", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falha na verificação de senha", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package org.portodigital.residencia.oabpe.infra.security;
+
+import org.portodigital.residencia.oabpe.domain.identidade.model.Role;
+import org.portodigital.residencia.oabpe.domain.identidade.model.User;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Permissões efetivas de um usuário achatadas em módulo -> máscara de ações (um bit por constante do
+// enum de ação). A checagem do @PreAuthorize vira uma busca no mapa e um AND, sem tocar no grafo
+// roles -> permissions -> module. versao é a users.permissoes_versao lida junto com as roles
+public record PermissionSnapshot(long versao, Map<String, Integer> modulos) {
+
+    // nome da ação -> bit; preenchido conforme as ações aparecem nas permissões carregadas
+    private static final Map<String, Integer> ACOES = new ConcurrentHashMap<>();
+
+    public static PermissionSnapshot of(User user) {
+        Map<String, Integer> modulos = new HashMap<>();
+        for (Role role : user.getRoles()) {
+            for (var permission : role.getPermissions()) {
+                modulos.merge(permission.getModule().getName(), bit(permission.getName()), (a, b) -> a | b);
+            }
+        }
+        return new PermissionSnapshot(user.getPermissoesVersao(), Map.copyOf(modulos));
+    }
+
+    static int bit(Enum<?> acao) {
+        int bit = 1 << acao.ordinal();
+        ACOES.putIfAbsent(acao.name(), bit);
+        return bit;
+    }
+
+    public boolean permite(String modulo, String acao) {
+        Integer bit = ACOES.get(acao);
+        if (bit == null) return false;
+        return (modulos.getOrDefault(modulo, 0) & bit) != 0;
+    }
+}
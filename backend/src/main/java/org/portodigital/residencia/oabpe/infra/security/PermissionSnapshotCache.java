@@ -0,0 +1,57 @@
+package org.portodigital.residencia.oabpe.infra.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.portodigital.residencia.oabpe.domain.identidade.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Map;
+
+// Snapshot de permissões por usuário. É montado uma vez (uma leitura do grafo de roles) e reaproveitado
+// por todas as checagens seguintes; alterações de roles feitas nesta instância invalidam a entrada na hora.
+// Em outra instância, um access token emitido depois da alteração traz uma versão de permissões maior que
+// a do snapshot e força a releitura; o ttl limita o caso de quem segue com um token anterior
+@Component
+public class PermissionSnapshotCache {
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate transaction;
+    private final Cache<String, PermissionSnapshot> snapshots;
+
+    public PermissionSnapshotCache(UserRepository userRepository,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${api.security.permissions.ttl:PT5M}") Duration ttl,
+                                   @Value("${api.security.permissions.max-entries:10000}") long maxEntries) {
+        this.userRepository = userRepository;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.transaction.setReadOnly(true);
+        this.snapshots = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxEntries)
+                .build();
+    }
+
+    public PermissionSnapshot get(String userId, long versao) {
+        PermissionSnapshot snapshot = snapshots.get(userId, this::carregar);
+        if (snapshot.versao() < versao) {
+            snapshot = carregar(userId);
+            snapshots.put(userId, snapshot);
+        }
+        return snapshot;
+    }
+
+    public void invalidar(String userId) {
+        snapshots.invalidate(userId);
+    }
+
+    private PermissionSnapshot carregar(String userId) {
+        // roles e permissões são LAZY: o snapshot precisa ser montado com a sessão aberta
+        return transaction.execute(status -> userRepository.findById(userId)
+                .map(PermissionSnapshot::of)
+                .orElseGet(() -> new PermissionSnapshot(0, Map.of())));
+    }
+}
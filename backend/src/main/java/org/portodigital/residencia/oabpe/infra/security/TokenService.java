@@ -0,0 +1,190 @@
+package org.portodigital.residencia.oabpe.infra.security;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.exceptions.SignatureVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.portodigital.residencia.oabpe.domain.commons.ContentHash;
+import org.portodigital.residencia.oabpe.domain.identidade.model.AuthenticatedUser;
+import org.portodigital.residencia.oabpe.domain.identidade.model.User;
+import org.portodigital.residencia.oabpe.domain.identidade.service.RefreshTokenService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+@Service
+public class TokenService {
+
+    private static final String ISSUER = "oabpe-api";
+    private static final String CLAIM_TIPO = "tipo";
+    private static final String CLAIM_ID = "uid";
+    private static final String CLAIM_NOME = "name";
+    private static final String CLAIM_PERMISSOES = "pv";
+
+    private final RefreshTokenService refreshTokenService;
+    private final Duration accessTtl;
+    private final Duration refreshTtl;
+
+    // tokens novos são assinados com a chave atual; as anteriores continuam aceitas até saírem da configuração
+    private final String chaveAtual;
+    private final Algorithm assinatura;
+    private final Map<String, JWTVerifier> verificadores = new LinkedHashMap<>();
+
+    // tokens já verificados, pelo hash do token, até a expiração de cada um: as chamadas seguintes
+    // da mesma sessão não repetem o HMAC nem o parse das claims
+    private final Cache<String, DecodedJWT> verificados;
+
+    public TokenService(RefreshTokenService refreshTokenService,
+                        @Value("${api.security.token.secret}") String secret,
+                        @Value("${api.security.token.previous-secrets:}") List<String> segredosAnteriores,
+                        @Value("${api.security.token.access-ttl:PT2H}") Duration accessTtl,
+                        @Value("${api.security.token.refresh-ttl:P7D}") Duration refreshTtl,
+                        @Value("${api.security.token.cache.max-entries:10000}") long maxEntries) {
+        this.refreshTokenService = refreshTokenService;
+        this.accessTtl = accessTtl;
+        this.refreshTtl = refreshTtl;
+        this.chaveAtual = keyId(secret);
+        this.assinatura = Algorithm.HMAC256(secret);
+        verificadores.put(chaveAtual, JWT.require(assinatura).withIssuer(ISSUER).build());
+        for (String anterior : segredosAnteriores) {
+            if (anterior.isBlank()) continue;
+            verificadores.putIfAbsent(keyId(anterior), JWT.require(Algorithm.HMAC256(anterior)).withIssuer(ISSUER).build());
+        }
+        this.verificados = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfter(new Expiry<String, DecodedJWT>() {
+                    @Override
+                    public long expireAfterCreate(String chave, DecodedJWT jwt, long currentTime) {
+                        Instant expiraEm = jwt.getExpiresAtAsInstant();
+                        if (expiraEm == null) return 0;
+                        return Math.max(0, Duration.between(Instant.now(), expiraEm).toNanos());
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String chave, DecodedJWT jwt, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String chave, DecodedJWT jwt, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    // id, nome e versão das permissões vão no token para que o SecurityFilter monte o principal sem consultar o banco
+    public String generateAccessToken(User user) {
+        return JWT.create()
+                .withKeyId(chaveAtual)
+                .withIssuer(ISSUER)
+                .withSubject(user.getUsername())
+                .withClaim(CLAIM_TIPO, "access")
+                .withClaim(CLAIM_ID, user.getId())
+                .withClaim(CLAIM_NOME, user.getName())
+                .withClaim(CLAIM_PERMISSOES, user.getPermissoesVersao())
+                .withExpiresAt(Instant.now().plus(accessTtl))
+                .sign(assinatura);
+    }
+
+    // cada login ganha o próprio token (vários dispositivos por usuário); o jti identifica a linha no RefreshTokenService
+    public String generateRefreshToken(User user) {
+        String tokenId = UUID.randomUUID().toString();
+        Instant expiraEm = Instant.now().plus(refreshTtl);
+        String token = JWT.create()
+                .withKeyId(chaveAtual)
+                .withIssuer(ISSUER)
+                .withSubject(user.getUsername())
+                .withJWTId(tokenId)
+                .withClaim(CLAIM_TIPO, "refresh")
+                .withExpiresAt(expiraEm)
+                .sign(assinatura);
+        refreshTokenService.emitir(user, tokenId, LocalDateTime.ofInstant(expiraEm, ZoneId.systemDefault()));
+        return token;
+    }
+
+    public Optional<AuthenticatedUser> validateAccessToken(String token) {
+        return verify(token, "access")
+                .filter(jwt -> !jwt.getClaim(CLAIM_ID).isMissing())
+                .map(jwt -> new AuthenticatedUser(jwt.getClaim(CLAIM_ID).asString(), jwt.getSubject(),
+                        jwt.getClaim(CLAIM_NOME).asString(), permissoesVersao(jwt)));
+    }
+
+    public Optional<User> validateRefreshToken(String token) {
+        return verify(token, "refresh")
+                .filter(jwt -> jwt.getId() != null)
+                .flatMap(jwt -> refreshTokenService.validar(jwt.getId()));
+    }
+
+    public boolean revokeRefreshToken(String token, String userId) {
+        return verify(token, "refresh")
+                .filter(jwt -> jwt.getId() != null)
+                .map(jwt -> refreshTokenService.revogar(jwt.getId(), userId))
+                .orElse(false);
+    }
+
+    private Optional<DecodedJWT> verify(String token, String tipo) {
+        String chave = ContentHash.of(token);
+        DecodedJWT jwt = verificados.getIfPresent(chave);
+        if (jwt == null) {
+            try {
+                jwt = verificar(token);
+            } catch (JWTVerificationException e) {
+                return Optional.empty();
+            }
+            verificados.put(chave, jwt);
+        }
+        // a entrada pode sobreviver alguns instantes além da expiração até a limpeza do cache
+        if (jwt.getExpiresAtAsInstant() == null || jwt.getExpiresAtAsInstant().isBefore(Instant.now())) {
+            return Optional.empty();
+        }
+        return Optional.of(jwt).filter(j -> tipo.equals(j.getClaim(CLAIM_TIPO).asString()));
+    }
+
+    private DecodedJWT verificar(String token) {
+        DecodedJWT decoded = JWT.decode(token);
+        if (decoded.getKeyId() != null) {
+            JWTVerifier verificador = verificadores.get(decoded.getKeyId());
+            if (verificador == null) {
+                throw new SignatureVerificationException(assinatura);
+            }
+            return verificador.verify(decoded);
+        }
+
+        // tokens emitidos antes do kid: tenta cada chave ativa, começando pela atual
+        JWTVerificationException falha = null;
+        for (JWTVerifier verificador : verificadores.values()) {
+            try {
+                return verificador.verify(decoded);
+            } catch (SignatureVerificationException e) {
+                falha = e;
+            }
+        }
+        throw falha;
+    }
+
+    // tokens emitidos antes da versão de permissões não trazem a claim
+    private static long permissoesVersao(DecodedJWT jwt) {
+        Long versao = jwt.getClaim(CLAIM_PERMISSOES).asLong();
+        return versao != null ? versao : 0;
+    }
+
+    // identifica a chave no cabeçalho do token sem expor o segredo
+    private static String keyId(String secret) {
+        return ContentHash.of(secret).substring(0, 16);
+    }
+}
@@ -0,0 +1,83 @@
+-- Índices das colunas usadas pelos filtros, pela listagem por cursor e pelas chaves estrangeiras.
+-- As listagens de Balancete, Transparência, Base Orçamentária e Prestação de Contas sempre filtram
+-- status = 1 (como literal), por isso os índices delas são filtrados apenas pelos registros ativos.
+
+-- PagamentoCotas: o filtro de status é opcional, então os índices não são filtrados
+CREATE INDEX ix_pagamento_cotas_ano_id
+    ON pagamento_cotas (ano_ref, id);
+
+-- instituição + mês + ano também é a chave natural usada pelo MERGE da sincronização
+CREATE INDEX ix_pagamento_cotas_instit_ano_mes
+    ON pagamento_cotas (id_instit, ano_ref, mes_ref)
+    INCLUDE (status);
+
+CREATE INDEX ix_pagamento_cotas_tp_desc
+    ON pagamento_cotas (id_tp_desc);
+
+CREATE INDEX ix_pagamento_cotas_dt_prev_entr
+    ON pagamento_cotas (dt_prev_entr);
+
+CREATE INDEX ix_pagamento_cotas_dt_pagto
+    ON pagamento_cotas (dt_pagto)
+    WHERE dt_pagto IS NOT NULL;
+
+-- BaseOrcamentaria: (dt_lancto, id) atende o filtro por data e a ordem da listagem por cursor
+CREATE INDEX ix_base_orcamentaria_ativos_dt_lancto_id
+    ON base_orcamentaria (dt_lancto, id)
+    WHERE status = 1;
+
+CREATE INDEX ix_base_orcamentaria_ativos_ano
+    ON base_orcamentaria (ano, dt_lancto)
+    WHERE status = 1;
+
+CREATE INDEX ix_base_orcamentaria_ativos_dt_docto
+    ON base_orcamentaria (dt_docto)
+    WHERE status = 1;
+
+-- BalanceteCFOAB: o demonstrativo é a chave estrangeira mais filtrada; ano fica no índice
+-- para que o LIKE seja avaliado sem ir à tabela
+CREATE INDEX ix_balancetecfoab_ativos_demonstrativo_ano
+    ON balancetecfoab (id_demonstrativo, ano)
+    WHERE status = 1;
+
+CREATE INDEX ix_balancetecfoab_ativos_dt_prev_entr
+    ON balancetecfoab (dt_prev_entr)
+    WHERE status = 1;
+
+CREATE INDEX ix_balancetecfoab_ativos_dt_entrega
+    ON balancetecfoab (dt_entrega)
+    WHERE status = 1 AND dt_entrega IS NOT NULL;
+
+-- Transparencia
+CREATE INDEX ix_transparencia_ativos_demonstrativo_ano
+    ON transparencia (id_demonstrativo, ano)
+    WHERE status = 1;
+
+CREATE INDEX ix_transparencia_ativos_dt_prev_entr
+    ON transparencia (dt_prev_entr)
+    WHERE status = 1;
+
+CREATE INDEX ix_transparencia_ativos_dt_entrega
+    ON transparencia (dt_entrega)
+    WHERE status = 1 AND dt_entrega IS NOT NULL;
+
+-- PrestacaoContasSubseccional
+CREATE INDEX ix_prestacao_contas_ativos_subseccional_ano
+    ON prestacao_contas_subseccional (id_subseccional, ano, mes_referencia)
+    WHERE status = 1;
+
+CREATE INDEX ix_prestacao_contas_ativos_tipo_desconto
+    ON prestacao_contas_subseccional (id_tipo_desconto)
+    WHERE status = 1 AND id_tipo_desconto IS NOT NULL;
+
+CREATE INDEX ix_prestacao_contas_ativos_dt_prev_entr
+    ON prestacao_contas_subseccional (dt_prev_entr)
+    WHERE status = 1;
+
+CREATE INDEX ix_prestacao_contas_ativos_dt_entrega
+    ON prestacao_contas_subseccional (dt_entrega)
+    WHERE status = 1 AND dt_entrega IS NOT NULL;
+
+CREATE INDEX ix_prestacao_contas_ativos_dt_pagto
+    ON prestacao_contas_subseccional (dt_pagto)
+    WHERE status = 1 AND dt_pagto IS NOT NULL;
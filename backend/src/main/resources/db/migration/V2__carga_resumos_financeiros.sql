@@ -0,0 +1,24 @@
+-- Carga inicial dos resumos financeiros (as tabelas são criadas pelo Hibernate a partir de
+-- ResumoPagamentoCotas e ResumoPrestacaoContas). Daqui em diante o ResumoService recalcula
+-- apenas os grupos alterados por cadastro, edição, exclusão e importação.
+
+DELETE FROM resumo_pagamento_cotas;
+
+INSERT INTO resumo_pagamento_cotas
+    (id_instit, ano_ref, mes_ref, quantidade, total_duodecimo, total_desconto, total_pago)
+SELECT id_instit, ano_ref, mes_ref, COUNT(*), COALESCE(SUM(valor_duodecimo), 0), COALESCE(SUM(valor_desconto), 0),
+       COALESCE(SUM(valor_pago), 0)
+FROM pagamento_cotas
+WHERE status = 1
+GROUP BY id_instit, ano_ref, mes_ref;
+
+-- valor pago segue a regra de PrestacaoContasSubseccional.getValorPago() (duodécimo - desconto)
+DELETE FROM resumo_prestacao_contas;
+
+INSERT INTO resumo_prestacao_contas
+    (id_subseccional, ano, mes_referencia, quantidade, total_duodecimo, total_desconto, total_pago)
+SELECT id_subseccional, ano, mes_referencia, COUNT(*), COALESCE(SUM(valor_duodecimo), 0), COALESCE(SUM(valor_desconto), 0),
+       COALESCE(SUM(COALESCE(valor_duodecimo, 0) - COALESCE(valor_desconto, 0)), 0)
+FROM prestacao_contas_subseccional
+WHERE status = 1
+GROUP BY id_subseccional, ano, mes_referencia;
@@ -0,0 +1,4 @@
+-- Os refresh tokens passaram para a tabela refresh_token (um por login). A coluna antiga só existe
+-- em bancos criados antes disso; quem tinha um token nela precisa entrar de novo.
+IF COL_LENGTH('users', 'refresh_token') IS NOT NULL
+    ALTER TABLE users DROP COLUMN refresh_token;
@@ -0,0 +1,25 @@
+-- A coluna do usuário em refresh_token passou a se chamar id_usuario, como nas demais tabelas; o Hibernate
+-- cria a coluna nova. Em bancos onde a tabela já existia com user_id, os tokens emitidos são descartados
+-- (quem tinha um precisa entrar de novo) e a coluna antiga sai junto com o índice e a chave estrangeira.
+IF COL_LENGTH('refresh_token', 'user_id') IS NOT NULL
+BEGIN
+    DELETE FROM refresh_token;
+
+    IF EXISTS (SELECT 1 FROM sys.indexes
+               WHERE object_id = OBJECT_ID('refresh_token') AND name = 'ix_refresh_token_usuario')
+        DROP INDEX ix_refresh_token_usuario ON refresh_token;
+
+    -- a chave estrangeira gerada pelo Hibernate tem nome aleatório
+    DECLARE @fk sysname = (
+        SELECT fk.name
+        FROM sys.foreign_keys fk
+        JOIN sys.foreign_key_columns fkc ON fkc.constraint_object_id = fk.object_id
+        JOIN sys.columns c ON c.object_id = fkc.parent_object_id AND c.column_id = fkc.parent_column_id
+        WHERE fk.parent_object_id = OBJECT_ID('refresh_token') AND c.name = 'user_id');
+    IF @fk IS NOT NULL
+        EXEC('ALTER TABLE refresh_token DROP CONSTRAINT ' + QUOTENAME(@fk));
+
+    ALTER TABLE refresh_token DROP COLUMN user_id;
+
+    CREATE INDEX ix_refresh_token_usuario ON refresh_token (id_usuario);
+END
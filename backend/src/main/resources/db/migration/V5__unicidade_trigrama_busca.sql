@@ -0,0 +1,17 @@
+-- TrigramaBuscaService consultava se o valor já estava indexado e só então inseria os trigramas; gravações
+-- concorrentes do mesmo valor deixaram trigramas repetidos. Eles são removidos antes do índice único, que
+-- passa a cobrir também a consulta por (campo, valor) feita pelo antigo ix_trigrama_busca_valor.
+WITH repetidos AS (
+    SELECT ROW_NUMBER() OVER (PARTITION BY campo, valor, trigrama ORDER BY id) AS ordem
+    FROM trigrama_busca
+)
+DELETE FROM repetidos WHERE ordem > 1;
+
+IF EXISTS (SELECT 1 FROM sys.indexes
+           WHERE object_id = OBJECT_ID('trigrama_busca') AND name = 'ix_trigrama_busca_valor')
+    DROP INDEX ix_trigrama_busca_valor ON trigrama_busca;
+
+-- o Hibernate cria o índice em bancos novos; nos existentes a criação dele falha enquanto houver repetidos
+IF NOT EXISTS (SELECT 1 FROM sys.indexes
+               WHERE object_id = OBJECT_ID('trigrama_busca') AND name = 'uk_trigrama_busca')
+    CREATE UNIQUE INDEX uk_trigrama_busca ON trigrama_busca (campo, valor, trigrama);
@@ -0,0 +1,43 @@
+package org.portodigital.residencia.oabpe;
+
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+// Roda as classes @Benchmark do JMH a partir de um teste JUnit, num JVM separado, e devolve a pontuação
+// de cada método pelo nome (na unidade e no modo declarados na classe)
+public final class JmhBenchmarks {
+
+    private JmhBenchmarks() {
+    }
+
+    public static Map<String, Double> run(Class<?> benchmark) throws RunnerException {
+        return run(benchmark, UnaryOperator.identity());
+    }
+
+    public static Map<String, Double> run(Class<?> benchmark, UnaryOperator<ChainedOptionsBuilder> options)
+            throws RunnerException {
+        ChainedOptionsBuilder builder = new OptionsBuilder()
+                .include(benchmark.getName() + "\\.")
+                .forks(1)
+                .warmupIterations(3)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1))
+                .shouldFailOnError(true);
+
+        Map<String, Double> scores = new LinkedHashMap<>();
+        for (RunResult result : new Runner(options.apply(builder).build()).run()) {
+            String nome = result.getParams().getBenchmark();
+            scores.put(nome.substring(nome.lastIndexOf('.') + 1), result.getPrimaryResult().getScore());
+        }
+        return scores;
+    }
+}
@@ -0,0 +1,177 @@
+package org.portodigital.residencia.oabpe.domain;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.validation.Validation;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.portodigital.residencia.oabpe.domain.busca.TrigramaBuscaListener;
+import org.portodigital.residencia.oabpe.domain.busca.TrigramaBuscaService;
+import org.portodigital.residencia.oabpe.domain.commons.DimensionCache;
+import org.portodigital.residencia.oabpe.domain.commons.DimensionCacheFactory;
+import org.portodigital.residencia.oabpe.domain.identidade.model.User;
+import org.portodigital.residencia.oabpe.domain.instituicao.Instituicao;
+import org.portodigital.residencia.oabpe.domain.pagamento_cotas.PagamentoCotas;
+import org.portodigital.residencia.oabpe.domain.pagamento_cotas.PagamentoCotasImportProcessor;
+import org.portodigital.residencia.oabpe.domain.pagamento_cotas.dto.PagamentoCotasRequestDTO;
+import org.portodigital.residencia.oabpe.domain.prestacao_contas_subseccional.tipo_desconto.TipoDesconto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+// Conta os statements JDBC da conversão das linhas de uma importação (parse, validação e resolução das
+// referências) pelo Hibernate Statistics: as tabelas de referência são lidas uma vez, qualquer que seja o
+// número de linhas. O cache de segundo nível fica desligado para que toda consulta chegue ao banco
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+@Import({DimensionCacheFactory.class, TrigramaBuscaListener.class})
+public class DimensionCacheStatementCountTest {
+
+    private static final List<String> INSTITUICOES =
+            List.of("Caixa de Assistência", "Escola Superior de Advocacia", "Conselho Federal");
+
+    private static final List<String> TIPOS_DESCONTO = List.of("Multa", "Acordo");
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private DimensionCacheFactory dimensionCacheFactory;
+
+    @MockBean
+    private TrigramaBuscaService trigramaBuscaService;
+
+    private final PagamentoCotasImportProcessor processor =
+            new PagamentoCotasImportProcessor(Validation.buildDefaultValidatorFactory().getValidator());
+
+    private User user;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setName("Maria Souza");
+        user.setUsername("maria.souza");
+        user.setPassword("hash");
+        testEntityManager.persist(user);
+
+        INSTITUICOES.forEach(nome -> {
+            Instituicao instituicao = new Instituicao();
+            instituicao.setNome(nome);
+            instituicao.setUser(user);
+            testEntityManager.persist(instituicao);
+        });
+        TIPOS_DESCONTO.forEach(nome -> {
+            TipoDesconto tipoDesconto = new TipoDesconto();
+            tipoDesconto.setNome(nome);
+            tipoDesconto.setUser(user);
+            testEntityManager.persist(tipoDesconto);
+        });
+        testEntityManager.flush();
+        testEntityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    // linha da planilha de PagamentoCotas; os nomes variam em caixa e espaços como nos arquivos reais
+    private static Map<String, String> linha(int i, String instituicao) {
+        return Map.of(
+                "Instituição", " " + instituicao.toUpperCase() + " ",
+                "Referencia", String.valueOf(i % 12 + 1),
+                "Ano", String.valueOf(2020 + i % 5),
+                "Prazo", "1/15/2024",
+                "Valor Duodecimo", "1000.00",
+                "Valor Desconto", "10.00",
+                "Tipo Desconto", TIPOS_DESCONTO.get(i % TIPOS_DESCONTO.size()),
+                "Valor Pago", "990.00",
+                "Data de pagamento", "1/20/2024",
+                "Observacao", "linha " + i);
+    }
+
+    private PagamentoCotas converter(Map<String, String> linha, DimensionCache dimensions) {
+        PagamentoCotasRequestDTO dto = processor.parse(linha);
+        processor.validate(dto);
+        return (PagamentoCotas) processor.convertToEntity(dto, user, dimensions);
+    }
+
+    // Scenario 1: instituições e tipos de desconto são dois SELECTs por importação, para 1 ou 5000 linhas
+    @ParameterizedTest
+    @ValueSource(ints = {1, 100, 5000})
+    void convertToEntity_givenAnyRowCount_whenImporting_thenTwoDimensionSelects(int linhas) {
+        // GIVEN
+        DimensionCache dimensions = dimensionCacheFactory.create();
+
+        // WHEN
+        List<PagamentoCotas> entidades = new ArrayList<>();
+        for (int i = 0; i < linhas; i++) {
+            entidades.add(converter(linha(i, INSTITUICOES.get(i % INSTITUICOES.size())), dimensions));
+        }
+
+        // THEN
+        assertThat(entidades).hasSize(linhas).allSatisfy(entidade -> {
+            assertThat(entidade.getInstituicao().getId()).isNotNull();
+            assertThat(entidade.getTipoDesconto().getId()).isNotNull();
+        });
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getQueryExecutionCount()).isEqualTo(2);
+    }
+
+    // Scenario 2: um nome que não existe é recusado sem voltar ao banco a cada linha
+    @Test
+    void convertToEntity_givenUnknownInstituicao_whenManyRowsRejected_thenTwoDimensionSelects() {
+        // GIVEN
+        DimensionCache dimensions = dimensionCacheFactory.create();
+
+        // WHEN
+        List<Throwable> erros = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            int linha = i;
+            erros.add(catchThrowable(() -> converter(linha(linha, "Instituição Inexistente"), dimensions)));
+            converter(linha(i, INSTITUICOES.get(0)), dimensions);
+        }
+
+        // THEN
+        assertThat(erros).allSatisfy(erro -> assertThat(erro).hasMessageContaining("Instituição não encontrada"));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    // Scenario 3: preload lê as quatro tabelas antes das linhas e nenhuma linha consulta o banco depois
+    @Test
+    void preload_givenParallelImport_whenRowsConvertedAfterwards_thenOnlyPreloadSelects() {
+        // GIVEN
+        DimensionCache dimensions = dimensionCacheFactory.create();
+        dimensions.preload();
+        long depoisDoPreload = statistics.getPrepareStatementCount();
+
+        // WHEN
+        for (int i = 0; i < 1000; i++) {
+            converter(linha(i, INSTITUICOES.get(i % INSTITUICOES.size())), dimensions);
+        }
+
+        // THEN
+        assertThat(depoisDoPreload).isEqualTo(4);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(depoisDoPreload);
+    }
+}
@@ -0,0 +1,103 @@
+package org.portodigital.residencia.oabpe.domain;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.portodigital.residencia.oabpe.domain.commons.DimensionCache;
+import org.portodigital.residencia.oabpe.domain.commons.DimensionCacheFactory;
+import org.portodigital.residencia.oabpe.domain.demonstrativo.DemonstrativoRepository;
+import org.portodigital.residencia.oabpe.domain.instituicao.Instituicao;
+import org.portodigital.residencia.oabpe.domain.instituicao.InstituicaoRepository;
+import org.portodigital.residencia.oabpe.domain.prestacao_contas_subseccional.subseccional.SubseccionalRepository;
+import org.portodigital.residencia.oabpe.domain.prestacao_contas_subseccional.tipo_desconto.TipoDescontoRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class DimensionCacheTest {
+
+    @Mock
+    private InstituicaoRepository instituicaoRepository;
+
+    @Mock
+    private DemonstrativoRepository demonstrativoRepository;
+
+    @Mock
+    private SubseccionalRepository subseccionalRepository;
+
+    @Mock
+    private TipoDescontoRepository tipoDescontoRepository;
+
+    @InjectMocks
+    private DimensionCacheFactory dimensionCacheFactory;
+
+    // Scenario 1: muitas linhas consultam a mesma tabela de referência uma única vez
+    @Test
+    void findInstituicao_givenManyRows_whenResolved_thenQueryRepositoryOnce() {
+        // GIVEN
+        Instituicao instituicao = new Instituicao();
+        instituicao.setId(1L);
+        instituicao.setNome("Caixa de Assistência dos Advogados");
+        when(instituicaoRepository.findAllAtivos()).thenReturn(List.of(instituicao));
+        DimensionCache dimensions = dimensionCacheFactory.create();
+
+        // WHEN
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(dimensions.findInstituicao("Caixa de Assistência dos Advogados")).contains(instituicao);
+        }
+
+        // THEN
+        verify(instituicaoRepository, times(1)).findAllAtivos();
+        verifyNoInteractions(demonstrativoRepository, subseccionalRepository, tipoDescontoRepository);
+    }
+
+    // Scenario 2: nomes com caixa, acentos e espaços diferentes resolvem para o mesmo registro
+    @Test
+    void findInstituicao_givenUnnormalizedName_whenResolved_thenMatchActiveRecord() {
+        // GIVEN
+        Instituicao instituicao = new Instituicao();
+        instituicao.setNome("Caixa de Assistência dos Advogados");
+        when(instituicaoRepository.findAllAtivos()).thenReturn(List.of(instituicao));
+        DimensionCache dimensions = dimensionCacheFactory.create();
+
+        // WHEN
+        Optional<Instituicao> result = dimensions.findInstituicao("  CAIXA de   assistencia dos advogados ");
+
+        // THEN
+        assertThat(result).contains(instituicao);
+        assertThat(dimensions.findInstituicao("Outra Instituição")).isEmpty();
+    }
+
+    // Scenario 3: preload consulta todas as tabelas uma vez e as buscas seguintes não voltam ao banco
+    @Test
+    void preload_givenAllTables_whenRowsResolvedAfterwards_thenNoFurtherQueries() {
+        // GIVEN
+        Instituicao instituicao = new Instituicao();
+        instituicao.setNome("Caixa de Assistência dos Advogados");
+        when(instituicaoRepository.findAllAtivos()).thenReturn(List.of(instituicao));
+        when(demonstrativoRepository.findAllAtivos()).thenReturn(List.of());
+        when(subseccionalRepository.findAllAtivos()).thenReturn(List.of());
+        when(tipoDescontoRepository.findAllAtivos()).thenReturn(List.of());
+        DimensionCache dimensions = dimensionCacheFactory.create();
+
+        // WHEN
+        dimensions.preload();
+        Optional<Instituicao> result = dimensions.findInstituicao("Caixa de Assistência dos Advogados");
+        dimensions.findDemonstrativo("Balanço");
+        dimensions.findSubseccional("Caruaru");
+        dimensions.findTipoDesconto("Multa");
+
+        // THEN
+        assertThat(result).contains(instituicao);
+        verify(instituicaoRepository, times(1)).findAllAtivos();
+        verify(demonstrativoRepository, times(1)).findAllAtivos();
+        verify(subseccionalRepository, times(1)).findAllAtivos();
+        verify(tipoDescontoRepository, times(1)).findAllAtivos();
+    }
+}
@@ -0,0 +1,226 @@
+package org.portodigital.residencia.oabpe.domain;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.portodigital.residencia.oabpe.domain.commons.Contagem;
+import org.portodigital.residencia.oabpe.domain.identidade.model.User;
+import org.portodigital.residencia.oabpe.domain.instituicao.Instituicao;
+import org.portodigital.residencia.oabpe.domain.pagamento_cotas.PagamentoCotas;
+import org.portodigital.residencia.oabpe.domain.pagamento_cotas.PagamentoCotasRepository;
+import org.portodigital.residencia.oabpe.domain.pagamento_cotas.PagamentoCotasService;
+import org.portodigital.residencia.oabpe.domain.pagamento_cotas.dto.PagamentoCotasFilteredRequest;
+import org.portodigital.residencia.oabpe.domain.prestacao_contas_subseccional.tipo_desconto.TipoDesconto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.MSSQLServerContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Latência da listagem filtrada de PagamentoCotas sobre uma base semeada num SQL Server de verdade: a consulta
+// antiga ("campo IS NULL OR ...", um plano para todos os filtros) contra a Specification com só os campos
+// informados. Precisa de Docker e leva alguns minutos; roda com mvn test -Pbenchmark
+@Slf4j
+@Tag("sqlserver")
+@Tag("benchmark")
+@Testcontainers
+@SpringBootTest
+public class FilterQueryBenchmarkTest {
+
+    private static final int LINHAS = 100_000;
+    private static final int LOTE = 5_000;
+    private static final int INSTITUICOES = 20;
+    private static final int AQUECIMENTO = 5;
+    private static final int MEDICOES = 20;
+    private static final Pageable PAGINA = PageRequest.of(0, 20, PagamentoCotasRepository.CURSOR_SORT);
+
+    // PagamentoCotasRepository.findAllActiveByFilter antes da Specification, com a ordenação da listagem
+    private static final String WHERE_ANTIGO = """
+            WHERE (:instituicaoId IS NULL OR i.id = :instituicaoId)
+              AND (:mesReferencia IS NULL OR LOWER(p.mesReferencia) LIKE LOWER(CONCAT('%', :mesReferencia, '%')))
+              AND (:ano IS NULL OR p.ano = :ano)
+              AND (:status IS NULL OR p.status = :status)
+              AND (:tipoDescontoId IS NULL OR td.id = :tipoDescontoId)
+              AND (:dtPrevEntr IS NULL OR p.dtPrevEntr = :dtPrevEntr)
+              AND (:dtPagto IS NULL OR p.dtPagto = :dtPagto)
+              AND (:valorPago IS NULL OR p.valorPago = :valorPago)
+            """;
+
+    private static final String SELECT_ANTIGO = """
+            SELECT p FROM PagamentoCotas p LEFT JOIN FETCH p.instituicao i LEFT JOIN FETCH p.tipoDesconto td
+            """ + WHERE_ANTIGO + "ORDER BY p.ano DESC, p.id DESC";
+
+    private static final String COUNT_ANTIGO = """
+            SELECT COUNT(p) FROM PagamentoCotas p LEFT JOIN p.instituicao i LEFT JOIN p.tipoDesconto td
+            """ + WHERE_ANTIGO;
+
+    @Container
+    @ServiceConnection
+    static final MSSQLServerContainer<?> SQL_SERVER =
+            new MSSQLServerContainer<>("mcr.microsoft.com/mssql/server:2022-latest").acceptLicense();
+
+    @Autowired
+    private PagamentoCotasService pagamentoCotasService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private record Semente(Long userId, List<Long> instituicoes, List<Long> tiposDesconto) {
+    }
+
+    private Semente semear() {
+        Semente semente = transactionTemplate.execute(status -> {
+            User user = new User();
+            user.setName("Maria Souza");
+            user.setUsername("maria.souza." + System.nanoTime());
+            user.setPassword("hash");
+            entityManager.persist(user);
+
+            List<Long> instituicoes = new ArrayList<>();
+            for (int i = 0; i < INSTITUICOES; i++) {
+                Instituicao instituicao = new Instituicao();
+                instituicao.setNome("Subseccional " + i);
+                instituicao.setUser(user);
+                entityManager.persist(instituicao);
+                instituicoes.add(instituicao.getId());
+            }
+            List<Long> tipos = new ArrayList<>();
+            for (String nome : List.of("Multa", "Acordo", "Parcelamento")) {
+                TipoDesconto tipoDesconto = new TipoDesconto();
+                tipoDesconto.setNome(nome);
+                tipoDesconto.setUser(user);
+                entityManager.persist(tipoDesconto);
+                tipos.add(tipoDesconto.getId());
+            }
+            return new Semente(user.getId(), instituicoes, tipos);
+        });
+
+        // um pagamento em cada 1000 tem data de pagamento, como nas bases reais em que a maioria está em aberto
+        String insert = """
+                INSERT INTO pagamento_cotas
+                    (id_instit, mes_ref, ano_ref, dt_prev_entr, valor_duodecimo, valor_desconto, id_tp_desc,
+                     valor_pago, dt_pagto, observacao, status, id_usuario, dat_criacao_registro)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+                """;
+        Timestamp agora = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> lote = new ArrayList<>(LOTE);
+        for (int i = 0; i < LINHAS; i++) {
+            LocalDate prevista = LocalDate.of(2000, 1, 15).plusDays(i % 9000);
+            lote.add(new Object[]{semente.instituicoes().get(i % INSTITUICOES), String.valueOf(i % 12 + 1),
+                    String.valueOf(2000 + i % 25), Date.valueOf(prevista), new BigDecimal("1000.00"),
+                    new BigDecimal("10.00"), semente.tiposDesconto().get(i % 3), new BigDecimal("990.00"),
+                    i % 1000 == 0 ? Date.valueOf(prevista.plusDays(5)) : null, "linha " + i, i % 10 != 0,
+                    semente.userId(), agora});
+            if (lote.size() == LOTE) {
+                jdbcTemplate.batchUpdate(insert, lote);
+                lote.clear();
+            }
+        }
+        jdbcTemplate.batchUpdate(insert, lote);
+        jdbcTemplate.execute("UPDATE STATISTICS pagamento_cotas");
+        return semente;
+    }
+
+    private static PagamentoCotasFilteredRequest filtro(Long instituicaoId, String ano, Long tipoDescontoId, LocalDate dtPagto) {
+        PagamentoCotasFilteredRequest filtro = new PagamentoCotasFilteredRequest();
+        filtro.setInstituicaoId(instituicaoId);
+        filtro.setAno(ano);
+        filtro.setTipoDescontoId(tipoDescontoId);
+        filtro.setDtPagto(dtPagto);
+        return filtro;
+    }
+
+    private static <T> TypedQuery<T> parametros(TypedQuery<T> query, PagamentoCotasFilteredRequest filtro) {
+        String status = filtro.getStatus();
+        return query.setParameter("instituicaoId", filtro.getInstituicaoId())
+                .setParameter("mesReferencia", filtro.getMesReferencia())
+                .setParameter("ano", filtro.getAno())
+                .setParameter("status", status == null || status.isBlank() ? null : Boolean.valueOf(status))
+                .setParameter("tipoDescontoId", filtro.getTipoDescontoId())
+                .setParameter("dtPrevEntr", filtro.getDtPrevEntr())
+                .setParameter("dtPagto", filtro.getDtPagto())
+                .setParameter("valorPago", filtro.getValorPago());
+    }
+
+    // página e contagem exata, como fazia o Page<PagamentoCotas> do repositório
+    private long listarAntigo(PagamentoCotasFilteredRequest filtro) {
+        return transactionTemplate.execute(status -> {
+            List<PagamentoCotas> pagina = parametros(entityManager.createQuery(SELECT_ANTIGO, PagamentoCotas.class), filtro)
+                    .setFirstResult((int) PAGINA.getOffset())
+                    .setMaxResults(PAGINA.getPageSize())
+                    .getResultList();
+            Long total = parametros(entityManager.createQuery(COUNT_ANTIGO, Long.class), filtro).getSingleResult();
+            return pagina.size() + total;
+        });
+    }
+
+    private long listarNovo(PagamentoCotasFilteredRequest filtro) {
+        return pagamentoCotasService.getAllFiltered(filtro, PAGINA, Contagem.EXATA).getNumberOfElements();
+    }
+
+    // mediana em milissegundos, depois do aquecimento que compila os planos de execução
+    private static double mediana(Runnable listagem) {
+        for (int i = 0; i < AQUECIMENTO; i++) {
+            listagem.run();
+        }
+        long[] tempos = new long[MEDICOES];
+        for (int i = 0; i < MEDICOES; i++) {
+            long inicio = System.nanoTime();
+            listagem.run();
+            tempos[i] = System.nanoTime() - inicio;
+        }
+        Arrays.sort(tempos);
+        return tempos[MEDICOES / 2] / 1e6;
+    }
+
+    // Scenario 1: filtros seletivos usam os índices na Specification, enquanto a consulta antiga varre a tabela
+    @Test
+    void getAllFiltered_givenSeededTable_whenComparedWithCatchAllQuery_thenSelectiveFiltersAreFaster() {
+        // GIVEN
+        Semente semente = semear();
+        Long instituicao = semente.instituicoes().get(7);
+        Map<String, PagamentoCotasFilteredRequest> filtros = new LinkedHashMap<>();
+        filtros.put("sem filtro", filtro(null, null, null, null));
+        filtros.put("ano", filtro(null, "2012", null, null));
+        filtros.put("tipo de desconto", filtro(null, null, semente.tiposDesconto().get(1), null));
+        filtros.put("instituição e ano", filtro(instituicao, "2012", null, null));
+        filtros.put("data de pagamento", filtro(null, null, null, LocalDate.of(2000, 1, 20)));
+
+        // WHEN
+        Map<String, double[]> tempos = new LinkedHashMap<>();
+        filtros.forEach((nome, filtro) -> tempos.put(nome, new double[]{
+                mediana(() -> listarAntigo(filtro)), mediana(() -> listarNovo(filtro))}));
+
+        // THEN
+        tempos.forEach((nome, t) -> log.info("Listagem de PagamentoCotas ({} linhas), filtro {}: antiga {} ms, Specification {} ms ({}x)",
+                LINHAS, nome, String.format("%.2f", t[0]), String.format("%.2f", t[1]), String.format("%.1f", t[0] / t[1])));
+        assertThat(tempos.get("instituição e ano")[1]).isLessThan(tempos.get("instituição e ano")[0]);
+        assertThat(tempos.get("data de pagamento")[1]).isLessThan(tempos.get("data de pagamento")[0]);
+    }
+}
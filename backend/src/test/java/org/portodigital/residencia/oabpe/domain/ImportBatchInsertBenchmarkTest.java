@@ -0,0 +1,152 @@
+package org.portodigital.residencia.oabpe.domain;
+
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.portodigital.residencia.oabpe.domain.commons.ImportProgress;
+import org.portodigital.residencia.oabpe.domain.identidade.model.User;
+import org.portodigital.residencia.oabpe.domain.instituicao.Instituicao;
+import org.portodigital.residencia.oabpe.domain.pagamento_cotas.PagamentoCotas;
+import org.portodigital.residencia.oabpe.domain.pagamento_cotas.PagamentoCotasImportProcessor;
+import org.portodigital.residencia.oabpe.domain.pagamento_cotas.PagamentoCotasRepository;
+import org.portodigital.residencia.oabpe.domain.pagamento_cotas.PagamentoCotasService;
+import org.portodigital.residencia.oabpe.domain.prestacao_contas_subseccional.tipo_desconto.TipoDesconto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.MSSQLServerContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Linhas por segundo da importação de PagamentoCotas num SQL Server de verdade: o caminho antigo (entidades
+// acumuladas e gravadas com saveAll, um INSERT por linha por causa do IDENTITY) contra o ChunkedBatchWriter.
+// Precisa de Docker e leva alguns minutos; roda com mvn test -Pbenchmark
+@Slf4j
+@Tag("sqlserver")
+@Tag("benchmark")
+@Testcontainers
+@SpringBootTest
+public class ImportBatchInsertBenchmarkTest {
+
+    private static final int LINHAS = 50_000;
+    private static final int AQUECIMENTO = 2_000;
+
+    @Container
+    @ServiceConnection
+    static final MSSQLServerContainer<?> SQL_SERVER =
+            new MSSQLServerContainer<>("mcr.microsoft.com/mssql/server:2022-latest").acceptLicense();
+
+    @Autowired
+    private PagamentoCotasService pagamentoCotasService;
+
+    @Autowired
+    private PagamentoCotasImportProcessor processor;
+
+    @Autowired
+    private PagamentoCotasRepository pagamentoCotasRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = transactionTemplate.execute(status -> {
+            User novo = new User();
+            novo.setName("Maria Souza");
+            novo.setUsername("maria.souza." + System.nanoTime());
+            novo.setPassword("hash");
+            entityManager.persist(novo);
+
+            if (entityManager.createQuery("SELECT COUNT(i) FROM Instituicao i", Long.class).getSingleResult() == 0) {
+                Instituicao instituicao = new Instituicao();
+                instituicao.setNome("Caixa de Assistência");
+                instituicao.setUser(novo);
+                entityManager.persist(instituicao);
+
+                TipoDesconto tipoDesconto = new TipoDesconto();
+                tipoDesconto.setNome("Multa");
+                tipoDesconto.setUser(novo);
+                entityManager.persist(tipoDesconto);
+            }
+            return novo;
+        });
+    }
+
+    private static MockMultipartFile planilha(int linhas) {
+        StringBuilder csv = new StringBuilder("Instituição,Referencia,Ano,Prazo,Valor Duodecimo,Valor Desconto,"
+                + "Tipo Desconto,Valor Pago,Data de pagamento,Observacao\n");
+        for (int i = 0; i < linhas; i++) {
+            csv.append("Caixa de Assistência,").append(i % 12 + 1).append(',').append(2000 + i / 12 % 100)
+                    .append(",1/15/2024,1000.00,10.00,Multa,990.00,1/20/2024,linha ").append(i).append('\n');
+        }
+        return new MockMultipartFile("file", "pagamentos.csv", "text/csv", csv.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    // caminho anterior ao ChunkedBatchWriter: importFile devolve todas as entidades e o repositório grava uma a uma
+    private void importarComSaveAll(MockMultipartFile arquivo) {
+        transactionTemplate.executeWithoutResult(status -> {
+            try {
+                List<PagamentoCotas> entidades = pagamentoCotasService.importFile(arquivo, user, processor, new ImportProgress())
+                        .stream().map(PagamentoCotas.class::cast).toList();
+                pagamentoCotasRepository.saveAll(entidades);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    private void importarEmLotes(MockMultipartFile arquivo) {
+        try {
+            pagamentoCotasService.importarArquivo(arquivo, user, new ImportProgress());
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private double linhasPorSegundo(Runnable importacao, int linhas) {
+        jdbcTemplate.update("DELETE FROM pagamento_cotas");
+        long inicio = System.nanoTime();
+        importacao.run();
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM pagamento_cotas", Long.class)).isEqualTo(linhas);
+        return linhas / segundos;
+    }
+
+    // Scenario 1: a gravação em lotes JDBC importa mais linhas por segundo que o saveAll
+    @Test
+    void importarArquivo_givenLargeCsv_whenComparedWithSaveAll_thenWritesMoreRowsPerSecond() {
+        // GIVEN
+        MockMultipartFile aquecimento = planilha(AQUECIMENTO);
+        MockMultipartFile arquivo = planilha(LINHAS);
+        linhasPorSegundo(() -> importarComSaveAll(aquecimento), AQUECIMENTO);
+        linhasPorSegundo(() -> importarEmLotes(aquecimento), AQUECIMENTO);
+
+        // WHEN
+        double antes = linhasPorSegundo(() -> importarComSaveAll(arquivo), LINHAS);
+        double depois = linhasPorSegundo(() -> importarEmLotes(arquivo), LINHAS);
+
+        // THEN
+        log.info("Importação de {} linhas de PagamentoCotas: saveAll {} linhas/s, ChunkedBatchWriter {} linhas/s ({}x)",
+                LINHAS, Math.round(antes), Math.round(depois), String.format("%.1f", depois / antes));
+        assertThat(depois).isGreaterThan(antes);
+    }
+}
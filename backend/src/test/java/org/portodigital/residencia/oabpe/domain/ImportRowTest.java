@@ -0,0 +1,51 @@
+package org.portodigital.residencia.oabpe.domain;
+
+import org.junit.jupiter.api.Test;
+import org.portodigital.residencia.oabpe.domain.commons.ImportRow;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ImportRowTest {
+
+    private static ImportRow row(String valor) {
+        Map<String, String> rowData = new LinkedHashMap<>();
+        rowData.put("Ano", "2024");
+        rowData.put("Valor", valor);
+        return ImportRow.of(rowData);
+    }
+
+    // Scenario 1: a coluna resolvida no cabeçalho lê a célula pela posição; coluna ausente lê null
+    @Test
+    void get_givenResolvedColumn_whenReadingRow_thenReturnCellByPosition() {
+        // GIVEN
+        ImportRow row = row("10.50");
+        ImportRow.Column ano = row.column("Ano");
+        ImportRow.Column ausente = row.column("Observacao");
+
+        // WHEN / THEN
+        assertThat(ano.index()).isZero();
+        assertThat(row.get(ano)).isEqualTo("2024");
+        assertThat(ausente.index()).isEqualTo(-1);
+        assertThat(row.get(ausente)).isNull();
+        assertThat(row.get(row.column("Valor"), BigDecimal::new)).isEqualByComparingTo("10.50");
+    }
+
+    // Scenario 2: falha na conversão aponta a coluna e mantém a mensagem original
+    @Test
+    void get_givenInvalidCell_whenConverting_thenThrowCellExceptionWithColumn() {
+        // GIVEN
+        ImportRow row = row("dez reais");
+        ImportRow.Column valor = row.column("Valor");
+
+        // WHEN / THEN
+        assertThatThrownBy(() -> row.get(valor, BigDecimal::new))
+                .isInstanceOf(ImportRow.CellException.class)
+                .hasCauseInstanceOf(NumberFormatException.class)
+                .satisfies(e -> assertThat(((ImportRow.CellException) e).column()).isEqualTo("Valor"));
+    }
+}
@@ -0,0 +1,99 @@
+package org.portodigital.residencia.oabpe.domain;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.RunnerException;
+import org.portodigital.residencia.oabpe.JmhBenchmarks;
+import org.portodigital.residencia.oabpe.domain.instituicao.Instituicao;
+import org.portodigital.residencia.oabpe.domain.pagamento_cotas.PagamentoCotas;
+import org.portodigital.residencia.oabpe.domain.pagamento_cotas.PagamentoCotasMapper;
+import org.portodigital.residencia.oabpe.domain.pagamento_cotas.dto.PagamentoCotasResponseDTO;
+import org.portodigital.residencia.oabpe.domain.prestacao_contas_subseccional.tipo_desconto.TipoDesconto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Conversões por microssegundo de PagamentoCotas em PagamentoCotasResponseDTO: o ModelMapper usado antes
+// (correspondência de propriedades por reflexão) contra o PagamentoCotasMapper escrito à mão.
+// Microbenchmark JMH em JVM separado; roda com mvn test -Pbenchmark
+@Slf4j
+@Tag("benchmark")
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MapperBenchmarkTest {
+
+    private final ModelMapper modelMapper = new ModelMapper();
+    private final PagamentoCotasMapper mapper = new PagamentoCotasMapper();
+    private PagamentoCotas entidade;
+
+    @Setup
+    public void setUp() {
+        Instituicao instituicao = new Instituicao();
+        instituicao.setId(3L);
+        instituicao.setNome("Caixa de Assistência");
+
+        TipoDesconto tipoDesconto = new TipoDesconto();
+        tipoDesconto.setId(2L);
+        tipoDesconto.setNome("Multa");
+
+        entidade = new PagamentoCotas();
+        entidade.setId(42L);
+        entidade.setInstituicao(instituicao);
+        entidade.setMesReferencia("3");
+        entidade.setAno("2024");
+        entidade.setDtPrevEntr(LocalDate.of(2024, 3, 15));
+        entidade.setValorDuodecimo(new BigDecimal("1000.00"));
+        entidade.setValorDesconto(new BigDecimal("10.00"));
+        entidade.setTipoDesconto(tipoDesconto);
+        entidade.setValorPago(new BigDecimal("990.00"));
+        entidade.setDtPagto(LocalDate.of(2024, 3, 20));
+        entidade.setObservacao("pago em dia");
+        entidade.setStatus(true);
+    }
+
+    @Benchmark
+    public PagamentoCotasResponseDTO modelMapper() {
+        return modelMapper.map(entidade, PagamentoCotasResponseDTO.class);
+    }
+
+    @Benchmark
+    public PagamentoCotasResponseDTO mapper() {
+        return mapper.toResponse(entidade);
+    }
+
+    // Scenario 1: os dois caminhos produzem o mesmo DTO
+    @Test
+    void toResponse_givenEntityWithAssociations_whenComparedWithModelMapper_thenSameResponse() {
+        // GIVEN
+        setUp();
+
+        // WHEN / THEN
+        assertThat(mapper()).isEqualTo(modelMapper());
+    }
+
+    // Scenario 2: o mapper escrito à mão converte mais entidades por microssegundo que o ModelMapper
+    @Test
+    void toResponse_givenEntity_whenComparedWithModelMapper_thenMoreConversionsPerMicrosecond() throws RunnerException {
+        // WHEN
+        Map<String, Double> conversoesPorUs = JmhBenchmarks.run(MapperBenchmarkTest.class);
+
+        // THEN
+        log.info("PagamentoCotas -> PagamentoCotasResponseDTO: ModelMapper {} ops/us, PagamentoCotasMapper {} ops/us",
+                String.format("%.2f", conversoesPorUs.get("modelMapper")), String.format("%.2f", conversoesPorUs.get("mapper")));
+        assertThat(conversoesPorUs.get("mapper")).isGreaterThan(conversoesPorUs.get("modelMapper"));
+    }
+}
@@ -0,0 +1,194 @@
+package org.portodigital.residencia.oabpe.domain;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.portodigital.residencia.oabpe.domain.busca.TrigramaBuscaListener;
+import org.portodigital.residencia.oabpe.domain.busca.TrigramaBuscaService;
+import org.portodigital.residencia.oabpe.domain.commons.ContagemCache;
+import org.portodigital.residencia.oabpe.domain.commons.ProjectionQuery;
+import org.portodigital.residencia.oabpe.domain.identidade.model.User;
+import org.portodigital.residencia.oabpe.domain.instituicao.Instituicao;
+import org.portodigital.residencia.oabpe.domain.pagamento_cotas.PagamentoCotas;
+import org.portodigital.residencia.oabpe.domain.pagamento_cotas.PagamentoCotasMapper;
+import org.portodigital.residencia.oabpe.domain.pagamento_cotas.PagamentoCotasRepository;
+import org.portodigital.residencia.oabpe.domain.pagamento_cotas.dto.PagamentoCotasFilteredRequest;
+import org.portodigital.residencia.oabpe.domain.pagamento_cotas.dto.PagamentoCotasResponseDTO;
+import org.portodigital.residencia.oabpe.domain.prestacao_contas_subseccional.tipo_desconto.TipoDesconto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Bytes alocados e latência de uma página da listagem de PagamentoCotas: entidades com as associações
+// carregadas e convertidas pelo PagamentoCotasMapper contra a projeção direto no DTO pelo ProjectionQuery.
+// Roda em H2 com o cache de segundo nível desligado, para que as duas leituras vão ao banco; mvn test -Pbenchmark
+@Slf4j
+@Tag("benchmark")
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false",
+        "spring.jpa.properties.hibernate.generate_statistics=false"
+})
+@Import({ProjectionQuery.class, ContagemCache.class, PagamentoCotasMapper.class, TrigramaBuscaListener.class})
+public class ProjectionQueryBenchmarkTest {
+
+    private static final int LINHAS = 20_000;
+    private static final int AQUECIMENTO = 300;
+    private static final int MEDICOES = 1_000;
+    private static final Pageable PAGINA = PageRequest.of(0, 100, PagamentoCotasRepository.CURSOR_SORT);
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private PagamentoCotasRepository pagamentoCotasRepository;
+
+    @Autowired
+    private PagamentoCotasMapper mapper;
+
+    @Autowired
+    private ProjectionQuery projections;
+
+    @MockBean
+    private TrigramaBuscaService trigramaBuscaService;
+
+    private record Medicao(double bytesPorPagina, double medianaMs, double p99Ms) {
+    }
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setName("Maria Souza");
+        user.setUsername("maria.souza");
+        user.setPassword("hash");
+        testEntityManager.persist(user);
+
+        List<Instituicao> instituicoes = List.of(instituicao("Caixa de Assistência", user),
+                instituicao("Escola Superior de Advocacia", user), instituicao("Conselho Federal", user));
+        List<TipoDesconto> tipos = List.of(tipoDesconto("Multa", user), tipoDesconto("Acordo", user));
+
+        for (int i = 0; i < LINHAS; i++) {
+            PagamentoCotas pagamento = new PagamentoCotas();
+            pagamento.setInstituicao(instituicoes.get(i % instituicoes.size()));
+            pagamento.setTipoDesconto(tipos.get(i % tipos.size()));
+            pagamento.setMesReferencia(String.valueOf(i % 12 + 1));
+            pagamento.setAno(String.valueOf(2000 + i % 25));
+            pagamento.setDtPrevEntr(LocalDate.of(2024, 1, 1).plusDays(i % 365));
+            pagamento.setValorDuodecimo(new BigDecimal("1000.00"));
+            pagamento.setValorDesconto(new BigDecimal("10.00"));
+            pagamento.setValorPago(new BigDecimal("990.00"));
+            pagamento.setObservacao("linha " + i);
+            pagamento.setStatus(true);
+            pagamento.setUser(user);
+            testEntityManager.persist(pagamento);
+            if (i % 1000 == 999) {
+                testEntityManager.flush();
+            }
+        }
+        testEntityManager.flush();
+        testEntityManager.clear();
+    }
+
+    private Instituicao instituicao(String nome, User user) {
+        Instituicao instituicao = new Instituicao();
+        instituicao.setNome(nome);
+        instituicao.setUser(user);
+        return testEntityManager.persist(instituicao);
+    }
+
+    private TipoDesconto tipoDesconto(String nome, User user) {
+        TipoDesconto tipoDesconto = new TipoDesconto();
+        tipoDesconto.setNome(nome);
+        tipoDesconto.setUser(user);
+        return testEntityManager.persist(tipoDesconto);
+    }
+
+    // mesmas colunas de PagamentoCotasService, na ordem do construtor de PagamentoCotasResponseDTO
+    private static List<Selection<?>> colunasResposta(Root<PagamentoCotas> p, CriteriaBuilder cb) {
+        Join<PagamentoCotas, ?> instituicao = p.join("instituicao");
+        Join<PagamentoCotas, ?> tipoDesconto = p.join("tipoDesconto", JoinType.LEFT);
+        return List.of(p.get("id"), instituicao.get("id"), instituicao.get("nome"), p.get("mesReferencia"), p.get("ano"),
+                p.get("dtPrevEntr"), p.get("valorDuodecimo"), p.get("valorDesconto"), tipoDesconto.get("id"),
+                tipoDesconto.get("nome"), p.get("valorPago"), p.get("dtPagto"), p.get("observacao"), p.get("status"));
+    }
+
+    // caminho anterior às projeções: entidades com instituição e tipo de desconto no mesmo SELECT, depois o mapper
+    private Page<PagamentoCotasResponseDTO> listarEntidades(Specification<PagamentoCotas> filtro) {
+        return pagamentoCotasRepository.findBy(filtro, q -> q.project(PagamentoCotasRepository.FETCH).page(PAGINA))
+                .map(mapper::toResponse);
+    }
+
+    private Page<PagamentoCotasResponseDTO> listarProjecao(Specification<PagamentoCotas> filtro) {
+        return projections.page(PagamentoCotas.class, PagamentoCotasResponseDTO.class, filtro, PAGINA,
+                ProjectionQueryBenchmarkTest::colunasResposta);
+    }
+
+    // o contexto de persistência é limpo a cada página, como ao fim de cada requisição
+    private Medicao medir(Supplier<Page<PagamentoCotasResponseDTO>> listagem) {
+        for (int i = 0; i < AQUECIMENTO; i++) {
+            listagem.get();
+            testEntityManager.clear();
+        }
+        long[] tempos = new long[MEDICOES];
+        long bytes = 0;
+        for (int i = 0; i < MEDICOES; i++) {
+            long alocadoAntes = THREADS.getCurrentThreadAllocatedBytes();
+            long inicio = System.nanoTime();
+            Page<PagamentoCotasResponseDTO> pagina = listagem.get();
+            testEntityManager.clear();
+            tempos[i] = System.nanoTime() - inicio;
+            bytes += THREADS.getCurrentThreadAllocatedBytes() - alocadoAntes;
+            assertThat(pagina.getContent()).hasSize(PAGINA.getPageSize());
+        }
+        Arrays.sort(tempos);
+        return new Medicao((double) bytes / MEDICOES, tempos[MEDICOES / 2] / 1e6, tempos[MEDICOES * 99 / 100] / 1e6);
+    }
+
+    // Scenario 1: a projeção no DTO aloca menos por página que carregar e converter as entidades
+    @Test
+    void page_givenSeededTable_whenComparedWithEntityListing_thenAllocatesLessPerPage() {
+        // GIVEN
+        Specification<PagamentoCotas> filtro = PagamentoCotasRepository.byFilter(new PagamentoCotasFilteredRequest());
+        assertThat(listarProjecao(filtro).getContent()).isEqualTo(listarEntidades(filtro).getContent());
+        testEntityManager.clear();
+
+        // WHEN
+        Medicao entidades = medir(() -> listarEntidades(filtro));
+        Medicao projecao = medir(() -> listarProjecao(filtro));
+
+        // THEN
+        log.info("Página de {} PagamentoCotas: entidades {} KB e {}/{} ms (mediana/p99), projeção {} KB e {}/{} ms",
+                PAGINA.getPageSize(), Math.round(entidades.bytesPorPagina() / 1024),
+                String.format("%.2f", entidades.medianaMs()), String.format("%.2f", entidades.p99Ms()),
+                Math.round(projecao.bytesPorPagina() / 1024),
+                String.format("%.2f", projecao.medianaMs()), String.format("%.2f", projecao.p99Ms()));
+        assertThat(projecao.bytesPorPagina()).isLessThan(entidades.bytesPorPagina());
+    }
+}
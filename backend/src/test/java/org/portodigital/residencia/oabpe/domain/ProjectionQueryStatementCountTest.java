@@ -0,0 +1,213 @@
+package org.portodigital.residencia.oabpe.domain;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.portodigital.residencia.oabpe.domain.busca.TrigramaBuscaListener;
+import org.portodigital.residencia.oabpe.domain.busca.TrigramaBuscaService;
+import org.portodigital.residencia.oabpe.domain.commons.Contagem;
+import org.portodigital.residencia.oabpe.domain.commons.ContagemCache;
+import org.portodigital.residencia.oabpe.domain.commons.ProjectionQuery;
+import org.portodigital.residencia.oabpe.domain.identidade.model.User;
+import org.portodigital.residencia.oabpe.domain.instituicao.Instituicao;
+import org.portodigital.residencia.oabpe.domain.pagamento_cotas.PagamentoCotas;
+import org.portodigital.residencia.oabpe.domain.pagamento_cotas.PagamentoCotasRepository;
+import org.portodigital.residencia.oabpe.domain.pagamento_cotas.dto.PagamentoCotasFilteredRequest;
+import org.portodigital.residencia.oabpe.domain.prestacao_contas_subseccional.tipo_desconto.TipoDesconto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Conta os statements JDBC de uma listagem pelo Hibernate Statistics (generate_statistics, já ligado no
+// application.yml): o número não pode crescer com o tamanho da página nem com as associações projetadas
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@Import({ProjectionQuery.class, ContagemCache.class, TrigramaBuscaListener.class})
+public class ProjectionQueryStatementCountTest {
+
+    private static final int LINHAS = 60;
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ProjectionQuery projections;
+
+    @MockBean
+    private TrigramaBuscaService trigramaBuscaService;
+
+    private Statistics statistics;
+
+    public record Linha(Long id, String instituicao, String tipoDesconto, String ano) {
+    }
+
+    // mesmas junções da listagem de PagamentoCotas: instituição obrigatória e tipo de desconto opcional
+    private static List<Selection<?>> colunas(Root<PagamentoCotas> p, CriteriaBuilder cb) {
+        Join<PagamentoCotas, ?> instituicao = p.join("instituicao");
+        Join<PagamentoCotas, ?> tipoDesconto = p.join("tipoDesconto", JoinType.LEFT);
+        return List.of(p.get("id"), instituicao.get("nome"), tipoDesconto.get("nome"), p.get("ano"));
+    }
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setName("Maria Souza");
+        user.setUsername("maria.souza");
+        user.setPassword("hash");
+        testEntityManager.persist(user);
+
+        List<Instituicao> instituicoes = List.of(instituicao("Caixa de Assistência", user),
+                instituicao("Escola Superior de Advocacia", user), instituicao("Conselho Federal", user));
+        List<TipoDesconto> tipos = List.of(tipoDesconto("Multa", user), tipoDesconto("Acordo", user));
+
+        for (int i = 0; i < LINHAS; i++) {
+            PagamentoCotas pagamento = new PagamentoCotas();
+            pagamento.setInstituicao(instituicoes.get(i % instituicoes.size()));
+            pagamento.setTipoDesconto(tipos.get(i % tipos.size()));
+            pagamento.setMesReferencia(String.valueOf(i % 12 + 1));
+            pagamento.setAno(String.valueOf(2020 + i % 5));
+            pagamento.setDtPrevEntr(LocalDate.of(2024, 1, 1).plusDays(i));
+            pagamento.setStatus(true);
+            pagamento.setUser(user);
+            testEntityManager.persist(pagamento);
+        }
+        testEntityManager.flush();
+        testEntityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    private Instituicao instituicao(String nome, User user) {
+        Instituicao instituicao = new Instituicao();
+        instituicao.setNome(nome);
+        instituicao.setUser(user);
+        return testEntityManager.persist(instituicao);
+    }
+
+    private TipoDesconto tipoDesconto(String nome, User user) {
+        TipoDesconto tipoDesconto = new TipoDesconto();
+        tipoDesconto.setNome(nome);
+        tipoDesconto.setUser(user);
+        return testEntityManager.persist(tipoDesconto);
+    }
+
+    private Slice<Linha> listar(int tamanho, Contagem contagem, PagamentoCotasFilteredRequest filtro) {
+        Pageable pageable = PageRequest.of(0, tamanho, PagamentoCotasRepository.CURSOR_SORT);
+        return projections.slice(PagamentoCotas.class, Linha.class, PagamentoCotasRepository.byFilter(filtro),
+                pageable, contagem, filtro, ProjectionQueryStatementCountTest::colunas);
+    }
+
+    // Scenario 1: contagem exata é sempre um SELECT da página e um COUNT, qualquer que seja o tamanho
+    @ParameterizedTest
+    @ValueSource(ints = {5, 20, LINHAS})
+    void slice_givenExactCount_whenListingAnyPageSize_thenTwoStatements(int tamanho) {
+        // GIVEN
+        PagamentoCotasFilteredRequest filtro = new PagamentoCotasFilteredRequest();
+
+        // WHEN
+        Slice<Linha> pagina = listar(tamanho, Contagem.EXATA, filtro);
+
+        // THEN
+        assertThat(pagina.getContent()).hasSize(tamanho).allSatisfy(linha -> {
+            assertThat(linha.instituicao()).isNotNull();
+            assertThat(linha.tipoDesconto()).isNotNull();
+        });
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    // Scenario 2: sem contagem a página é um único SELECT
+    @ParameterizedTest
+    @ValueSource(ints = {5, 20, LINHAS})
+    void slice_givenNoCount_whenListingAnyPageSize_thenSingleStatement(int tamanho) {
+        // GIVEN
+        PagamentoCotasFilteredRequest filtro = new PagamentoCotasFilteredRequest();
+
+        // WHEN
+        Slice<Linha> pagina = listar(tamanho, Contagem.NENHUMA, filtro);
+
+        // THEN
+        assertThat(pagina.getContent()).hasSize(tamanho);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    // Scenario 3: contagem estimada só executa o COUNT na primeira consulta do filtro, mesmo mudando o tamanho
+    @Test
+    void slice_givenEstimatedCount_whenListingSameFilterTwice_thenCountOnlyOnce() {
+        // GIVEN: 12 das 60 linhas são de 2021, mais que as duas páginas pedidas
+        PagamentoCotasFilteredRequest filtro = new PagamentoCotasFilteredRequest();
+        filtro.setAno("2021");
+
+        // WHEN
+        Slice<Linha> primeira = listar(5, Contagem.ESTIMADA, filtro);
+        Slice<Linha> segunda = listar(10, Contagem.ESTIMADA, filtro);
+
+        // THEN
+        assertThat(primeira.getContent()).hasSize(5);
+        assertThat(segunda.getContent()).hasSize(10);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    static Stream<PagamentoCotasFilteredRequest> filtros() {
+        return Stream.of(
+                new PagamentoCotasFilteredRequest(),
+                new PagamentoCotasFilteredRequest(null, null, "2021", null, null, null, null, null),
+                new PagamentoCotasFilteredRequest(1L, "1", "2020", "true", null, null, null, null),
+                new PagamentoCotasFilteredRequest(null, null, null, null, 2L, LocalDate.of(2024, 1, 3), null, null));
+    }
+
+    // Scenario 4: na Specification cada combinação de campos informados continua sendo um único SELECT
+    @ParameterizedTest
+    @MethodSource("filtros")
+    void slice_givenAnyFilterShape_whenListingWithoutCount_thenSingleStatement(PagamentoCotasFilteredRequest filtro) {
+        // WHEN
+        listar(LINHAS, Contagem.NENHUMA, filtro);
+
+        // THEN
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    // Scenario 5: a listagem por cursor a partir de uma posição também é um único SELECT, sem COUNT
+    @ParameterizedTest
+    @MethodSource("filtros")
+    void list_givenCursorPosition_whenListingNextPage_thenSingleStatement(PagamentoCotasFilteredRequest filtro) {
+        // WHEN
+        List<Linha> linhas = projections.list(PagamentoCotas.class, Linha.class,
+                PagamentoCotasRepository.byFilterBefore(filtro, "2023", Long.MAX_VALUE),
+                PagamentoCotasRepository.CURSOR_SORT, 10, ProjectionQueryStatementCountTest::colunas);
+
+        // THEN
+        assertThat(linhas).allSatisfy(linha -> assertThat(linha.ano()).isLessThanOrEqualTo("2023"));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,65 @@
+package org.portodigital.residencia.oabpe.domain;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.portodigital.residencia.oabpe.domain.identidade.model.User;
+import org.portodigital.residencia.oabpe.domain.identidade.repository.UserRepository;
+import org.portodigital.residencia.oabpe.domain.identidade.service.UserReferenceCache;
+import org.portodigital.residencia.oabpe.exception.EntityNotFoundException;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class UserReferenceCacheTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserReferenceCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new UserReferenceCache(userRepository, Duration.ofMinutes(5), 100);
+    }
+
+    // Scenario 1: o id é confirmado uma vez; cada chamada recebe uma referência nova, sem carregar o usuário
+    @Test
+    void get_givenExistingUser_whenCalledTwice_thenConfirmOnceAndReturnFreshReferences() {
+        // GIVEN
+        User primeira = new User();
+        User segunda = new User();
+        when(userRepository.existsById("u1")).thenReturn(true);
+        when(userRepository.getReferenceById("u1")).thenReturn(primeira, segunda);
+
+        // WHEN
+        User a = cache.get("u1");
+        User b = cache.get("u1");
+
+        // THEN
+        assertThat(a).isSameAs(primeira);
+        assertThat(b).isSameAs(segunda);
+        verify(userRepository, times(1)).existsById("u1");
+        verify(userRepository, never()).findById(any());
+    }
+
+    // Scenario 2: usuário inexistente é recusado e não fica em cache
+    @Test
+    void get_givenUnknownUser_whenCalled_thenThrowAndCheckAgainNextTime() {
+        // GIVEN
+        when(userRepository.existsById("u2")).thenReturn(false);
+
+        // WHEN / THEN
+        assertThatThrownBy(() -> cache.get("u2")).isInstanceOf(EntityNotFoundException.class)
+                .hasMessage("Usuário não encontrado");
+        assertThatThrownBy(() -> cache.get("u2")).isInstanceOf(EntityNotFoundException.class);
+        verify(userRepository, times(2)).existsById("u2");
+        verify(userRepository, never()).getReferenceById(any());
+    }
+}
@@ -0,0 +1,139 @@
+package org.portodigital.residencia.oabpe.domain;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.portodigital.residencia.oabpe.domain.identidade.dto.LoginRequestDTO;
+import org.portodigital.residencia.oabpe.domain.identidade.model.User;
+import org.portodigital.residencia.oabpe.domain.identidade.repository.RoleRepository;
+import org.portodigital.residencia.oabpe.domain.identidade.repository.UserRepository;
+import org.portodigital.residencia.oabpe.domain.identidade.service.UserService;
+import org.portodigital.residencia.oabpe.infra.security.LoginThrottle;
+import org.portodigital.residencia.oabpe.infra.security.PasswordVerifier;
+import org.portodigital.residencia.oabpe.infra.security.PermissionSnapshotCache;
+import org.portodigital.residencia.oabpe.infra.security.TokenService;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class UserServiceLoginTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private LoginThrottle loginThrottle;
+
+    @Mock
+    private TokenService tokenService;
+
+    @Mock
+    private RoleRepository roleRepository;
+
+    @Mock
+    private PermissionSnapshotCache permissionSnapshotCache;
+
+    private ThreadPoolTaskExecutor executor;
+    private UserService userService;
+
+    @BeforeEach
+    void setUp() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.initialize();
+        // custo configurado 5: hashes gravados com custo 4 devem ser refeitos
+        PasswordVerifier passwordVerifier = new PasswordVerifier(new BCryptPasswordEncoder(5), executor, Duration.ofSeconds(5));
+        userService = new UserService(userRepository, passwordVerifier, loginThrottle, tokenService, roleRepository,
+                permissionSnapshotCache);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    private static LoginRequestDTO login(String username, String password) {
+        LoginRequestDTO request = mock(LoginRequestDTO.class);
+        when(request.getUsername()).thenReturn(username);
+        lenient().when(request.getPassword()).thenReturn(password);
+        return request;
+    }
+
+    // Scenario 1: login bem-sucedido com hash de custo menor regrava a senha com o custo configurado
+    @Test
+    void login_givenLowerStrengthHash_whenPasswordMatches_thenRehashAndSave() {
+        // GIVEN
+        User user = new User();
+        user.setUsername("joao.silva");
+        user.setPassword(new BCryptPasswordEncoder(4).encode("senha@123"));
+        when(userRepository.findByUsername("joao.silva")).thenReturn(Optional.of(user));
+
+        // WHEN
+        userService.login(login("joao.silva", "senha@123"), "10.0.0.1");
+
+        // THEN
+        verify(loginThrottle).verificar("joao.silva", "10.0.0.1");
+        verify(userRepository).save(user);
+        assertThat(user.getPassword()).startsWith("$2a$05$");
+        assertThat(new BCryptPasswordEncoder().matches("senha@123", user.getPassword())).isTrue();
+    }
+
+    // Scenario 2: hash já no custo configurado não é regravado
+    @Test
+    void login_givenCurrentStrengthHash_whenPasswordMatches_thenDoNotSave() {
+        // GIVEN
+        User user = new User();
+        user.setUsername("joao.silva");
+        user.setPassword(new BCryptPasswordEncoder(5).encode("senha@123"));
+        when(userRepository.findByUsername("joao.silva")).thenReturn(Optional.of(user));
+
+        // WHEN
+        userService.login(login("joao.silva", "senha@123"), "10.0.0.1");
+
+        // THEN
+        verify(userRepository, never()).save(any());
+    }
+
+    // Scenario 3: senha errada não emite token nem regrava o hash
+    @Test
+    void login_givenWrongPassword_whenLoggingIn_thenRejectWithoutRehash() {
+        // GIVEN
+        User user = new User();
+        user.setUsername("joao.silva");
+        String hash = new BCryptPasswordEncoder(4).encode("senha@123");
+        user.setPassword(hash);
+        when(userRepository.findByUsername("joao.silva")).thenReturn(Optional.of(user));
+
+        // WHEN / THEN
+        assertThatThrownBy(() -> userService.login(login("joao.silva", "errada"), "10.0.0.1"))
+                .isInstanceOf(BadCredentialsException.class);
+        assertThat(user.getPassword()).isEqualTo(hash);
+        verify(userRepository, never()).save(any());
+        verifyNoInteractions(tokenService);
+    }
+
+    // Scenario 4: usuário inexistente recebe a mesma resposta de senha errada
+    @Test
+    void login_givenUnknownUser_whenLoggingIn_thenRejectAsBadCredentials() {
+        // GIVEN
+        when(userRepository.findByUsername("ninguem")).thenReturn(Optional.empty());
+
+        // WHEN / THEN
+        assertThatThrownBy(() -> userService.login(login("ninguem", "senha@123"), "10.0.0.1"))
+                .isInstanceOf(BadCredentialsException.class)
+                .hasMessage("Email ou senha incorretos");
+        verifyNoInteractions(tokenService);
+    }
+}
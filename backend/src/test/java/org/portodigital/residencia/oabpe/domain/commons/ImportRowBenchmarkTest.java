@@ -0,0 +1,112 @@
+package org.portodigital.residencia.oabpe.domain.commons;
+
+import jakarta.validation.Validation;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.RunnerException;
+import org.portodigital.residencia.oabpe.JmhBenchmarks;
+import org.portodigital.residencia.oabpe.domain.pagamento_cotas.PagamentoCotasImportProcessor;
+import org.portodigital.residencia.oabpe.domain.pagamento_cotas.dto.PagamentoCotasRequestDTO;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static com.fasterxml.jackson.core.io.doubleparser.JavaBigDecimalParser.parseBigDecimal;
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Linhas de CSV por milissegundo convertidas em PagamentoCotasRequestDTO: o caminho antigo (CSVRecord.toMap()
+// e leitura por nome de coluna) contra o ImportRow com posições resolvidas no cabeçalho e buffer reaproveitado.
+// Microbenchmark JMH em JVM separado; roda com mvn test -Pbenchmark
+@Slf4j
+@Tag("benchmark")
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ImportRowBenchmarkTest {
+
+    private static final int LINHAS = 1_000;
+
+    private List<CSVRecord> registros;
+    private ImportRow row;
+    private Function<ImportRow, PagamentoCotasRequestDTO> rowParser;
+
+    @Setup
+    public void setUp() throws IOException {
+        StringBuilder csv = new StringBuilder("Instituição,Referencia,Ano,Prazo,Valor Duodecimo,Valor Desconto,"
+                + "Tipo Desconto,Valor Pago,Data de pagamento,Observacao\n");
+        for (int i = 0; i < LINHAS; i++) {
+            csv.append("Caixa de Assistência,").append(i % 12 + 1).append(',').append(2000 + i % 25)
+                    .append(",1/15/2024,1000.00,10.00,Multa,990.00,1/20/2024,linha ").append(i).append('\n');
+        }
+        CSVFormat format = CSVFormat.DEFAULT.builder().setHeader().setSkipHeaderRecord(true).setTrim(true).build();
+        try (CSVParser parser = new CSVParser(new StringReader(csv.toString()), format)) {
+            registros = parser.getRecords();
+            row = new ImportRow(parser.getHeaderMap());
+        }
+        rowParser = new PagamentoCotasImportProcessor(Validation.buildDefaultValidatorFactory().getValidator()).parser(row);
+    }
+
+    // PagamentoCotasImportProcessor.parse(Map) antes do ImportRow
+    private static PagamentoCotasRequestDTO parseMapa(Map<String, String> rowData) {
+        PagamentoCotasRequestDTO dto = new PagamentoCotasRequestDTO();
+        dto.setInstituicaoNome(rowData.get("Instituição").trim());
+        dto.setMesReferencia(rowData.get("Referencia"));
+        dto.setAno(rowData.get("Ano"));
+        dto.setDtPrevEntr(LocalDate.parse(rowData.get("Prazo"), DateTimeFormatter.ofPattern("M/d/yyyy")));
+        dto.setValorDuodecimo(parseBigDecimal(rowData.get("Valor Duodecimo")));
+        dto.setValorDesconto(parseBigDecimal(rowData.get("Valor Desconto")));
+        dto.setTipoDesconto(rowData.get("Tipo Desconto").trim());
+        dto.setValorPago(parseBigDecimal(rowData.get("Valor Pago")));
+        dto.setDtPagto(LocalDate.parse(rowData.get("Data de pagamento"), DateTimeFormatter.ofPattern("M/d/yyyy")));
+        dto.setObservacao(rowData.get("Observacao"));
+        return dto;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LINHAS)
+    public void mapa(Blackhole blackhole) {
+        for (CSVRecord registro : registros) {
+            blackhole.consume(parseMapa(registro.toMap()));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LINHAS)
+    public void importRow(Blackhole blackhole) {
+        for (CSVRecord registro : registros) {
+            row.fill(registro);
+            blackhole.consume(rowParser.apply(row));
+        }
+    }
+
+    // Scenario 1: o ImportRow converte mais linhas por milissegundo que o caminho por Map
+    @Test
+    void parser_givenCsvRecords_whenComparedWithMapPath_thenMoreRowsPerMillisecond() throws RunnerException {
+        // WHEN
+        Map<String, Double> linhasPorMs = JmhBenchmarks.run(ImportRowBenchmarkTest.class);
+
+        // THEN
+        log.info("Conversão de linhas de PagamentoCotas: Map {} linhas/ms, ImportRow {} linhas/ms",
+                Math.round(linhasPorMs.get("mapa")), Math.round(linhasPorMs.get("importRow")));
+        assertThat(linhasPorMs.get("importRow")).isGreaterThan(linhasPorMs.get("mapa"));
+    }
+}
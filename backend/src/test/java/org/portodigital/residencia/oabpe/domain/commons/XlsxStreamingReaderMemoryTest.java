@@ -0,0 +1,104 @@
+package org.portodigital.residencia.oabpe.domain.commons;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Heap retido durante a leitura de uma planilha de 500 mil linhas: o XlsxStreamingReader percorre a aba
+// como eventos SAX, então o que fica vivo não cresce com o número de linhas (o XSSFWorkbook montava a
+// planilha inteira em memória). Gera o arquivo com SXSSF e leva alguns minutos; roda com mvn test -Pbenchmark
+@Slf4j
+@Tag("benchmark")
+public class XlsxStreamingReaderMemoryTest {
+
+    private static final int LINHAS = 500_000;
+    private static final int AMOSTRA = 50_000;
+    private static final long MB = 1024 * 1024;
+
+    private static final String[] CABECALHO = {"Instituição", "Referencia", "Ano", "Prazo", "Valor Duodecimo",
+            "Valor Desconto", "Tipo Desconto", "Valor Pago", "Data de pagamento", "Observacao"};
+
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+    @TempDir
+    Path dir;
+
+    private Path planilha(int linhas) throws IOException {
+        Path arquivo = dir.resolve("pagamentos.xlsx");
+        try (SXSSFWorkbook workbook = new SXSSFWorkbook(100); OutputStream out = Files.newOutputStream(arquivo)) {
+            Sheet sheet = workbook.createSheet("Pagamentos");
+            Row cabecalho = sheet.createRow(0);
+            for (int c = 0; c < CABECALHO.length; c++) {
+                cabecalho.createCell(c).setCellValue(CABECALHO[c]);
+            }
+            for (int i = 1; i <= linhas; i++) {
+                Row row = sheet.createRow(i);
+                row.createCell(0).setCellValue("Caixa de Assistência");
+                row.createCell(1).setCellValue(i % 12 + 1);
+                row.createCell(2).setCellValue(2000 + i % 25);
+                row.createCell(3).setCellValue("15/1/2024");
+                row.createCell(4).setCellValue(1000.0);
+                row.createCell(5).setCellValue(10.0);
+                row.createCell(6).setCellValue("Multa");
+                row.createCell(7).setCellValue(990.0);
+                row.createCell(8).setCellValue("20/1/2024");
+                row.createCell(9).setCellValue("linha " + i);
+            }
+            workbook.write(out);
+            workbook.dispose();
+        }
+        return arquivo;
+    }
+
+    // heap ocupado depois de uma coleta completa, ou seja, só o que ainda está vivo
+    private long heapRetido() {
+        System.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    // Scenario 1: o heap retido ao longo da leitura de 500 mil linhas fica limitado e não cresce com as linhas
+    @Test
+    void read_givenLargeSheet_whenStreaming_thenRetainedHeapStaysBounded() throws IOException {
+        // GIVEN
+        Path arquivo = planilha(LINHAS);
+        long antes = heapRetido();
+        AtomicLong linhas = new AtomicLong();
+        AtomicLong pico = new AtomicLong();
+        AtomicLong naPrimeiraAmostra = new AtomicLong();
+
+        // WHEN
+        try (InputStream in = Files.newInputStream(arquivo)) {
+            new XlsxStreamingReader(DateTimeFormatter.ofPattern("d/M/yyyy")).read(in, (rowNum, cells) -> {
+                if (rowNum == 0) return;
+                if (linhas.incrementAndGet() % AMOSTRA == 0) {
+                    long retido = heapRetido() - antes;
+                    pico.accumulateAndGet(retido, Math::max);
+                    naPrimeiraAmostra.compareAndSet(0, Math.max(retido, 1));
+                }
+            });
+        }
+
+        // THEN
+        log.info("Leitura de {} linhas ({} MB em disco): heap retido de no máximo {} MB, {} MB na primeira amostra",
+                LINHAS, Files.size(arquivo) / MB, pico.get() / MB, naPrimeiraAmostra.get() / MB);
+        assertThat(linhas.get()).isEqualTo(LINHAS);
+        assertThat(pico.get()).isLessThan(64 * MB);
+        assertThat(pico.get() - naPrimeiraAmostra.get()).isLessThan(16 * MB);
+    }
+}
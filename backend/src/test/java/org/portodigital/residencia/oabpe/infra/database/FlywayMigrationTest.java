@@ -0,0 +1,132 @@
+package org.portodigital.residencia.oabpe.infra.database;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.portodigital.residencia.oabpe.domain.busca.TrigramaBuscaListener;
+import org.portodigital.residencia.oabpe.domain.busca.TrigramaBuscaService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.MSSQLServerContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+// Sobe a aplicação como em produção contra um SQL Server de verdade: o Hibernate cria as tabelas
+// (ddl-auto: update) e o FlywayConfig aplica todas as migrações versionadas em seguida.
+// Precisa de Docker; roda com mvn test -Psqlserver
+@Tag("sqlserver")
+@Testcontainers
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=update")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({FlywayConfig.class, TrigramaBuscaListener.class, TrigramaBuscaService.class})
+public class FlywayMigrationTest {
+
+    @Container
+    @ServiceConnection
+    static final MSSQLServerContainer<?> SQL_SERVER =
+            new MSSQLServerContainer<>("mcr.microsoft.com/mssql/server:2022-latest").acceptLicense();
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private MigrateResult migrateResult;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Map<String, Object> indice(String tabela, String nome) {
+        return jdbcTemplate.queryForList("""
+                SELECT is_unique, has_filter FROM sys.indexes
+                WHERE object_id = OBJECT_ID(?) AND name = ?
+                """, tabela, nome).stream().findFirst().orElse(null);
+    }
+
+    // Scenario 1: todas as migrações do classpath são aplicadas sobre o schema do Hibernate, sem falhas
+    @Test
+    void migrate_givenSchemaCreatedByHibernate_whenApplicationStarts_thenEveryMigrationApplied() {
+        // WHEN
+        MigrationInfo[] aplicadas = flyway.info().applied();
+
+        // THEN
+        assertThat(migrateResult.success).isTrue();
+        assertThat(flyway.info().pending()).isEmpty();
+        assertThat(Arrays.stream(aplicadas).map(info -> info.getVersion().getVersion()))
+                .contains("1", "2", "3", "4", "5", "6");
+        assertThat(aplicadas).allSatisfy(info -> assertThat(info.getState().isFailed()).isFalse());
+        assertThatCode(flyway::validate).doesNotThrowAnyException();
+    }
+
+    // Scenario 2: os índices das migrações existem, e os das listagens de registros ativos são filtrados
+    @ParameterizedTest
+    @CsvSource({
+            "pagamento_cotas, ix_pagamento_cotas_ano_id, false",
+            "pagamento_cotas, ix_pagamento_cotas_instit_ano_mes, false",
+            "pagamento_cotas, ix_pagamento_cotas_tp_desc, false",
+            "pagamento_cotas, ix_pagamento_cotas_dt_prev_entr, false",
+            "pagamento_cotas, ix_pagamento_cotas_dt_pagto, true",
+            "base_orcamentaria, ix_base_orcamentaria_ativos_dt_lancto_id, true",
+            "base_orcamentaria, ix_base_orcamentaria_ativos_ano, true",
+            "base_orcamentaria, ix_base_orcamentaria_ativos_dt_docto, true",
+            "balancetecfoab, ix_balancetecfoab_ativos_demonstrativo_ano, true",
+            "balancetecfoab, ix_balancetecfoab_ativos_dt_prev_entr, true",
+            "balancetecfoab, ix_balancetecfoab_ativos_dt_entrega, true",
+            "transparencia, ix_transparencia_ativos_demonstrativo_ano, true",
+            "transparencia, ix_transparencia_ativos_dt_prev_entr, true",
+            "transparencia, ix_transparencia_ativos_dt_entrega, true",
+            "prestacao_contas_subseccional, ix_prestacao_contas_ativos_subseccional_ano, true",
+            "prestacao_contas_subseccional, ix_prestacao_contas_ativos_tipo_desconto, true",
+            "prestacao_contas_subseccional, ix_prestacao_contas_ativos_dt_prev_entr, true",
+            "prestacao_contas_subseccional, ix_prestacao_contas_ativos_dt_entrega, true",
+            "prestacao_contas_subseccional, ix_prestacao_contas_ativos_dt_pagto, true",
+            "refresh_token, ix_refresh_token_usuario, false"
+    })
+    void migrate_givenListingIndexes_whenMigrated_thenIndexExists(String tabela, String nome, boolean filtrado) {
+        // WHEN
+        Map<String, Object> indice = indice(tabela, nome);
+
+        // THEN
+        assertThat(indice).as("%s em %s", nome, tabela).isNotNull();
+        assertThat(indice.get("has_filter")).isEqualTo(filtrado);
+    }
+
+    // Scenario 3: o índice único de trigramas substitui o antigo índice por (campo, valor)
+    @Test
+    void migrate_givenTrigramaBusca_whenMigrated_thenUniqueIndexReplacesValueIndex() {
+        // WHEN
+        Map<String, Object> unico = indice("trigrama_busca", "uk_trigrama_busca");
+
+        // THEN
+        assertThat(unico).isNotNull();
+        assertThat(unico.get("is_unique")).isEqualTo(true);
+        assertThat(indice("trigrama_busca", "ix_trigrama_busca_valor")).isNull();
+    }
+
+    // Scenario 4: colunas removidas pelas migrações V3 e V4 não existem mais
+    @Test
+    void migrate_givenRefreshTokenMigrations_whenMigrated_thenOldColumnsAreGone() {
+        // WHEN
+        Integer refreshTokenEmUsers = jdbcTemplate.queryForObject(
+                "SELECT COL_LENGTH('users', 'refresh_token')", Integer.class);
+        Integer userIdEmRefreshToken = jdbcTemplate.queryForObject(
+                "SELECT COL_LENGTH('refresh_token', 'user_id')", Integer.class);
+
+        // THEN
+        assertThat(refreshTokenEmUsers).isNull();
+        assertThat(userIdEmRefreshToken).isNull();
+    }
+}
@@ -0,0 +1,74 @@
+package org.portodigital.residencia.oabpe.infra.security;
+
+import org.junit.jupiter.api.Test;
+import org.portodigital.residencia.oabpe.exception.TooManyRequestsException;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class LoginThrottleTest {
+
+    private static final long MINUTO = Duration.ofMinutes(1).toNanos();
+
+    // Scenario 1: o balde aceita a rajada inicial e recusa a tentativa seguinte
+    @Test
+    void consumir_givenFullBucket_whenCapacityExhausted_thenReturnWaitUntilNextToken() {
+        // GIVEN
+        LoginThrottle.Balde balde = new LoginThrottle.Balde(3, 0);
+
+        // WHEN / THEN
+        assertThat(balde.consumir(3, MINUTO, 0)).isZero();
+        assertThat(balde.consumir(3, MINUTO, 0)).isZero();
+        assertThat(balde.consumir(3, MINUTO, 0)).isZero();
+        assertThat(balde.consumir(3, MINUTO, Duration.ofSeconds(20).toNanos())).isEqualTo(Duration.ofSeconds(40).toNanos());
+    }
+
+    // Scenario 2: uma ficha volta a cada intervalo, sem passar da capacidade
+    @Test
+    void consumir_givenEmptyBucket_whenIntervalsElapse_thenRefillUpToCapacity() {
+        // GIVEN
+        LoginThrottle.Balde balde = new LoginThrottle.Balde(0, 0);
+
+        // WHEN / THEN
+        assertThat(balde.consumir(2, MINUTO, MINUTO - 1)).isEqualTo(1);
+        assertThat(balde.consumir(2, MINUTO, MINUTO)).isZero();
+        assertThat(balde.consumir(2, MINUTO, MINUTO)).isPositive();
+
+        // dez intervalos parados recarregam só até a capacidade (2)
+        long depois = 11 * MINUTO;
+        assertThat(balde.consumir(2, MINUTO, depois)).isZero();
+        assertThat(balde.consumir(2, MINUTO, depois)).isZero();
+        assertThat(balde.consumir(2, MINUTO, depois)).isEqualTo(MINUTO);
+    }
+
+    // Scenario 3: o resto do intervalo não se perde quando as fichas são recarregadas
+    @Test
+    void consumir_givenPartialInterval_whenRefilled_thenKeepRemainderForNextToken() {
+        // GIVEN
+        LoginThrottle.Balde balde = new LoginThrottle.Balde(0, 0);
+
+        // WHEN
+        assertThat(balde.consumir(5, MINUTO, MINUTO + Duration.ofSeconds(30).toNanos())).isZero();
+
+        // THEN
+        assertThat(balde.consumir(5, MINUTO, MINUTO + Duration.ofSeconds(30).toNanos()))
+                .isEqualTo(Duration.ofSeconds(30).toNanos());
+    }
+
+    // Scenario 4: a recusa informa o Retry-After e limita usuário e IP separadamente
+    @Test
+    void verificar_givenUsernameLimitReached_whenRetried_thenThrowWithRetryAfter() {
+        // GIVEN
+        LoginThrottle throttle = new LoginThrottle(1, Duration.ofMinutes(1), 100, Duration.ofSeconds(1), 1000);
+        throttle.verificar("Joao.Silva", "10.0.0.1");
+
+        // WHEN / THEN
+        assertThatThrownBy(() -> throttle.verificar(" joao.silva ", "10.0.0.2"))
+                .isInstanceOfSatisfying(TooManyRequestsException.class, e -> assertThat(e.getRetryAfter())
+                        .isGreaterThan(Duration.ofSeconds(58))
+                        .isLessThanOrEqualTo(Duration.ofMinutes(1)));
+        throttle.verificar("maria.souza", "10.0.0.2");
+    }
+}
@@ -0,0 +1,73 @@
+package org.portodigital.residencia.oabpe.infra.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class PasswordVerifierTest {
+
+    private ThreadPoolTaskExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(4);
+        executor.initialize();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    // Scenario 1: usuário inexistente paga um BCrypt contra o hash fictício e nunca é aceito
+    @Test
+    void matches_givenUnknownUser_whenVerified_thenCompareAgainstDummyHashAndReject() {
+        // GIVEN
+        BCryptPasswordEncoder encoder = spy(new BCryptPasswordEncoder(4));
+        PasswordVerifier verifier = new PasswordVerifier(encoder, executor, Duration.ofSeconds(5));
+
+        // WHEN
+        boolean result = verifier.matches("senha@123", null);
+
+        // THEN
+        assertThat(result).isFalse();
+        verify(encoder).matches(eq("senha@123"), anyString());
+    }
+
+    // Scenario 2: a senha certa confere e a errada não
+    @Test
+    void matches_givenStoredHash_whenVerified_thenAcceptOnlyCorrectPassword() {
+        // GIVEN
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(4);
+        PasswordVerifier verifier = new PasswordVerifier(encoder, executor, Duration.ofSeconds(5));
+        String hash = encoder.encode("senha@123");
+
+        // WHEN / THEN
+        assertThat(verifier.matches("senha@123", hash)).isTrue();
+        assertThat(verifier.matches("outra", hash)).isFalse();
+    }
+
+    // Scenario 3: hash com custo menor que o configurado precisa ser refeito
+    @Test
+    void upgradeEncoding_givenLowerStrengthHash_whenChecked_thenRequireRehash() {
+        // GIVEN
+        PasswordVerifier verifier = new PasswordVerifier(new BCryptPasswordEncoder(5), executor, Duration.ofSeconds(5));
+        String antigo = new BCryptPasswordEncoder(4).encode("senha@123");
+
+        // WHEN / THEN
+        assertThat(verifier.upgradeEncoding(antigo)).isTrue();
+        assertThat(verifier.upgradeEncoding(verifier.encode("senha@123"))).isFalse();
+    }
+}
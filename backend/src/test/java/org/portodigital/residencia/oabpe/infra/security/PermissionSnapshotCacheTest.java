@@ -0,0 +1,86 @@
+package org.portodigital.residencia.oabpe.infra.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.portodigital.residencia.oabpe.domain.identidade.model.User;
+import org.portodigital.residencia.oabpe.domain.identidade.repository.UserRepository;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class PermissionSnapshotCacheTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private PermissionSnapshotCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new PermissionSnapshotCache(userRepository, transactionManager, Duration.ofMinutes(5), 100);
+    }
+
+    private User user(long permissoesVersao) {
+        User user = new User();
+        user.setId("u1");
+        user.setPermissoesVersao(permissoesVersao);
+        return user;
+    }
+
+    // Scenario 1: checagens com a mesma versão reaproveitam o snapshot sem voltar ao banco
+    @Test
+    void get_givenSameVersion_whenCheckedTwice_thenLoadOnce() {
+        // GIVEN
+        when(userRepository.findById("u1")).thenReturn(Optional.of(user(1)));
+
+        // WHEN
+        cache.get("u1", 1);
+        PermissionSnapshot snapshot = cache.get("u1", 1);
+
+        // THEN
+        assertThat(snapshot.versao()).isEqualTo(1);
+        verify(userRepository, times(1)).findById("u1");
+    }
+
+    // Scenario 2: token emitido depois de uma alteração de roles em outra instância força a releitura
+    @Test
+    void get_givenNewerTokenVersion_whenChecked_thenReloadSnapshot() {
+        // GIVEN
+        when(userRepository.findById("u1")).thenReturn(Optional.of(user(1)), Optional.of(user(2)));
+        cache.get("u1", 1);
+
+        // WHEN
+        PermissionSnapshot snapshot = cache.get("u1", 2);
+
+        // THEN
+        assertThat(snapshot.versao()).isEqualTo(2);
+        assertThat(cache.get("u1", 2)).isSameAs(snapshot);
+        verify(userRepository, times(2)).findById("u1");
+    }
+
+    // Scenario 3: token anterior à alteração continua usando o snapshot mais novo
+    @Test
+    void get_givenOlderTokenVersion_whenChecked_thenKeepNewerSnapshot() {
+        // GIVEN
+        when(userRepository.findById("u1")).thenReturn(Optional.of(user(3)));
+        cache.get("u1", 3);
+
+        // WHEN
+        PermissionSnapshot snapshot = cache.get("u1", 0);
+
+        // THEN
+        assertThat(snapshot.versao()).isEqualTo(3);
+        verify(userRepository, times(1)).findById("u1");
+    }
+}
@@ -0,0 +1,48 @@
+package org.portodigital.residencia.oabpe.infra.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PermissionSnapshotTest {
+
+    private enum Acao { LEITURA, ESCRITA }
+
+    // Scenario 1: cada ação vira o bit da sua constante e a máscara do módulo libera só as ações concedidas
+    @Test
+    void permite_givenReadOnlyModule_whenCheckingActions_thenAllowOnlyGrantedBit() {
+        // GIVEN
+        int escrita = PermissionSnapshot.bit(Acao.ESCRITA);
+        PermissionSnapshot snapshot = new PermissionSnapshot(0, Map.of("modulo_x", PermissionSnapshot.bit(Acao.LEITURA)));
+
+        // WHEN / THEN
+        assertThat(escrita).isEqualTo(1 << Acao.ESCRITA.ordinal());
+        assertThat(snapshot.permite("modulo_x", "LEITURA")).isTrue();
+        assertThat(snapshot.permite("modulo_x", "ESCRITA")).isFalse();
+    }
+
+    // Scenario 2: permissões de várias roles no mesmo módulo somam os bits
+    @Test
+    void permite_givenCombinedMask_whenCheckingActions_thenAllowEveryGrantedAction() {
+        // GIVEN
+        int mascara = PermissionSnapshot.bit(Acao.LEITURA) | PermissionSnapshot.bit(Acao.ESCRITA);
+        PermissionSnapshot snapshot = new PermissionSnapshot(0, Map.of("modulo_x", mascara));
+
+        // WHEN / THEN
+        assertThat(snapshot.permite("modulo_x", "LEITURA")).isTrue();
+        assertThat(snapshot.permite("modulo_x", "ESCRITA")).isTrue();
+    }
+
+    // Scenario 3: módulo sem permissão e ação que nunca apareceu em nenhuma permissão são negados
+    @Test
+    void permite_givenUnknownModuleOrAction_whenChecking_thenDeny() {
+        // GIVEN
+        PermissionSnapshot snapshot = new PermissionSnapshot(0, Map.of("modulo_x", PermissionSnapshot.bit(Acao.LEITURA)));
+
+        // WHEN / THEN
+        assertThat(snapshot.permite("modulo_y", "LEITURA")).isFalse();
+        assertThat(snapshot.permite("modulo_x", "EXCLUSAO")).isFalse();
+    }
+}
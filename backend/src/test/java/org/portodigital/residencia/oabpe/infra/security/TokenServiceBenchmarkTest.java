@@ -0,0 +1,107 @@
+package org.portodigital.residencia.oabpe.infra.security;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.runner.RunnerException;
+import org.portodigital.residencia.oabpe.JmhBenchmarks;
+import org.portodigital.residencia.oabpe.domain.identidade.model.AuthenticatedUser;
+import org.portodigital.residencia.oabpe.domain.identidade.model.User;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Verificações de access token por milissegundo com várias threads, como no SecurityFilter sob carga:
+// algoritmo e verificador montados a cada chamada (caminho antigo), verificador pronto por chave sem cache e
+// TokenService com o cache de tokens verificados. Microbenchmark JMH em JVM separado; roda com mvn test -Pbenchmark
+@Slf4j
+@Tag("benchmark")
+@State(Scope.Benchmark)
+@Threads(8)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TokenServiceBenchmarkTest {
+
+    private static final String SEGREDO = "segredo-atual-com-tamanho-suficiente";
+    private static final int SESSOES = 1_000;
+
+    private TokenService semCache;
+    private TokenService comCache;
+    private String[] tokens;
+
+    @Setup
+    public void setUp() {
+        semCache = new TokenService(null, SEGREDO, List.of(), Duration.ofHours(2), Duration.ofDays(7), 0);
+        comCache = new TokenService(null, SEGREDO, List.of(), Duration.ofHours(2), Duration.ofDays(7), 10_000);
+        tokens = new String[SESSOES];
+        for (int i = 0; i < SESSOES; i++) {
+            User user = new User();
+            user.setId("u" + i);
+            user.setUsername("usuario." + i);
+            user.setName("Usuário " + i);
+            tokens[i] = comCache.generateAccessToken(user);
+        }
+    }
+
+    private String token() {
+        return tokens[ThreadLocalRandom.current().nextInt(SESSOES)];
+    }
+
+    // TokenService.verify antes dos verificadores por chave: HMAC256 e JWTVerifier novos a cada requisição
+    @Benchmark
+    public Optional<DecodedJWT> porRequisicao() {
+        try {
+            return Optional.of(JWT.require(Algorithm.HMAC256(SEGREDO))
+                    .withIssuer("oabpe-api")
+                    .withClaim("tipo", "access")
+                    .build()
+                    .verify(token()));
+        } catch (JWTVerificationException e) {
+            return Optional.empty();
+        }
+    }
+
+    @Benchmark
+    public Optional<AuthenticatedUser> verificadorPronto() {
+        return semCache.validateAccessToken(token());
+    }
+
+    @Benchmark
+    public Optional<AuthenticatedUser> cacheDeVerificados() {
+        return comCache.validateAccessToken(token());
+    }
+
+    // Scenario 1: o cache de tokens verificados aumenta a vazão sob concorrência
+    @Test
+    void validateAccessToken_givenConcurrentRequests_whenComparedWithPerRequestVerifier_thenHigherThroughput()
+            throws RunnerException {
+        // WHEN
+        Map<String, Double> verificacoesPorMs = JmhBenchmarks.run(TokenServiceBenchmarkTest.class);
+
+        // THEN
+        log.info("Verificações de access token com 8 threads: por requisição {}/ms, verificador pronto {}/ms, com cache {}/ms",
+                Math.round(verificacoesPorMs.get("porRequisicao")), Math.round(verificacoesPorMs.get("verificadorPronto")),
+                Math.round(verificacoesPorMs.get("cacheDeVerificados")));
+        assertThat(verificacoesPorMs.get("cacheDeVerificados"))
+                .isGreaterThan(verificacoesPorMs.get("porRequisicao"))
+                .isGreaterThan(verificacoesPorMs.get("verificadorPronto"));
+    }
+}
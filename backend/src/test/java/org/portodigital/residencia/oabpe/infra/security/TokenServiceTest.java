@@ -0,0 +1,133 @@
+package org.portodigital.residencia.oabpe.infra.security;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTCreator;
+import com.auth0.jwt.algorithms.Algorithm;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.portodigital.residencia.oabpe.domain.identidade.model.AuthenticatedUser;
+import org.portodigital.residencia.oabpe.domain.identidade.model.User;
+import org.portodigital.residencia.oabpe.domain.identidade.service.RefreshTokenService;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TokenServiceTest {
+
+    private static final String SEGREDO = "segredo-atual-com-tamanho-suficiente";
+    private static final String SEGREDO_ANTERIOR = "segredo-anterior-com-tamanho-suficiente";
+
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setId("u1");
+        user.setUsername("joao.silva");
+        user.setName("João Silva");
+        user.setPermissoesVersao(4);
+    }
+
+    private TokenService tokenService(Duration accessTtl) {
+        return new TokenService(refreshTokenService, SEGREDO, List.of(SEGREDO_ANTERIOR), accessTtl, Duration.ofDays(7), 100);
+    }
+
+    private static String accessToken(String segredo, String keyId) {
+        JWTCreator.Builder builder = JWT.create();
+        if (keyId != null) {
+            builder.withKeyId(keyId);
+        }
+        return builder
+                .withIssuer("oabpe-api")
+                .withSubject("joao.silva")
+                .withClaim("tipo", "access")
+                .withClaim("uid", "u1")
+                .withClaim("name", "João Silva")
+                .withExpiresAt(Instant.now().plus(Duration.ofHours(1)))
+                .sign(Algorithm.HMAC256(segredo));
+    }
+
+    // Scenario 1: token emitido pela chave atual devolve o principal com as claims
+    @Test
+    void validateAccessToken_givenTokenFromCurrentKey_whenValidated_thenReturnPrincipal() {
+        // GIVEN
+        TokenService service = tokenService(Duration.ofHours(2));
+        String token = service.generateAccessToken(user);
+
+        // WHEN
+        Optional<AuthenticatedUser> principal = service.validateAccessToken(token);
+
+        // THEN
+        assertThat(principal).contains(new AuthenticatedUser("u1", "joao.silva", "João Silva", 4));
+    }
+
+    // Scenario 2: kid que não corresponde a nenhuma chave configurada é recusado sem tentar as demais
+    @Test
+    void validateAccessToken_givenUnknownKid_whenValidated_thenReject() {
+        // GIVEN
+        TokenService service = tokenService(Duration.ofHours(2));
+        String token = accessToken(SEGREDO, "chave-removida");
+
+        // WHEN / THEN
+        assertThat(service.validateAccessToken(token)).isEmpty();
+    }
+
+    // Scenario 3: token anterior ao kid é aceito se foi assinado por uma chave anterior ainda configurada
+    @Test
+    void validateAccessToken_givenTokenWithoutKidFromPreviousSecret_whenValidated_thenAccept() {
+        // GIVEN
+        TokenService service = tokenService(Duration.ofHours(2));
+        String token = accessToken(SEGREDO_ANTERIOR, null);
+
+        // WHEN
+        Optional<AuthenticatedUser> principal = service.validateAccessToken(token);
+
+        // THEN: sem a claim de versão, as permissões do token valem como versão 0
+        assertThat(principal).contains(new AuthenticatedUser("u1", "joao.silva", "João Silva", 0));
+        assertThat(service.validateAccessToken(accessToken("segredo-que-saiu-da-configuracao", null))).isEmpty();
+    }
+
+    // Scenario 4: a entrada do cache de tokens verificados não vale depois da expiração do próprio token
+    @Test
+    void validateAccessToken_givenCachedTokenPastExpiry_whenValidatedAgain_thenReject() throws InterruptedException {
+        // GIVEN
+        TokenService service = tokenService(Duration.ofSeconds(2));
+        String token = service.generateAccessToken(user);
+        assertThat(service.validateAccessToken(token)).isPresent();
+
+        // WHEN
+        Instant expiraEm = JWT.decode(token).getExpiresAtAsInstant();
+        Thread.sleep(Math.max(0, Duration.between(Instant.now(), expiraEm).toMillis()) + 200);
+
+        // THEN
+        assertThat(service.validateAccessToken(token)).isEmpty();
+    }
+
+    // Scenario 5: refresh token não serve como access token, nem o contrário
+    @Test
+    void validateAccessToken_givenRefreshToken_whenValidatedAsAccess_thenReject() {
+        // GIVEN
+        TokenService service = tokenService(Duration.ofHours(2));
+        String refreshToken = service.generateRefreshToken(user);
+        String accessToken = service.generateAccessToken(user);
+
+        // WHEN / THEN
+        assertThat(service.validateAccessToken(refreshToken)).isEmpty();
+        assertThat(service.validateRefreshToken(accessToken)).isEmpty();
+        verify(refreshTokenService).emitir(eq(user), any(), any());
+        verify(refreshTokenService, never()).validar(any());
+    }
+}